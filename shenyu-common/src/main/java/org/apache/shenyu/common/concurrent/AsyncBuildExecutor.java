@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.concurrent;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The bounded executor which builds the values of keys off the caller thread.
+ *
+ * <p>The build of a key which is in flight is shared by all the callers of the key, the future is
+ * removed when the build is done, so the next call of the key starts a new build. A build publishes its
+ * value by {@link #publish(String, Runnable)}, so a build superseded by {@link #resubmit(String, Supplier)}
+ * never publishes over the later one. A failed build is returned to the callers of the key for a short time,
+ * so a key which can not be built is not built again by every request, until it is resubmitted.
+ *
+ * @param <V> the value type
+ */
+public final class AsyncBuildExecutor<V> {
+
+    private static final int DEFAULT_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private static final long DEFAULT_FAILURE_MILLIS = Long.getLong("shenyu.rpc.buildFailureMillis", 3000L);
+
+    private final ThreadPoolExecutor executor;
+
+    private final ConcurrentMap<String, CompletableFuture<V>> building = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, FailedBuild<V>> failures = new ConcurrentHashMap<>();
+
+    private final long failureNanos;
+
+    /**
+     * the future of the build running on the current thread.
+     */
+    private final ThreadLocal<CompletableFuture<V>> current = new ThreadLocal<>();
+
+    /**
+     * Instantiates a new async build executor with the default threads and queue capacity.
+     *
+     * @param name the thread name prefix
+     */
+    public AsyncBuildExecutor(final String name) {
+        this(name, DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY, DEFAULT_FAILURE_MILLIS);
+    }
+
+    /**
+     * Instantiates a new async build executor.
+     *
+     * @param name          the thread name prefix
+     * @param threads       the max build threads
+     * @param queueCapacity the max waiting builds, the builds over it fail with {@link RejectedExecutionException}
+     * @param failureMillis the millis a failed build is returned to the callers of the key, 0 not to keep it
+     */
+    public AsyncBuildExecutor(final String name, final int threads, final int queueCapacity, final long failureMillis) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), ShenyuThreadFactory.create(name, true));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.failureNanos = TimeUnit.MILLISECONDS.toNanos(failureMillis);
+    }
+
+    /**
+     * Build the value of the key, the build of the key in flight is shared, and the build of the key which
+     * failed recently is returned as it is.
+     *
+     * @param key     the key
+     * @param builder the builder
+     * @return the future of the value
+     */
+    public CompletableFuture<V> submit(final String key, final Supplier<V> builder) {
+        CompletableFuture<V> running = building.get(key);
+        if (running != null) {
+            return running;
+        }
+        FailedBuild<V> failed = failures.get(key);
+        if (failed != null) {
+            if (System.nanoTime() - failed.failedAt < failureNanos) {
+                return failed.future;
+            }
+            failures.remove(key, failed);
+        }
+        CompletableFuture<V> future = new CompletableFuture<>();
+        running = building.putIfAbsent(key, future);
+        if (running != null) {
+            return running;
+        }
+        execute(key, future, builder);
+        return future;
+    }
+
+    /**
+     * Build the value of the key again, the later callers of the key share this build, the callers of the
+     * former build in flight still get the former value.
+     *
+     * @param key     the key
+     * @param builder the builder
+     * @return the future of the value
+     */
+    public CompletableFuture<V> resubmit(final String key, final Supplier<V> builder) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        building.put(key, future);
+        failures.remove(key);
+        execute(key, future, builder);
+        return future;
+    }
+
+    /**
+     * Get the build of the key in flight.
+     *
+     * @param key the key
+     * @return the future, or null
+     */
+    public CompletableFuture<V> building(final String key) {
+        return building.get(key);
+    }
+
+    /**
+     * Publish the value of the build running on the current thread, the publisher only runs if the build is still
+     * the latest one of the key, and a resubmit of the key waits for it. Called outside of a build of this executor,
+     * the publisher always runs.
+     *
+     * @param key       the key
+     * @param publisher the publisher, e.g. putting the value into the cache
+     * @return true if published, false if the build is superseded
+     */
+    public boolean publish(final String key, final Runnable publisher) {
+        CompletableFuture<V> future = current.get();
+        if (Objects.isNull(future)) {
+            publisher.run();
+            return true;
+        }
+        AtomicBoolean published = new AtomicBoolean();
+        building.computeIfPresent(key, (k, latest) -> {
+            if (latest == future) {
+                publisher.run();
+                published.set(true);
+            }
+            return latest;
+        });
+        return published.get();
+    }
+
+    /**
+     * Shutdown the executor.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void execute(final String key, final CompletableFuture<V> future, final Supplier<V> builder) {
+        try {
+            CompletableFuture.supplyAsync(() -> build(future, builder), executor).whenComplete((value, throwable) -> {
+                if (throwable != null && failureNanos > 0) {
+                    // kept before the build is removed, so no caller of the key starts another build in between
+                    failures.put(key, new FailedBuild<>(future, System.nanoTime()));
+                }
+                building.remove(key, future);
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                } else {
+                    future.complete(value);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            building.remove(key, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private V build(final CompletableFuture<V> future, final Supplier<V> builder) {
+        current.set(future);
+        try {
+            return builder.get();
+        } finally {
+            current.remove();
+        }
+    }
+
+    private static final class FailedBuild<V> {
+
+        private final CompletableFuture<V> future;
+
+        private final long failedAt;
+
+        FailedBuild(final CompletableFuture<V> future, final long failedAt) {
+            this.future = future;
+            this.failedAt = failedAt;
+        }
+    }
+}
@@ -112,11 +112,21 @@ public interface Constants {
      */
     String HTTP_URL = "httpUrl";
 
+    /**
+     * The constant UPSTREAM_CALL_LISTENER.
+     */
+    String UPSTREAM_CALL_LISTENER = "upstreamCallListener";
+
     /**
      * The constant PARAM_TRANSFORM.
      */
     String PARAM_TRANSFORM = "param_transform";
 
+    /**
+     * The constant PARAMETER_DATA_CACHE.
+     */
+    String PARAMETER_DATA_CACHE = "parameterDataCache";
+
     /**
      * The constant DECODE.
      */
@@ -54,4 +54,9 @@ public class RateLimiterHandle {
      * key resolver name.
      */
     private String keyResolverName;
+
+    /**
+     * the permits leased from redis in one call, 0 means every request calls redis.
+     */
+    private double leaseSize;
 }
@@ -40,7 +40,17 @@ public enum LoadBalanceEnum {
     /**
      * Round robin load balance enum.
      */
-    ROUND_ROBIN(3, "roundRobin", true);
+    ROUND_ROBIN(3, "roundRobin", true),
+
+    /**
+     * Least active load balance enum.
+     */
+    LEAST_ACTIVE(4, "leastActive", true),
+
+    /**
+     * Peak ewma load balance enum.
+     */
+    PEAK_EWMA(5, "peakEwma", true);
 
     private final int code;
 
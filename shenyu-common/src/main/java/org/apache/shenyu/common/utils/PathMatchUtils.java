@@ -18,14 +18,28 @@
 package org.apache.shenyu.common.utils;
 
 import com.google.common.base.Splitter;
-import org.springframework.util.AntPathMatcher;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 
 /**
  * The type Path match utils.
+ *
+ * <p>The comma separated patterns are compiled into a {@link PathPatternTrie} once and the compiled tries are cached,
+ * the least recently used ones are evicted over the limit.
  */
 public class PathMatchUtils {
 
-    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+    private static final int MAX_CACHED_PATTERNS = 4096;
+
+    private static final LoadingCache<String, PathPatternTrie<String>> COMPILED_PATTERNS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_PATTERNS)
+            .build(new CacheLoader<String, PathPatternTrie<String>>() {
+                @Override
+                public PathPatternTrie<String> load(final String matchUrls) {
+                    return PathPatternTrie.of(Splitter.on(",").omitEmptyStrings().trimResults().splitToList(matchUrls));
+                }
+            });
 
     /**
      * Match boolean.
@@ -35,11 +49,16 @@ public class PathMatchUtils {
      * @return the boolean
      */
     public static boolean match(final String matchUrls, final String path) {
-        return Splitter.on(",").omitEmptyStrings().trimResults().splitToList(matchUrls).stream().anyMatch(url -> reg(url, path));
+        return compile(matchUrls).match(path);
     }
 
-    private static boolean reg(final String pattern, final String path) {
-        return MATCHER.match(pattern, path);
+    /**
+     * Compile the comma separated patterns.
+     *
+     * @param matchUrls the comma separated patterns
+     * @return the compiled patterns
+     */
+    public static PathPatternTrie<String> compile(final String matchUrls) {
+        return COMPILED_PATTERNS.getUnchecked(matchUrls);
     }
-
 }
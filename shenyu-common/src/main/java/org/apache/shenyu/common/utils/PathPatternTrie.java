@@ -0,0 +1,418 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The compiled matcher of a set of ant style path patterns.
+ *
+ * <p>The patterns are split into segments and merged into one trie, so a path is matched segment by segment
+ * against all patterns at once: literal segments are found by a hash lookup, only the segments with
+ * {@code ?}, {@code *} or {@code {var}} are tested one by one, and {@code **} matches zero or more segments.
+ * The result is the same as {@link org.springframework.util.AntPathMatcher}, including its handling of the
+ * leading and trailing separator.
+ *
+ * <p>The patterns are added and removed by one thread at a time, the lookups may run at the same time.
+ *
+ * @param <V> the value of a pattern
+ */
+public final class PathPatternTrie<V> {
+
+    private static final char PATH_SEPARATOR = '/';
+
+    private static final String DOUBLE_STAR = "**";
+
+    private static final String STAR = "*";
+
+    private static final Pattern GLOB_PATTERN = Pattern.compile("\\?|\\*|\\{((?:\\{[^/]+?\\}|[^/{}]|\\\\[{}])+?)\\}");
+
+    private static final String DEFAULT_VARIABLE_PATTERN = "((?s).*)";
+
+    private final Node<V> absoluteRoot = new Node<>(null);
+
+    private final Node<V> relativeRoot = new Node<>(null);
+
+    private int nextId;
+
+    private volatile int size;
+
+    /**
+     * Compile the patterns, the value of a pattern is the pattern itself.
+     *
+     * @param patterns the patterns
+     * @return the trie
+     */
+    public static PathPatternTrie<String> of(final Collection<String> patterns) {
+        PathPatternTrie<String> trie = new PathPatternTrie<>();
+        for (String pattern : patterns) {
+            if (Objects.nonNull(pattern)) {
+                trie.add(pattern, pattern);
+            }
+        }
+        return trie;
+    }
+
+    /**
+     * Add a pattern, when several patterns match a path the one added first wins.
+     *
+     * @param pattern the ant style pattern
+     * @param value   the value of the pattern
+     * @return this trie
+     */
+    public PathPatternTrie<V> add(final String pattern, final V value) {
+        int id = nextId++;
+        Node<V> node = isAbsolute(pattern) ? absoluteRoot : relativeRoot;
+        node.minId = Math.min(node.minId, id);
+        boolean doubleStar = false;
+        for (String segment : tokenize(pattern)) {
+            if (DOUBLE_STAR.equals(segment)) {
+                node = node.doubleStarChild();
+                doubleStar = true;
+            } else if (isWildcard(segment)) {
+                node = node.wildcardChild(segment);
+            } else {
+                node = node.literalChild(segment);
+            }
+            node.minId = Math.min(node.minId, id);
+        }
+        node.terminals.add(new Terminal<>(id, value, endsWithSeparator(pattern), doubleStar));
+        size++;
+        return this;
+    }
+
+    /**
+     * Remove a pattern added with the value, the nodes left without patterns are removed as well.
+     *
+     * @param pattern the ant style pattern
+     * @param value   the value of the pattern
+     * @return true if the pattern was added with the value
+     */
+    public boolean remove(final String pattern, final V value) {
+        List<String> segments = tokenize(pattern);
+        List<Node<V>> nodes = new ArrayList<>(segments.size() + 1);
+        Node<V> node = isAbsolute(pattern) ? absoluteRoot : relativeRoot;
+        nodes.add(node);
+        for (String segment : segments) {
+            node = node.child(segment);
+            if (Objects.isNull(node)) {
+                return false;
+            }
+            nodes.add(node);
+        }
+        boolean trailingSeparator = endsWithSeparator(pattern);
+        Terminal<V> removed = null;
+        for (Terminal<V> terminal : node.terminals) {
+            if (terminal.trailingSeparator == trailingSeparator && Objects.equals(terminal.value, value)) {
+                removed = terminal;
+                break;
+            }
+        }
+        if (Objects.isNull(removed) || !node.terminals.remove(removed)) {
+            return false;
+        }
+        size--;
+        // the min id of the nodes left is not raised, a lower one only prunes less
+        for (int index = segments.size(); index > 0 && nodes.get(index).isEmpty(); index--) {
+            nodes.get(index - 1).removeChild(segments.get(index - 1), nodes.get(index));
+        }
+        return true;
+    }
+
+    /**
+     * Whether no pattern is added.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Whether the path matches one of the patterns.
+     *
+     * @param path the path
+     * @return true if matched
+     */
+    public boolean match(final String path) {
+        return Objects.nonNull(find(path, true));
+    }
+
+    /**
+     * Find the value of the first added pattern which matches the path.
+     *
+     * @param path the path
+     * @return the value, or null if no pattern matches
+     */
+    public V lookup(final String path) {
+        Terminal<V> terminal = find(path, false);
+        return Objects.isNull(terminal) ? null : terminal.value;
+    }
+
+    private Terminal<V> find(final String path, final boolean any) {
+        if (Objects.isNull(path) || size == 0) {
+            return null;
+        }
+        Node<V> root = isAbsolute(path) ? absoluteRoot : relativeRoot;
+        if (root.minId == Integer.MAX_VALUE) {
+            return null;
+        }
+        List<String> tokens = tokenize(path);
+        return find(root, tokens, 0, endsWithSeparator(path), any, null);
+    }
+
+    private static <V> Terminal<V> find(final Node<V> node, final List<String> tokens, final int index,
+                                        final boolean trailingSeparator, final boolean any, final Terminal<V> found) {
+        // a node whose patterns were all added after the found one can not give a better result
+        if (Objects.nonNull(found) && (any || node.minId > found.id)) {
+            return found;
+        }
+        Terminal<V> best = found;
+        if (index == tokens.size()) {
+            best = first(best, node.accept(trailingSeparator));
+            Node<V> star = node.wildcards.get(STAR);
+            // a trailing single star also matches the empty segment after the trailing separator
+            if (trailingSeparator && Objects.nonNull(star)) {
+                best = first(best, star.acceptEmptySegment());
+            }
+        } else {
+            String token = tokens.get(index);
+            Node<V> literal = node.literals.get(token);
+            if (Objects.nonNull(literal)) {
+                best = find(literal, tokens, index + 1, trailingSeparator, any, best);
+            }
+            for (Node<V> wildcard : node.wildcards.values()) {
+                if (wildcard.segment.matches(token)) {
+                    best = find(wildcard, tokens, index + 1, trailingSeparator, any, best);
+                }
+            }
+        }
+        if (Objects.nonNull(node.doubleStar)) {
+            for (int next = index; next <= tokens.size(); next++) {
+                best = find(node.doubleStar, tokens, next, trailingSeparator, any, best);
+            }
+        }
+        return best;
+    }
+
+    private static <V> Terminal<V> first(final Terminal<V> current, final Terminal<V> candidate) {
+        if (Objects.isNull(candidate)) {
+            return current;
+        }
+        return Objects.isNull(current) || candidate.id < current.id ? candidate : current;
+    }
+
+    private static boolean isAbsolute(final String path) {
+        return !path.isEmpty() && path.charAt(0) == PATH_SEPARATOR;
+    }
+
+    private static boolean endsWithSeparator(final String path) {
+        return !path.isEmpty() && path.charAt(path.length() - 1) == PATH_SEPARATOR;
+    }
+
+    private static boolean isWildcard(final String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0 && segment.indexOf('}') > segment.indexOf('{');
+    }
+
+    private static List<String> tokenize(final String path) {
+        List<String> tokens = new ArrayList<>();
+        int length = path.length();
+        int start = 0;
+        while (start < length) {
+            int end = path.indexOf(PATH_SEPARATOR, start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                tokens.add(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return tokens;
+    }
+
+    private static final class Node<V> {
+
+        private final SegmentMatcher segment;
+
+        private final Map<String, Node<V>> literals = new ConcurrentHashMap<>();
+
+        private final Map<String, Node<V>> wildcards = new ConcurrentHashMap<>();
+
+        private final List<Terminal<V>> terminals = new CopyOnWriteArrayList<>();
+
+        private volatile Node<V> doubleStar;
+
+        private volatile int minId = Integer.MAX_VALUE;
+
+        Node(final SegmentMatcher segment) {
+            this.segment = segment;
+        }
+
+        private Node<V> literalChild(final String segment) {
+            return literals.computeIfAbsent(segment, key -> new Node<>(null));
+        }
+
+        private Node<V> wildcardChild(final String segment) {
+            return wildcards.computeIfAbsent(segment, key -> new Node<>(new SegmentMatcher(key)));
+        }
+
+        private Node<V> doubleStarChild() {
+            if (Objects.isNull(doubleStar)) {
+                doubleStar = new Node<>(null);
+            }
+            return doubleStar;
+        }
+
+        private Node<V> child(final String segment) {
+            if (DOUBLE_STAR.equals(segment)) {
+                return doubleStar;
+            }
+            return isWildcard(segment) ? wildcards.get(segment) : literals.get(segment);
+        }
+
+        private void removeChild(final String segment, final Node<V> child) {
+            if (DOUBLE_STAR.equals(segment)) {
+                doubleStar = null;
+            } else if (isWildcard(segment)) {
+                wildcards.remove(segment, child);
+            } else {
+                literals.remove(segment, child);
+            }
+        }
+
+        private boolean isEmpty() {
+            return terminals.isEmpty() && literals.isEmpty() && wildcards.isEmpty() && Objects.isNull(doubleStar);
+        }
+
+        private Terminal<V> accept(final boolean trailingSeparator) {
+            // the trailing separator only matters for the patterns without a double star
+            for (Terminal<V> terminal : terminals) {
+                if (terminal.doubleStar || terminal.trailingSeparator == trailingSeparator) {
+                    return terminal;
+                }
+            }
+            return null;
+        }
+
+        private Terminal<V> acceptEmptySegment() {
+            for (Terminal<V> terminal : terminals) {
+                if (!terminal.doubleStar) {
+                    return terminal;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Terminal<V> {
+
+        private final int id;
+
+        private final V value;
+
+        private final boolean trailingSeparator;
+
+        private final boolean doubleStar;
+
+        Terminal(final int id, final V value, final boolean trailingSeparator, final boolean doubleStar) {
+            this.id = id;
+            this.value = value;
+            this.trailingSeparator = trailingSeparator;
+            this.doubleStar = doubleStar;
+        }
+    }
+
+    private static final class SegmentMatcher {
+
+        private final String glob;
+
+        private final Pattern pattern;
+
+        SegmentMatcher(final String segment) {
+            boolean variable = segment.indexOf('{') >= 0;
+            this.glob = variable ? null : segment;
+            this.pattern = variable ? compile(segment) : null;
+        }
+
+        private boolean matches(final String token) {
+            if (Objects.nonNull(glob)) {
+                return STAR.equals(glob) || matchGlob(glob, token);
+            }
+            return pattern.matcher(token).matches();
+        }
+
+        private static boolean matchGlob(final String glob, final String token) {
+            int globIndex = 0;
+            int tokenIndex = 0;
+            int starIndex = -1;
+            int mark = 0;
+            while (tokenIndex < token.length()) {
+                if (globIndex < glob.length() && (glob.charAt(globIndex) == '?' || glob.charAt(globIndex) == token.charAt(tokenIndex))) {
+                    globIndex++;
+                    tokenIndex++;
+                } else if (globIndex < glob.length() && glob.charAt(globIndex) == '*') {
+                    starIndex = globIndex++;
+                    mark = tokenIndex;
+                } else if (starIndex >= 0) {
+                    globIndex = starIndex + 1;
+                    tokenIndex = ++mark;
+                } else {
+                    return false;
+                }
+            }
+            while (globIndex < glob.length() && glob.charAt(globIndex) == '*') {
+                globIndex++;
+            }
+            return globIndex == glob.length();
+        }
+
+        private static Pattern compile(final String segment) {
+            StringBuilder regex = new StringBuilder();
+            Matcher matcher = GLOB_PATTERN.matcher(segment);
+            int end = 0;
+            while (matcher.find()) {
+                regex.append(quote(segment, end, matcher.start()));
+                String match = matcher.group();
+                if ("?".equals(match)) {
+                    regex.append('.');
+                } else if (STAR.equals(match)) {
+                    regex.append(".*");
+                } else {
+                    int colon = match.indexOf(':');
+                    regex.append(colon < 0 ? DEFAULT_VARIABLE_PATTERN : "(" + match.substring(colon + 1, match.length() - 1) + ")");
+                }
+                end = matcher.end();
+            }
+            regex.append(quote(segment, end, segment.length()));
+            return Pattern.compile(regex.toString());
+        }
+
+        private static String quote(final String segment, final int start, final int end) {
+            return start == end ? "" : Pattern.quote(segment.substring(start, end));
+        }
+    }
+}
@@ -20,13 +20,11 @@ package org.apache.shenyu.common.utils;
 import org.apache.shenyu.common.constant.Constants;
 import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * SignUtils.
@@ -55,17 +53,16 @@ public final class SignUtils {
      * @return sign
      */
     public static String generateSign(final String signKey, final Map<String, String> params) {
-        List<String> storedKeys = Arrays.stream(params.keySet()
-                .toArray(new String[]{}))
-                .sorted(Comparator.naturalOrder())
-                .collect(Collectors.toList());
-        final String sign = storedKeys.stream()
-                .filter(key -> !Objects.equals(key, Constants.SIGN))
-                .map(key -> String.join("", key, params.get(key)))
-                .collect(Collectors.joining()).trim()
-                .concat(signKey);
-        // TODO this is a risk for error charset coding with getBytes
-        return DigestUtils.md5DigestAsHex(sign.getBytes()).toUpperCase();
+        String[] sortedKeys = params.keySet().toArray(new String[0]);
+        Arrays.sort(sortedKeys);
+        StringBuilder sign = new StringBuilder();
+        for (String key : sortedKeys) {
+            if (!Objects.equals(key, Constants.SIGN)) {
+                sign.append(key).append(params.get(key));
+            }
+        }
+        byte[] content = sign.toString().trim().concat(signKey).getBytes(StandardCharsets.UTF_8);
+        return DigestUtils.md5DigestAsHex(content).toUpperCase();
     }
 
     /**
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.benchmark;
+
+import org.apache.shenyu.common.utils.PathPatternTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the {@link PathPatternTrie} with matching every pattern by the {@link AntPathMatcher}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathMatcherBenchmark {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    @Param({"10", "100", "1000"})
+    private int patternCount;
+
+    private List<String> patterns;
+
+    private PathPatternTrie<String> trie;
+
+    private String[] paths;
+
+    /**
+     * Build the patterns, a quarter of them are wildcard patterns.
+     */
+    @Setup
+    public void setup() {
+        patterns = new ArrayList<>(patternCount);
+        for (int i = 0; i < patternCount; i++) {
+            switch (i % 4) {
+                case 0:
+                    patterns.add("/http/service" + i + "/**");
+                    break;
+                case 1:
+                    patterns.add("/http/service" + i + "/order/findById");
+                    break;
+                case 2:
+                    patterns.add("/http/service" + i + "/order/{id}");
+                    break;
+                default:
+                    patterns.add("/http/service" + i + "/*/find*");
+                    break;
+            }
+        }
+        trie = PathPatternTrie.of(patterns);
+        paths = new String[]{
+            "/http/service" + (patternCount - 1) + "/user/findAll",
+            "/http/service" + (patternCount / 2 + 1) + "/order/findById",
+            "/dubbo/service/order/findById",
+        };
+    }
+
+    /**
+     * Match by the trie.
+     *
+     * @return the matched count
+     */
+    @Benchmark
+    public int trie() {
+        int matched = 0;
+        for (String path : paths) {
+            if (trie.match(path)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Match every pattern by the ant path matcher.
+     *
+     * @return the matched count
+     */
+    @Benchmark
+    public int antPathMatcher() {
+        int matched = 0;
+        for (String path : paths) {
+            for (String pattern : patterns) {
+                if (MATCHER.match(pattern, path)) {
+                    matched++;
+                    break;
+                }
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PathMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
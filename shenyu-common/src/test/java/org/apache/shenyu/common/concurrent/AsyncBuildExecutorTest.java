@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.concurrent;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for AsyncBuildExecutor.
+ */
+public final class AsyncBuildExecutorTest {
+
+    private final AsyncBuildExecutor<String> executor = new AsyncBuildExecutor<>("shenyu-build-test", 1, 1, 60000L);
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSubmitSharesBuildInFlight() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger builds = new AtomicInteger();
+        CompletableFuture<String> first = executor.submit("/dubbo/findAll", () -> {
+            await(latch);
+            return "ref" + builds.incrementAndGet();
+        });
+        CompletableFuture<String> second = executor.submit("/dubbo/findAll", () -> "ref" + builds.incrementAndGet());
+        assertSame(first, second);
+        assertSame(first, executor.building("/dubbo/findAll"));
+        latch.countDown();
+        assertEquals("ref1", first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, builds.get());
+        assertNull(executor.building("/dubbo/findAll"));
+        assertEquals("ref2", executor.submit("/dubbo/findAll", () -> "ref" + builds.incrementAndGet()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testResubmitAndRejected() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        CompletableFuture<String> first = executor.submit("/dubbo/findAll", () -> {
+            await(latch);
+            return "old";
+        });
+        CompletableFuture<String> second = executor.resubmit("/dubbo/findAll", () -> "new");
+        CompletableFuture<String> rejected = executor.submit("/dubbo/findById", () -> "rejected");
+        assertSame(second, executor.submit("/dubbo/findAll", () -> "other"));
+        latch.countDown();
+        assertEquals("old", first.get(5, TimeUnit.SECONDS));
+        assertEquals("new", second.get(5, TimeUnit.SECONDS));
+        try {
+            rejected.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        assertTrue(rejected.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testSubmitReturnsRecentFailure() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        CompletableFuture<String> failed = executor.submit("/dubbo/findAll", () -> {
+            builds.incrementAndGet();
+            throw new IllegalStateException("no provider");
+        });
+        try {
+            failed.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertTrue(failed.isCompletedExceptionally());
+        assertSame(failed, executor.submit("/dubbo/findAll", () -> "ref" + builds.incrementAndGet()));
+        assertEquals(1, builds.get());
+        assertEquals("ref2", executor.resubmit("/dubbo/findAll", () -> "ref" + builds.incrementAndGet()).get(5, TimeUnit.SECONDS));
+        assertEquals("ref3", executor.submit("/dubbo/findAll", () -> "ref" + builds.incrementAndGet()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testPublishSkipsSupersededBuild() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<String> published = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> first = executor.submit("/dubbo/findAll", () -> {
+            await(latch);
+            return executor.publish("/dubbo/findAll", () -> published.add("old")) ? "old" : "superseded";
+        });
+        CompletableFuture<String> second = executor.resubmit("/dubbo/findAll", () -> executor.publish("/dubbo/findAll", () -> published.add("new")) ? "new" : "superseded");
+        latch.countDown();
+        assertEquals("superseded", first.get(5, TimeUnit.SECONDS));
+        assertEquals("new", second.get(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("new"), published);
+        assertTrue(executor.publish("/dubbo/findAll", () -> published.add("sync")));
+        assertEquals(Arrays.asList("new", "sync"), published);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
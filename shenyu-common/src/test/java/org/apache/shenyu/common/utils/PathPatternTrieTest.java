@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.common.utils;
+
+import org.junit.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for PathPatternTrie.
+ */
+public final class PathPatternTrieTest {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private static final String[] PATTERNS = {
+        "test", "/test", "/test/", "t?st", "*", "test*aaa", "/**", "/**/*", "/a/*", "/*", "/a/**", "/a/**/b",
+        "/a/**/b/**/c", "/a/{id}", "/a/{id:\\d+}.json", "/a.b", "/a//b", "/", "/*/b/*", "/x/*.html",
+    };
+
+    private static final String[] PATHS = {
+        "test", "/test", "/test/", "testblaaab", "/testing/testing", "/", "", "/a", "/a/", "/a/b", "/a//b", "/a/x/y/b/",
+        "/a/b/c", "/a/x/b/y/z/c", "/a/x/c", "/a/12", "/a/12.json", "/a/x.json", "/aXb", "/a.b", "/c/b/d", "/x/index.html",
+    };
+
+    @Test
+    public void testSameAsAntPathMatcher() {
+        for (String pattern : PATTERNS) {
+            PathPatternTrie<String> trie = PathPatternTrie.of(Collections.singletonList(pattern));
+            for (String path : PATHS) {
+                assertEquals(pattern + " " + path, MATCHER.match(pattern, path), trie.match(path));
+            }
+        }
+    }
+
+    @Test
+    public void testMatchAnyPattern() {
+        PathPatternTrie<String> trie = PathPatternTrie.of(Arrays.asList(PATTERNS));
+        for (String path : PATHS) {
+            boolean expected = Arrays.stream(PATTERNS).anyMatch(pattern -> MATCHER.match(pattern, path));
+            assertEquals(path, expected, trie.match(path));
+        }
+    }
+
+    @Test
+    public void testLookupFirstAddedPattern() {
+        PathPatternTrie<String> trie = PathPatternTrie.of(Arrays.asList("/a/**", "/a/b", "/x/*", "/x/b", "/**"));
+        assertEquals("/a/**", trie.lookup("/a/b"));
+        assertEquals("/x/*", trie.lookup("/x/b"));
+        assertEquals("/**", trie.lookup("/c"));
+        assertNull(trie.lookup("c"));
+        assertNull(trie.lookup(null));
+    }
+
+    @Test
+    public void testEmpty() {
+        PathPatternTrie<String> trie = PathPatternTrie.of(Collections.emptyList());
+        assertTrue(trie.isEmpty());
+        assertFalse(trie.match("/"));
+        assertFalse(new PathPatternTrie<Integer>().add("/a", 1).isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        PathPatternTrie<String> trie = PathPatternTrie.of(Arrays.asList("/a/**", "/a/b", "/x/*", "/x/*/"));
+        assertFalse(trie.remove("/a/**", "/a/b"));
+        assertFalse(trie.remove("/a/c", "/a/c"));
+        assertTrue(trie.remove("/a/**", "/a/**"));
+        assertEquals("/a/b", trie.lookup("/a/b"));
+        assertFalse(trie.match("/a/c"));
+        assertTrue(trie.remove("/x/*/", "/x/*/"));
+        assertEquals("/x/*", trie.lookup("/x/b"));
+        assertFalse(trie.match("/x/b/"));
+        trie.add("/a/**", "/a/**");
+        assertEquals("/a/b", trie.lookup("/a/b"));
+        assertTrue(trie.remove("/a/b", "/a/b"));
+        assertTrue(trie.remove("/x/*", "/x/*"));
+        assertTrue(trie.remove("/a/**", "/a/**"));
+        assertTrue(trie.isEmpty());
+        assertFalse(trie.match("/a/b"));
+    }
+}
@@ -22,6 +22,8 @@ import com.lmax.disruptor.IgnoreExceptionHandler;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
+import org.apache.shenyu.disruptor.consumer.QueueBatchConsumer;
+import org.apache.shenyu.disruptor.consumer.QueueBatchHandler;
 import org.apache.shenyu.disruptor.consumer.QueueConsumer;
 import org.apache.shenyu.disruptor.consumer.QueueConsumerFactory;
 import org.apache.shenyu.disruptor.provider.DisruptorProvider;
@@ -29,6 +31,7 @@ import org.apache.shenyu.disruptor.thread.DisruptorThreadFactory;
 import org.apache.shenyu.disruptor.event.DataEvent;
 import org.apache.shenyu.disruptor.event.DisruptorEventFactory;
 
+import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -56,6 +59,10 @@ public class DisruptorProviderManage<T> {
     
     private ExecutorService executor;
 
+    private QueueBatchHandler<T> batchHandler;
+
+    private int maxBatchSize;
+
     /**
      * Instantiates a new Disruptor provider manage.
      *
@@ -95,21 +102,41 @@ public class DisruptorProviderManage<T> {
                 DisruptorThreadFactory.create("shenyu_disruptor_consumer_", false), new ThreadPoolExecutor.AbortPolicy());
     }
 
+    /**
+     * Instantiates a new Disruptor provider manage which consumes the data in batches by one thread.
+     *
+     * @param batchHandler    the batch handler
+     * @param ringBufferSize  the ringBuffer size
+     * @param maxBatchSize    the max batch size
+     */
+    public DisruptorProviderManage(final QueueBatchHandler<T> batchHandler,
+                                   final int ringBufferSize,
+                                   final int maxBatchSize) {
+        this.batchHandler = batchHandler;
+        this.size = ringBufferSize;
+        this.maxBatchSize = maxBatchSize;
+    }
+
     /**
      * start disruptor.
      */
     @SuppressWarnings("unchecked")
     public void startup() {
+        String fixName = Objects.nonNull(batchHandler) ? batchHandler.fixName() : consumerFactory.fixName();
         Disruptor<DataEvent<T>> disruptor = new Disruptor<>(new DisruptorEventFactory<>(),
                 size,
-                DisruptorThreadFactory.create("shenyu_disruptor_provider_" + consumerFactory.fixName(), false),
+                DisruptorThreadFactory.create("shenyu_disruptor_provider_" + fixName, false),
                 ProducerType.MULTI,
                 new BlockingWaitStrategy());
-        QueueConsumer<T>[] consumers = new QueueConsumer[consumerSize];
-        for (int i = 0; i < consumerSize; i++) {
-            consumers[i] = new QueueConsumer<>(executor, consumerFactory);
+        if (Objects.nonNull(batchHandler)) {
+            disruptor.handleEventsWith(new QueueBatchConsumer<>(batchHandler, maxBatchSize));
+        } else {
+            QueueConsumer<T>[] consumers = new QueueConsumer[consumerSize];
+            for (int i = 0; i < consumerSize; i++) {
+                consumers[i] = new QueueConsumer<>(executor, consumerFactory);
+            }
+            disruptor.handleEventsWithWorkerPool(consumers);
         }
-        disruptor.handleEventsWithWorkerPool(consumers);
         disruptor.setDefaultExceptionHandler(new IgnoreExceptionHandler());
         disruptor.start();
         RingBuffer<DataEvent<T>> ringBuffer = disruptor.getRingBuffer();
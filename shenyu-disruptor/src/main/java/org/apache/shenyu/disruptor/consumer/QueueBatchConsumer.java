@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.disruptor.consumer;
+
+import com.lmax.disruptor.EventHandler;
+import org.apache.shenyu.disruptor.event.DataEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The type Queue batch consumer, it collects the data until the end of the available events or the max batch size.
+ *
+ * @param <T> the type parameter
+ */
+public class QueueBatchConsumer<T> implements EventHandler<DataEvent<T>> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueueBatchConsumer.class);
+
+    private final QueueBatchHandler<T> handler;
+
+    private final int maxBatchSize;
+
+    private final List<T> batch;
+
+    /**
+     * Instantiates a new Queue batch consumer.
+     *
+     * @param handler the handler
+     * @param maxBatchSize the max batch size
+     */
+    public QueueBatchConsumer(final QueueBatchHandler<T> handler, final int maxBatchSize) {
+        this.handler = handler;
+        this.maxBatchSize = maxBatchSize;
+        this.batch = new ArrayList<>(maxBatchSize);
+    }
+
+    @Override
+    public void onEvent(final DataEvent<T> event, final long sequence, final boolean endOfBatch) {
+        T data = event.getData();
+        event.setData(null);
+        if (Objects.nonNull(data)) {
+            batch.add(data);
+        }
+        if ((endOfBatch || batch.size() >= maxBatchSize) && !batch.isEmpty()) {
+            try {
+                handler.handle(Collections.unmodifiableList(batch));
+            } catch (Exception ex) {
+                LOG.error("handle batch error", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
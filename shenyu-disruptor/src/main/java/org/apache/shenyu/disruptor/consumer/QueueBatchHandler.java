@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.disruptor.consumer;
+
+import java.util.List;
+
+/**
+ * The handler of the data which is consumed in batches by one thread.
+ *
+ * @param <T> the type parameter
+ */
+public interface QueueBatchHandler<T> {
+
+    /**
+     * Handle the batch, the list is reused after this call returns.
+     *
+     * @param batch the batch
+     */
+    void handle(List<T> batch);
+
+    /**
+     * Fix name string.
+     *
+     * @return the string
+     */
+    String fixName();
+}
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.disruptor.provider;
 
+import com.lmax.disruptor.InsufficientCapacityException;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.dsl.Disruptor;
 import org.apache.shenyu.disruptor.event.DataEvent;
@@ -69,6 +70,30 @@ public class DisruptorProvider<T> {
         }
     }
     
+    /**
+     * On data without waiting for a free slot.
+     *
+     * @param function the function
+     * @return false if the ring buffer is full and the data is dropped
+     */
+    public boolean tryOnData(final Consumer<DataEvent<T>> function) {
+        long position;
+        try {
+            position = ringBuffer.tryNext();
+        } catch (InsufficientCapacityException ex) {
+            return false;
+        }
+        try {
+            DataEvent<T> dataEvent = ringBuffer.get(position);
+            function.accept(dataEvent);
+        } catch (Exception ex) {
+            logger.error("ex", ex);
+        } finally {
+            ringBuffer.publish(position);
+        }
+        return true;
+    }
+    
     /**
      * Shutdown.
      */
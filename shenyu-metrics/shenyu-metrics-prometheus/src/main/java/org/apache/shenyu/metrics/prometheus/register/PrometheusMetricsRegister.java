@@ -21,6 +21,8 @@ import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.metrics.handle.CounterHandle;
+import org.apache.shenyu.metrics.handle.HistogramHandle;
 import org.apache.shenyu.metrics.spi.MetricsRegister;
 import org.apache.shenyu.spi.Join;
 
@@ -29,6 +31,9 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Prometheus metrics register.
+ *
+ * <p>The bound handles keep the labeled child, which accumulates into striped adders that are only summed
+ * when the metrics are scraped.
  */
 @Slf4j
 @Join
@@ -40,6 +45,8 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
     
     private static final Map<String, Histogram> HISTOGRAM_MAP = new ConcurrentHashMap<>();
     
+    private static final String[] NO_LABELS = new String[0];
+    
     @Override
     public void registerCounter(final String name, final String[] labelNames, final String document) {
         if (!COUNTER_MAP.containsKey(name)) {
@@ -64,11 +71,19 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
     
     @Override
     public void registerHistogram(final String name, final String[] labelNames, final String document) {
+        registerHistogram(name, labelNames, document, null);
+    }
+    
+    @Override
+    public void registerHistogram(final String name, final String[] labelNames, final String document, final double[] buckets) {
         if (!HISTOGRAM_MAP.containsKey(name)) {
             Histogram.Builder builder = Histogram.build().name(name).help(document);
             if (null != labelNames) {
                 builder.labelNames(labelNames);
             }
+            if (null != buckets && buckets.length > 0) {
+                builder.buckets(buckets);
+            }
             HISTOGRAM_MAP.put(name, builder.register());
         }
     }
@@ -112,4 +127,43 @@ public final class PrometheusMetricsRegister implements MetricsRegister {
             histogram.observe(duration);
         }
     }
+    
+    @Override
+    public CounterHandle bindCounter(final String name, final String[] labelValues) {
+        Counter counter = COUNTER_MAP.get(name);
+        if (null == counter) {
+            return CounterHandle.NOOP;
+        }
+        Counter.Child child = counter.labels(null == labelValues ? NO_LABELS : labelValues);
+        return child::inc;
+    }
+    
+    @Override
+    public HistogramHandle bindHistogram(final String name, final String[] labelValues) {
+        Histogram histogram = HISTOGRAM_MAP.get(name);
+        if (null == histogram) {
+            return HistogramHandle.NOOP;
+        }
+        Histogram.Child child = histogram.labels(null == labelValues ? NO_LABELS : labelValues);
+        return child::observe;
+    }
+    
+    @Override
+    public void remove(final String name, final String[] labelValues) {
+        if (null == labelValues) {
+            return;
+        }
+        Counter counter = COUNTER_MAP.get(name);
+        if (null != counter) {
+            counter.remove(labelValues);
+        }
+        Gauge gauge = GAUGE_MAP.get(name);
+        if (null != gauge) {
+            gauge.remove(labelValues);
+        }
+        Histogram histogram = HISTOGRAM_MAP.get(name);
+        if (null != histogram) {
+            histogram.remove(labelValues);
+        }
+    }
 }
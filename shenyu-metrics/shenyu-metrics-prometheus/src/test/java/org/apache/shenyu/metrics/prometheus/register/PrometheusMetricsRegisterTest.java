@@ -17,11 +17,16 @@
 
 package org.apache.shenyu.metrics.prometheus.register;
 
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.Counter;
 import io.prometheus.client.Histogram;
 import org.apache.shenyu.common.utils.ReflectUtils;
+import org.apache.shenyu.metrics.handle.CounterHandle;
+import org.apache.shenyu.metrics.handle.HistogramHandle;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -60,4 +65,57 @@ public final class PrometheusMetricsRegisterTest {
         Histogram histogram = histogramMap.get(name);
         assertThat(histogram.labels(labelNames).get().sum, is(1000.0));
     }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertHistogramBuckets() {
+        String name = "route_latency_histogram_millis";
+        String[] labelNames = new String[] {"rule"};
+        prometheusMetricsRegister.registerHistogram(name, labelNames, "the route latency millis", new double[] {10, 100});
+        prometheusMetricsRegister.recordTime(name, labelNames, 50);
+        Map<String, Histogram> histogramMap = (Map<String, Histogram>) ReflectUtils.getFieldValue(prometheusMetricsRegister, "HISTOGRAM_MAP");
+        double[] buckets = histogramMap.get(name).labels(labelNames).get().buckets;
+        assertThat(buckets.length, is(3));
+        assertThat(buckets[0], is(0.0));
+        assertThat(buckets[1], is(1.0));
+        CollectorRegistry.defaultRegistry.unregister(histogramMap.remove(name));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertBindHandles() {
+        String counterName = "bound_request_total";
+        String histogramName = "bound_latency_millis";
+        String[] labelValues = new String[] {"bound"};
+        assertThat(prometheusMetricsRegister.bindCounter(counterName, labelValues), is(CounterHandle.NOOP));
+        prometheusMetricsRegister.registerCounter(counterName, new String[] {"name"}, "the bound request total count");
+        prometheusMetricsRegister.registerHistogram(histogramName, new String[] {"name"}, "the bound latency millis");
+        CounterHandle counter = prometheusMetricsRegister.bindCounter(counterName, labelValues);
+        counter.increment();
+        counter.increment(2L);
+        HistogramHandle histogram = prometheusMetricsRegister.bindHistogram(histogramName, labelValues);
+        histogram.record(20L);
+        Map<String, Counter> counterMap = (Map<String, Counter>) ReflectUtils.getFieldValue(prometheusMetricsRegister, "COUNTER_MAP");
+        Map<String, Histogram> histogramMap = (Map<String, Histogram>) ReflectUtils.getFieldValue(prometheusMetricsRegister, "HISTOGRAM_MAP");
+        assertThat(counterMap.get(counterName).labels(labelValues).get(), is(3.0d));
+        assertThat(histogramMap.get(histogramName).labels(labelValues).get().sum, is(20.0));
+        CollectorRegistry.defaultRegistry.unregister(counterMap.remove(counterName));
+        CollectorRegistry.defaultRegistry.unregister(histogramMap.remove(histogramName));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void assertRemove() {
+        String name = "removed_request_total";
+        prometheusMetricsRegister.registerCounter(name, new String[] {"name"}, "the removed request total count");
+        prometheusMetricsRegister.counterIncrement(name, new String[] {"removed"}, 1);
+        prometheusMetricsRegister.counterIncrement(name, new String[] {"kept"}, 1);
+        prometheusMetricsRegister.remove(name, new String[] {"removed"});
+        prometheusMetricsRegister.remove("unregistered_total", new String[] {"removed"});
+        Map<String, Counter> counterMap = (Map<String, Counter>) ReflectUtils.getFieldValue(prometheusMetricsRegister, "COUNTER_MAP");
+        List<Collector.MetricFamilySamples.Sample> samples = counterMap.get(name).collect().get(0).samples;
+        assertThat(samples.stream().anyMatch(sample -> sample.labelValues.contains("kept")), is(true));
+        assertThat(samples.stream().anyMatch(sample -> sample.labelValues.contains("removed")), is(false));
+        CollectorRegistry.defaultRegistry.unregister(counterMap.remove(name));
+    }
 }
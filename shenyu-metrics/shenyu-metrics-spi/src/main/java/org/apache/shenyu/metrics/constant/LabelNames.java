@@ -36,4 +36,49 @@ public final class LabelNames {
      * The constant EXECUTE_LATENCY_NAME.
      */
     public static final String EXECUTE_LATENCY_NAME = "shenyu_execute_latency_millis";
+    
+    /**
+     * The constant UPSTREAM_ACTIVE_REQUESTS.
+     */
+    public static final String UPSTREAM_ACTIVE_REQUESTS = "shenyu_upstream_active_requests";
+    
+    /**
+     * The constant UPSTREAM_LATENCY_NAME.
+     */
+    public static final String UPSTREAM_LATENCY_NAME = "shenyu_upstream_latency_millis";
+    
+    /**
+     * The constant ROUTE_LATENCY_NAME.
+     */
+    public static final String ROUTE_LATENCY_NAME = "shenyu_route_latency_millis";
+    
+    /**
+     * The constant UPSTREAM_STATUS_TOTAL.
+     */
+    public static final String UPSTREAM_STATUS_TOTAL = "shenyu_upstream_status_total";
+    
+    /**
+     * The constant PLUGIN_LATENCY_NAME.
+     */
+    public static final String PLUGIN_LATENCY_NAME = "shenyu_plugin_latency_micros";
+    
+    /**
+     * The constant RPC_CLIENT_CACHE_REQUEST_TOTAL.
+     */
+    public static final String RPC_CLIENT_CACHE_REQUEST_TOTAL = "shenyu_rpc_client_cache_request_total";
+    
+    /**
+     * The constant RPC_CLIENT_CACHE_EVICTION_TOTAL.
+     */
+    public static final String RPC_CLIENT_CACHE_EVICTION_TOTAL = "shenyu_rpc_client_cache_eviction_total";
+    
+    /**
+     * The constant RPC_CLIENT_BUILD_LATENCY_NAME.
+     */
+    public static final String RPC_CLIENT_BUILD_LATENCY_NAME = "shenyu_rpc_client_build_millis";
+    
+    /**
+     * The constant PARAMETER_DATA_CACHE_REQUEST_TOTAL.
+     */
+    public static final String PARAMETER_DATA_CACHE_REQUEST_TOTAL = "shenyu_parameter_data_cache_request_total";
 }
@@ -36,4 +36,18 @@ public final class Metric {
     private final String document;
     
     private final List<String> labels;
+    
+    private final double[] buckets;
+    
+    /**
+     * Instantiates a new Metric with the default buckets.
+     *
+     * @param type the type
+     * @param name the name
+     * @param document the document
+     * @param labels the labels
+     */
+    public Metric(final MetricType type, final String name, final String document, final List<String> labels) {
+        this(type, name, document, labels, null);
+    }
 }
@@ -18,18 +18,32 @@
 package org.apache.shenyu.metrics.reporter;
 
 import org.apache.shenyu.metrics.entity.Metric;
+import org.apache.shenyu.metrics.enums.MetricType;
+import org.apache.shenyu.metrics.handle.CounterHandle;
+import org.apache.shenyu.metrics.handle.HistogramHandle;
 import org.apache.shenyu.metrics.spi.MetricsRegister;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Metrics reporter.
+ *
+ * <p>The metrics registered before the metrics register is set are kept and registered when it is set.
+ * The handles returned by {@link #bindCounter(String, String[])} and {@link #bindHistogram(String, String[])}
+ * are bound again only after the metrics register or a metric has changed.
  */
 public final class MetricsReporter {
     
-    private static MetricsRegister metricsRegister;
+    private static final Map<String, Metric> DEFINED_METRICS = new ConcurrentHashMap<>();
+    
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+    
+    private static volatile MetricsRegister metricsRegister;
     
     /**
      * Register.
@@ -37,7 +51,11 @@ public final class MetricsReporter {
      * @param metricsRegister metrics register
      */
     public static void register(final MetricsRegister metricsRegister) {
+        if (null != metricsRegister) {
+            DEFINED_METRICS.values().forEach(metric -> replay(metricsRegister, metric));
+        }
         MetricsReporter.metricsRegister = metricsRegister;
+        GENERATION.incrementAndGet();
     }
     
     /**
@@ -55,7 +73,7 @@ public final class MetricsReporter {
                     registerGauge(metric.getName(), getLabelNames(metric.getLabels()), metric.getDocument());
                     break;
                 case HISTOGRAM:
-                    registerHistogram(metric.getName(), getLabelNames(metric.getLabels()), metric.getDocument());
+                    registerHistogram(metric.getName(), getLabelNames(metric.getLabels()), metric.getDocument(), metric.getBuckets());
                     break;
                 default:
                     throw new RuntimeException("we not support metric registration for type: " + metric.getType());
@@ -71,7 +89,12 @@ public final class MetricsReporter {
      * @param document document for counter
      */
     public static void registerCounter(final String name, final String[] labelNames, final String document) {
-        Optional.ofNullable(metricsRegister).ifPresent(register -> register.registerCounter(name, labelNames, document));
+        define(MetricType.COUNTER, name, labelNames, document);
+        MetricsRegister register = metricsRegister;
+        if (null != register) {
+            register.registerCounter(name, labelNames, document);
+        }
+        GENERATION.incrementAndGet();
     }
     
     /**
@@ -92,7 +115,12 @@ public final class MetricsReporter {
      * @param document document for gauge
      */
     public static void registerGauge(final String name, final String[] labelNames, final String document) {
-        Optional.ofNullable(metricsRegister).ifPresent(register -> register.registerGauge(name, labelNames, document));
+        define(MetricType.GAUGE, name, labelNames, document);
+        MetricsRegister register = metricsRegister;
+        if (null != register) {
+            register.registerGauge(name, labelNames, document);
+        }
+        GENERATION.incrementAndGet();
     }
     
     /**
@@ -113,7 +141,28 @@ public final class MetricsReporter {
      * @param document document for histogram
      */
     public static void registerHistogram(final String name, final String[] labelNames, final String document) {
-        Optional.ofNullable(metricsRegister).ifPresent(register -> register.registerHistogram(name, labelNames, document));
+        registerHistogram(name, labelNames, document, null);
+    }
+    
+    /**
+     * Register histogram by label names and buckets.
+     *
+     * @param name name
+     * @param labelNames label names
+     * @param document document for histogram
+     * @param buckets the upper bounds of the buckets, null means the default buckets
+     */
+    public static void registerHistogram(final String name, final String[] labelNames, final String document, final double[] buckets) {
+        DEFINED_METRICS.putIfAbsent(name, new Metric(MetricType.HISTOGRAM, name, document, null == labelNames ? null : Arrays.asList(labelNames), buckets));
+        MetricsRegister register = metricsRegister;
+        if (null != register) {
+            if (null == buckets) {
+                register.registerHistogram(name, labelNames, document);
+            } else {
+                register.registerHistogram(name, labelNames, document, buckets);
+            }
+        }
+        GENERATION.incrementAndGet();
     }
     
     /**
@@ -153,7 +202,10 @@ public final class MetricsReporter {
      * @param count count
      */
     public static void counterIncrement(final String name, final String[] labelValues, final long count) {
-        Optional.ofNullable(metricsRegister).ifPresent(register -> register.counterIncrement(name, labelValues, count));
+        MetricsRegister register = metricsRegister;
+        if (null != register) {
+            register.counterIncrement(name, labelValues, count);
+        }
     }
     
     /**
@@ -163,7 +215,10 @@ public final class MetricsReporter {
      * @param labelValues label values
      */
     public static void gaugeIncrement(final String name, final String[] labelValues) {
-        Optional.ofNullable(metricsRegister).ifPresent(register -> register.gaugeIncrement(name, labelValues));
+        MetricsRegister register = metricsRegister;
+        if (null != register) {
+            register.gaugeIncrement(name, labelValues);
+        }
     }
     
     /**
@@ -182,7 +237,10 @@ public final class MetricsReporter {
      * @param labelValues label values
      */
     public static void gaugeDecrement(final String name, final String[] labelValues) {
-        Optional.ofNullable(metricsRegister).ifPresent(register -> register.gaugeDecrement(name, labelValues));
+        MetricsRegister register = metricsRegister;
+        if (null != register) {
+            register.gaugeDecrement(name, labelValues);
+        }
     }
     
     /**
@@ -202,7 +260,10 @@ public final class MetricsReporter {
      * @param duration duration
      */
     public static void recordTime(final String name, final String[] labelValues, final long duration) {
-        Optional.ofNullable(metricsRegister).ifPresent(register -> register.recordTime(name, labelValues, duration));
+        MetricsRegister register = metricsRegister;
+        if (null != register) {
+            register.recordTime(name, labelValues, duration);
+        }
     }
     
     /**
@@ -215,7 +276,139 @@ public final class MetricsReporter {
         recordTime(name, null, duration);
     }
     
+    /**
+     * Bind the counter of the label values, the handle should be kept and reused.
+     *
+     * @param name name
+     * @param labelValues label values, null for the counter without labels
+     * @return the counter handle
+     */
+    public static CounterHandle bindCounter(final String name, final String[] labelValues) {
+        return new BoundCounter(name, labelValues);
+    }
+    
+    /**
+     * Bind the histogram of the label values, the handle should be kept and reused.
+     *
+     * @param name name
+     * @param labelValues label values, null for the histogram without labels
+     * @return the histogram handle
+     */
+    public static HistogramHandle bindHistogram(final String name, final String[] labelValues) {
+        return new BoundHistogram(name, labelValues);
+    }
+    
+    /**
+     * Remove the metric of the label values, the handles bound to it should not be used any more.
+     *
+     * @param name name
+     * @param labelValues label values
+     */
+    public static void remove(final String name, final String[] labelValues) {
+        MetricsRegister register = metricsRegister;
+        if (null != register) {
+            register.remove(name, labelValues);
+        }
+    }
+    
+    private static void replay(final MetricsRegister metricsRegister, final Metric metric) {
+        String[] labelNames = null == metric.getLabels() ? null : getLabelNames(metric.getLabels());
+        switch (metric.getType()) {
+            case COUNTER:
+                metricsRegister.registerCounter(metric.getName(), labelNames, metric.getDocument());
+                break;
+            case GAUGE:
+                metricsRegister.registerGauge(metric.getName(), labelNames, metric.getDocument());
+                break;
+            default:
+                if (null == metric.getBuckets()) {
+                    metricsRegister.registerHistogram(metric.getName(), labelNames, metric.getDocument());
+                } else {
+                    metricsRegister.registerHistogram(metric.getName(), labelNames, metric.getDocument(), metric.getBuckets());
+                }
+                break;
+        }
+    }
+    
+    private static void define(final MetricType type, final String name, final String[] labelNames, final String document) {
+        DEFINED_METRICS.putIfAbsent(name, new Metric(type, name, document, null == labelNames ? null : Arrays.asList(labelNames)));
+    }
+    
     private static String[] getLabelNames(final List<String> labels) {
         return labels.toArray(new String[0]);
     }
+    
+    private static final class Binding<H> {
+        
+        private final int generation;
+        
+        private final H handle;
+        
+        Binding(final int generation, final H handle) {
+            this.generation = generation;
+            this.handle = handle;
+        }
+    }
+    
+    private static final class BoundCounter implements CounterHandle {
+        
+        private final String name;
+        
+        private final String[] labelValues;
+        
+        private volatile Binding<CounterHandle> binding = new Binding<>(-1, CounterHandle.NOOP);
+        
+        BoundCounter(final String name, final String[] labelValues) {
+            this.name = name;
+            this.labelValues = labelValues;
+        }
+        
+        @Override
+        public void increment(final long count) {
+            Binding<CounterHandle> current = binding;
+            if (current.generation != GENERATION.get()) {
+                current = rebind();
+            }
+            current.handle.increment(count);
+        }
+        
+        private Binding<CounterHandle> rebind() {
+            int generation = GENERATION.get();
+            MetricsRegister register = metricsRegister;
+            Binding<CounterHandle> current = new Binding<>(generation, null == register ? CounterHandle.NOOP : register.bindCounter(name, labelValues));
+            binding = current;
+            return current;
+        }
+    }
+    
+    private static final class BoundHistogram implements HistogramHandle {
+        
+        private final String name;
+        
+        private final String[] labelValues;
+        
+        private volatile Binding<HistogramHandle> binding = new Binding<>(-1, HistogramHandle.NOOP);
+        
+        BoundHistogram(final String name, final String[] labelValues) {
+            this.name = name;
+            this.labelValues = labelValues;
+        }
+        
+        @Override
+        public void record(final long value) {
+            Binding<HistogramHandle> current = binding;
+            if (current.generation != GENERATION.get()) {
+                current = rebind();
+            }
+            current.handle.record(value);
+        }
+        
+        private Binding<HistogramHandle> rebind() {
+            int generation = GENERATION.get();
+            MetricsRegister register = metricsRegister;
+            Binding<HistogramHandle> current = new Binding<>(generation, null == register ? HistogramHandle.NOOP : register.bindHistogram(name, labelValues));
+            binding = current;
+            return current;
+        }
+    }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.shenyu.metrics.spi;
 
+import org.apache.shenyu.metrics.handle.CounterHandle;
+import org.apache.shenyu.metrics.handle.HistogramHandle;
 import org.apache.shenyu.spi.SPI;
 
 /**
@@ -52,6 +54,18 @@ public interface MetricsRegister {
      */
     void registerHistogram(String name, String[] labelNames, String document);
     
+    /**
+     * Register histogram with buckets, the buckets take effect when the histogram is first registered.
+     *
+     * @param name name
+     * @param labelNames label names
+     * @param document document for histogram
+     * @param buckets the upper bounds of the buckets, null means the default buckets
+     */
+    default void registerHistogram(String name, String[] labelNames, String document, double[] buckets) {
+        registerHistogram(name, labelNames, document);
+    }
+    
     /**
      * Counter increment by count.
      *
@@ -85,4 +99,35 @@ public interface MetricsRegister {
      * @param duration duration
      */
     void recordTime(String name, String[] labelValues, long duration);
+    
+    /**
+     * Bind the counter of the label values.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @return the counter handle
+     */
+    default CounterHandle bindCounter(String name, String[] labelValues) {
+        return count -> counterIncrement(name, labelValues, count);
+    }
+    
+    /**
+     * Bind the histogram of the label values.
+     *
+     * @param name name
+     * @param labelValues label values
+     * @return the histogram handle
+     */
+    default HistogramHandle bindHistogram(String name, String[] labelValues) {
+        return value -> recordTime(name, labelValues, value);
+    }
+    
+    /**
+     * Remove the metric of the label values, the metric is exported again when it is recorded again.
+     *
+     * @param name name
+     * @param labelValues label values
+     */
+    default void remove(String name, String[] labelValues) {
+    }
 }
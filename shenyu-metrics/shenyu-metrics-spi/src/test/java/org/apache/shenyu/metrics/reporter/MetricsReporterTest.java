@@ -19,6 +19,8 @@ package org.apache.shenyu.metrics.reporter;
 
 import org.apache.shenyu.metrics.entity.Metric;
 import org.apache.shenyu.metrics.enums.MetricType;
+import org.apache.shenyu.metrics.handle.CounterHandle;
+import org.apache.shenyu.metrics.handle.HistogramHandle;
 import org.apache.shenyu.metrics.spi.MetricsRegister;
 import org.junit.Test;
 
@@ -26,6 +28,13 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 /**
  * MetricsReporterTest.
  */
@@ -38,6 +47,25 @@ public class MetricsReporterTest {
         MetricsReporter.register(metricsRegister);
     }
 
+    @Test
+    public void testRegisterDefinedMetrics() {
+        MetricsReporter.registerGauge("defined.gauge", new String[]{"label"}, "shenyu defined gauge");
+        MetricsRegister register = mock(MetricsRegister.class);
+        MetricsReporter.register(register);
+        verify(register).registerGauge("defined.gauge", new String[]{"label"}, "shenyu defined gauge");
+        MetricsReporter.register(null);
+    }
+
+    @Test
+    public void testRegisterDefinedHistogramBuckets() {
+        double[] buckets = {10, 100, 1000};
+        MetricsReporter.registerHistogram("defined.histogram", new String[]{"label"}, "shenyu defined histogram", buckets);
+        MetricsRegister register = mock(MetricsRegister.class);
+        MetricsReporter.register(register);
+        verify(register).registerHistogram("defined.histogram", new String[]{"label"}, "shenyu defined histogram", buckets);
+        MetricsReporter.register(null);
+    }
+
     @Test(expected = RuntimeException.class)
     public void testRegisterMetrics() {
         List<String> labels = Collections.singletonList("label");
@@ -97,4 +125,40 @@ public class MetricsReporterTest {
         MetricsReporter.recordTime("executeTime", new String[]{"label"}, 1L);
         MetricsReporter.recordTime("executeTime", 1L);
     }
+
+    @Test
+    public void testBindCounter() {
+        CounterHandle child = mock(CounterHandle.class);
+        MetricsRegister register = mock(MetricsRegister.class);
+        when(register.bindCounter(eq("bound.counter"), any())).thenReturn(child);
+        CounterHandle counter = MetricsReporter.bindCounter("bound.counter", new String[]{"label"});
+        counter.increment();
+        MetricsReporter.register(register);
+        counter.increment();
+        counter.increment(2L);
+        verify(register, times(1)).bindCounter("bound.counter", new String[]{"label"});
+        verify(child).increment(1L);
+        verify(child).increment(2L);
+        MetricsReporter.registerCounter("bound.counter", new String[]{"label"}, "shenyu bound counter");
+        counter.increment();
+        verify(register, times(2)).bindCounter("bound.counter", new String[]{"label"});
+        MetricsReporter.register(null);
+    }
+
+    @Test
+    public void testBindHistogram() {
+        HistogramHandle child = mock(HistogramHandle.class);
+        MetricsRegister register = mock(MetricsRegister.class);
+        when(register.bindHistogram(eq("bound.histogram"), any())).thenReturn(child);
+        MetricsReporter.register(register);
+        HistogramHandle histogram = MetricsReporter.bindHistogram("bound.histogram", null);
+        histogram.record(3L);
+        histogram.record(4L);
+        verify(register, times(1)).bindHistogram("bound.histogram", null);
+        verify(child).record(3L);
+        verify(child).record(4L);
+        MetricsReporter.register(null);
+        histogram.record(5L);
+        verify(child, times(0)).record(5L);
+    }
 }
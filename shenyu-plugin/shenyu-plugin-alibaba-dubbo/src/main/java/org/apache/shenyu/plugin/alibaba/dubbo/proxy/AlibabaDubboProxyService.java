@@ -28,9 +28,12 @@ import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.common.utils.ParamCheckUtils;
 import org.apache.shenyu.plugin.alibaba.dubbo.cache.ApplicationConfigCache;
+import org.apache.shenyu.plugin.api.param.BodyBuffer;
 import org.apache.shenyu.plugin.api.param.BodyParamResolveService;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Alibaba dubbo proxy service is  use GenericService.
@@ -38,6 +41,8 @@ import java.util.Objects;
 @Slf4j
 public class AlibabaDubboProxyService {
     
+    private static final int MAX_EMPTY_BODY_SIZE = 4;
+
     private final BodyParamResolveService bodyParamResolveService;
     
     /**
@@ -52,24 +57,37 @@ public class AlibabaDubboProxyService {
     /**
      * Generic invoker object.
      *
-     * @param body     the body
+     * @param body     the body string or the {@link BodyBuffer}
      * @param metaData the meta data
-     * @return the object
+     * @return the object, empty if the result is null
      * @throws ShenyuException the shenyu exception
      */
-    public Object genericInvoker(final String body, final MetaData metaData) throws ShenyuException {
-        ReferenceConfig<GenericService> reference = ApplicationConfigCache.getInstance().get(metaData.getPath());
-        if (Objects.isNull(reference) || StringUtils.isEmpty(reference.getInterface())) {
-            ApplicationConfigCache.getInstance().invalidate(metaData.getPath());
-            reference = ApplicationConfigCache.getInstance().initRef(metaData);
+    public Mono<Object> genericInvoker(final Object body, final MetaData metaData) throws ShenyuException {
+        // a missing reference is built on the build executor, the request waits for it without blocking the event loop
+        CompletableFuture<ReferenceConfig<GenericService>> future = ApplicationConfigCache.getInstance().initRefAsync(metaData);
+        return awaitReference(future)
+                .flatMap(reference -> Mono.justOrEmpty(invoke(reference, body, metaData)));
+    }
+
+    private Mono<ReferenceConfig<GenericService>> awaitReference(final CompletableFuture<ReferenceConfig<GenericService>> future) {
+        Mono<ReferenceConfig<GenericService>> reference = Mono.fromFuture(future);
+        if (future.isDone()) {
+            return reference;
         }
+        // a build in flight completes on the build thread, the synchronous invoke blocks, so it runs on the bounded elastic threads instead
+        return reference.publishOn(Schedulers.boundedElastic());
+    }
+
+    private Object invoke(final ReferenceConfig<GenericService> reference, final Object body, final MetaData metaData) {
         GenericService genericService = reference.get();
         try {
             Pair<String[], Object[]> pair;
-            if (StringUtils.isBlank(metaData.getParameterTypes()) || ParamCheckUtils.dubboBodyIsEmpty(body)) {
+            if (StringUtils.isBlank(metaData.getParameterTypes()) || isEmptyBody(body)) {
                 pair = new ImmutablePair<>(new String[]{}, new Object[]{});
+            } else if (body instanceof BodyBuffer) {
+                pair = bodyParamResolveService.buildParameter((BodyBuffer) body, metaData.getParameterTypes());
             } else {
-                pair = bodyParamResolveService.buildParameter(body, metaData.getParameterTypes());
+                pair = bodyParamResolveService.buildParameter((String) body, metaData.getParameterTypes());
             }
             return genericService.$invoke(metaData.getMethodName(), pair.getLeft(), pair.getRight());
         } catch (GenericException e) {
@@ -77,4 +95,13 @@ public class AlibabaDubboProxyService {
             throw new ShenyuException(e.getExceptionMessage());
         }
     }
+
+    private static boolean isEmptyBody(final Object body) {
+        if (body instanceof BodyBuffer) {
+            BodyBuffer bodyBuffer = (BodyBuffer) body;
+            // only a few bytes long body can be one of the empty bodies
+            return bodyBuffer.size() <= MAX_EMPTY_BODY_SIZE && ParamCheckUtils.dubboBodyIsEmpty(bodyBuffer.asString());
+        }
+        return ParamCheckUtils.dubboBodyIsEmpty((String) body);
+    }
 }
@@ -38,6 +38,8 @@ import org.junit.runner.RunWith;
 import org.mockito.MockedStatic;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * AlibabaDubboProxyServiceTest.
  */
@@ -78,10 +80,10 @@ public final class AlibabaDubboProxyServiceTest {
         try (MockedStatic<ApplicationConfigCache> applicationConfigCacheMockedStatic = mockStatic(ApplicationConfigCache.class)) {
             ApplicationConfigCache applicationConfigCache = mock(ApplicationConfigCache.class);
             applicationConfigCacheMockedStatic.when(() -> ApplicationConfigCache.getInstance()).thenReturn(applicationConfigCache);
-            when(applicationConfigCache.initRef(metaData)).thenReturn(referenceConfig);
+            when(applicationConfigCache.initRefAsync(metaData)).thenReturn(CompletableFuture.completedFuture(referenceConfig));
 
             AlibabaDubboProxyService alibabaDubboProxyService = new AlibabaDubboProxyService(new BodyParamResolveServiceImpl());
-            Assert.assertNull(alibabaDubboProxyService.genericInvoker("", metaData));
+            Assert.assertNull(alibabaDubboProxyService.genericInvoker("", metaData).block());
         }
     }
 
@@ -18,11 +18,11 @@
 package org.apache.shenyu.plugin.alibaba.dubbo.subscriber;
 
 import com.alibaba.dubbo.config.ReferenceConfig;
-import com.google.common.cache.LoadingCache;
 import lombok.SneakyThrows;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.alibaba.dubbo.cache.ApplicationConfigCache;
+import org.apache.shenyu.plugin.base.cache.RpcClientCache;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -65,7 +65,7 @@ public final class ApacheDubboMetaDataSubscriberTest {
         ApplicationConfigCache applicationConfigCache = ApplicationConfigCache.getInstance();
         Field field = ApplicationConfigCache.class.getDeclaredField("cache");
         field.setAccessible(true);
-        ((LoadingCache) field.get(applicationConfigCache)).put("/dubbo/findAll", referenceConfig);
+        ((RpcClientCache) field.get(applicationConfigCache)).put("/dubbo/findAll", referenceConfig);
         alibabaDubboMetaDataSubscriber.onSubscribe(metaData);
         MetaData metaData = MetaData.builder()
                 .id("1332017966661636096")
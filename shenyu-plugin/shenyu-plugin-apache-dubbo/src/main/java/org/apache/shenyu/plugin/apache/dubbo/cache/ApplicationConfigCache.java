@@ -17,9 +17,6 @@
 
 package org.apache.shenyu.plugin.apache.dubbo.cache;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -27,16 +24,18 @@ import org.apache.dubbo.config.ApplicationConfig;
 import org.apache.dubbo.config.ReferenceConfig;
 import org.apache.dubbo.config.RegistryConfig;
 import org.apache.dubbo.rpc.service.GenericService;
+import org.apache.shenyu.common.concurrent.AsyncBuildExecutor;
 import org.apache.shenyu.common.config.DubboRegisterConfig;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.LoadBalanceEnum;
+import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.base.cache.RpcClientCache;
 
-import java.lang.reflect.Field;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -49,31 +48,9 @@ public final class ApplicationConfigCache {
 
     private RegistryConfig registryConfig;
 
-    private final int maxCount = 1000;
-
-    private final LoadingCache<String, ReferenceConfig<GenericService>> cache = CacheBuilder.newBuilder()
-            .maximumSize(maxCount)
-            .removalListener(notification -> {
-                ReferenceConfig<GenericService> config = (ReferenceConfig<GenericService>) notification.getValue();
-                if (config != null) {
-                    try {
-                        Class<?> cz = config.getClass();
-                        Field field = cz.getDeclaredField("ref");
-                        field.setAccessible(true);
-                        // After the configuration change, Dubbo destroys the instance, but does not empty it. If it is not handled,
-                        // it will get NULL when reinitializing and cause a NULL pointer problem.
-                        field.set(config, null);
-                    } catch (NoSuchFieldException | IllegalAccessException e) {
-                        log.error("modify ref have exception", e);
-                    }
-                }
-            })
-            .build(new CacheLoader<String, ReferenceConfig<GenericService>>() {
-                @Override
-                public ReferenceConfig<GenericService> load(final String key) {
-                    return new ReferenceConfig<>();
-                }
-            });
+    private final AsyncBuildExecutor<ReferenceConfig<GenericService>> buildExecutor = new AsyncBuildExecutor<>("shenyu-apache-dubbo-reference");
+
+    private final RpcClientCache<ReferenceConfig<GenericService>> cache = new RpcClientCache<>(PluginEnum.DUBBO.getName(), key -> new ReferenceConfig<>(), ReferenceConfig::destroy);
 
     private ApplicationConfigCache() {
     }
@@ -126,18 +103,38 @@ public final class ApplicationConfigCache {
      * @return the reference config
      */
     public ReferenceConfig<GenericService> initRef(final MetaData metaData) {
-        try {
-            ReferenceConfig<GenericService> referenceConfig = cache.get(metaData.getPath());
-            if (StringUtils.isNoneBlank(referenceConfig.getInterface())) {
-                return referenceConfig;
-            }
-        } catch (ExecutionException e) {
-            log.error("init dubbo ref ex:{}", e.getMessage());
+        ReferenceConfig<GenericService> referenceConfig = cache.get(metaData.getPath());
+        if (StringUtils.isNoneBlank(referenceConfig.getInterface())) {
+            return referenceConfig;
         }
         return build(metaData);
 
     }
 
+    /**
+     * Init ref reference config on the build executor, the build of the path in flight is shared, a failed build completes the future exceptionally.
+     *
+     * @param metaData the meta data
+     * @return the future of the reference config
+     */
+    public CompletableFuture<ReferenceConfig<GenericService>> initRefAsync(final MetaData metaData) {
+        ReferenceConfig<GenericService> referenceConfig = cache.getIfUsable(metaData.getPath(), config -> StringUtils.isNoneBlank(config.getInterface()));
+        if (Objects.nonNull(referenceConfig)) {
+            return CompletableFuture.completedFuture(referenceConfig);
+        }
+        return buildExecutor.submit(metaData.getPath(), () -> buildOrThrow(metaData));
+    }
+
+    /**
+     * Build reference config on the build executor, the requests of the path wait for this build.
+     *
+     * @param metaData the meta data
+     * @return the future of the reference config
+     */
+    public CompletableFuture<ReferenceConfig<GenericService>> buildAsync(final MetaData metaData) {
+        return buildExecutor.resubmit(metaData.getPath(), () -> buildOrThrow(metaData));
+    }
+
     /**
      * Build reference config.
      *
@@ -145,6 +142,25 @@ public final class ApplicationConfigCache {
      * @return the reference config
      */
     public ReferenceConfig<GenericService> build(final MetaData metaData) {
+        ReferenceConfig<GenericService> reference = newReference(metaData);
+        try {
+            refer(metaData, reference);
+        } catch (Exception e) {
+            log.error("init apache dubbo reference ex:{}", e.getMessage());
+        }
+        return reference;
+    }
+
+    private ReferenceConfig<GenericService> buildOrThrow(final MetaData metaData) {
+        try {
+            return refer(metaData, newReference(metaData));
+        } catch (RuntimeException e) {
+            log.error("init apache dubbo reference ex:{}", e.getMessage());
+            throw e;
+        }
+    }
+
+    private ReferenceConfig<GenericService> newReference(final MetaData metaData) {
         ReferenceConfig<GenericService> reference = new ReferenceConfig<>();
         reference.setGeneric("true");
         reference.setApplication(applicationConfig);
@@ -170,15 +186,21 @@ public final class ApplicationConfigCache {
             Optional.ofNullable(dubboParamExtInfo.getTimeout()).ifPresent(reference::setTimeout);
             Optional.ofNullable(dubboParamExtInfo.getRetries()).ifPresent(reference::setRetries);
         }
-        try {
-            Object obj = reference.get();
-            if (obj != null) {
-                log.info("init apache dubbo reference success there meteData is :{}", metaData);
-                cache.put(metaData.getPath(), reference);
-            }
-        } catch (Exception e) {
-            log.error("init apache dubbo reference ex:{}", e.getMessage());
+        return reference;
+    }
+
+    private ReferenceConfig<GenericService> refer(final MetaData metaData, final ReferenceConfig<GenericService> reference) {
+        final long start = System.nanoTime();
+        Object obj = reference.get();
+        if (Objects.isNull(obj)) {
+            throw new ShenyuException("init apache dubbo reference failed, the path is " + metaData.getPath());
+        }
+        log.info("init apache dubbo reference success there meteData is :{}", metaData);
+        // a build superseded by a later build of the path is not published
+        if (!buildExecutor.publish(metaData.getPath(), () -> cache.put(metaData.getPath(), reference))) {
+            cache.discard(reference);
         }
+        cache.recordBuild(start);
         return reference;
     }
 
@@ -200,11 +222,7 @@ public final class ApplicationConfigCache {
      * @return the reference config
      */
     public <T> ReferenceConfig<T> get(final String path) {
-        try {
-            return (ReferenceConfig<T>) cache.get(path);
-        } catch (ExecutionException e) {
-            throw new ShenyuException(e.getCause());
-        }
+        return (ReferenceConfig<T>) cache.get(path);
     }
 
     /**
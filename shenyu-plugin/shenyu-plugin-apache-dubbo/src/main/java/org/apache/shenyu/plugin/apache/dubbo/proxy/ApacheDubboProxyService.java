@@ -32,9 +32,11 @@ import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.ResultEnum;
 import org.apache.shenyu.common.utils.ParamCheckUtils;
+import org.apache.shenyu.plugin.api.param.BodyBuffer;
 import org.apache.shenyu.plugin.api.param.BodyParamResolveService;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -47,6 +49,8 @@ import static org.apache.dubbo.rpc.Constants.ASYNC_KEY;
 @Slf4j
 public class ApacheDubboProxyService {
 
+    private static final int MAX_EMPTY_BODY_SIZE = 4;
+
     private final BodyParamResolveService bodyParamResolveService;
 
     /**
@@ -61,29 +65,43 @@ public class ApacheDubboProxyService {
     /**
      * Generic invoker object.
      *
-     * @param body     the body
+     * @param body     the body string or the {@link BodyBuffer}
      * @param metaData the meta data
      * @param exchange the exchange
      * @return the object
      * @throws ShenyuException the shenyu exception
      */
-    public Mono<Object> genericInvoker(final String body, final MetaData metaData, final ServerWebExchange exchange) throws ShenyuException {
+    public Mono<Object> genericInvoker(final Object body, final MetaData metaData, final ServerWebExchange exchange) throws ShenyuException {
+        // a missing reference is built on the build executor, the request waits for it without blocking the event loop
+        CompletableFuture<ReferenceConfig<GenericService>> future = ApplicationConfigCache.getInstance().initRefAsync(metaData);
+        return awaitReference(future)
+                .flatMap(reference -> invoke(reference, body, metaData, exchange))
+                .onErrorMap(exception -> exception instanceof GenericException ? new ShenyuException(((GenericException) exception).getExceptionMessage()) : new ShenyuException(exception));
+    }
+
+    private Mono<ReferenceConfig<GenericService>> awaitReference(final CompletableFuture<ReferenceConfig<GenericService>> future) {
+        Mono<ReferenceConfig<GenericService>> reference = Mono.fromFuture(future);
+        if (future.isDone()) {
+            return reference;
+        }
+        // a build in flight completes on the build thread, the invoke runs on the parallel threads instead
+        return reference.publishOn(Schedulers.parallel());
+    }
+
+    private Mono<Object> invoke(final ReferenceConfig<GenericService> reference, final Object body, final MetaData metaData, final ServerWebExchange exchange) {
         // issue(https://github.com/dromara/shenyu/issues/471), add dubbo tag route
         String dubboTagRouteFromHttpHeaders = exchange.getRequest().getHeaders().getFirst(Constants.DUBBO_TAG_ROUTE);
         if (StringUtils.isNotBlank(dubboTagRouteFromHttpHeaders)) {
             RpcContext.getContext().setAttachment(CommonConstants.TAG_KEY, dubboTagRouteFromHttpHeaders);
         }
-        ReferenceConfig<GenericService> reference = ApplicationConfigCache.getInstance().get(metaData.getPath());
-        if (Objects.isNull(reference) || StringUtils.isEmpty(reference.getInterface())) {
-            ApplicationConfigCache.getInstance().invalidate(metaData.getPath());
-            reference = ApplicationConfigCache.getInstance().initRef(metaData);
-        }
         GenericService genericService = reference.get();
         Pair<String[], Object[]> pair;
-        if (StringUtils.isBlank(metaData.getParameterTypes()) || ParamCheckUtils.dubboBodyIsEmpty(body)) {
+        if (StringUtils.isBlank(metaData.getParameterTypes()) || isEmptyBody(body)) {
             pair = new ImmutablePair<>(new String[]{}, new Object[]{});
+        } else if (body instanceof BodyBuffer) {
+            pair = bodyParamResolveService.buildParameter((BodyBuffer) body, metaData.getParameterTypes());
         } else {
-            pair = bodyParamResolveService.buildParameter(body, metaData.getParameterTypes());
+            pair = bodyParamResolveService.buildParameter((String) body, metaData.getParameterTypes());
         }
         //Compatible with asynchronous calls of lower Dubbo versions
         RpcContext.getContext().setAttachment(ASYNC_KEY, Boolean.TRUE.toString());
@@ -104,6 +122,15 @@ public class ApacheDubboProxyService {
             exchange.getAttributes().put(Constants.RPC_RESULT, ret);
             exchange.getAttributes().put(Constants.CLIENT_RESPONSE_RESULT_TYPE, ResultEnum.SUCCESS.getName());
             return ret;
-        })).onErrorMap(exception -> exception instanceof GenericException ? new ShenyuException(((GenericException) exception).getExceptionMessage()) : new ShenyuException(exception));
+        }));
+    }
+
+    private static boolean isEmptyBody(final Object body) {
+        if (body instanceof BodyBuffer) {
+            BodyBuffer bodyBuffer = (BodyBuffer) body;
+            // only a few bytes long body can be one of the empty bodies
+            return bodyBuffer.size() <= MAX_EMPTY_BODY_SIZE && ParamCheckUtils.dubboBodyIsEmpty(bodyBuffer.asString());
+        }
+        return ParamCheckUtils.dubboBodyIsEmpty((String) body);
     }
 }
@@ -39,8 +39,8 @@ public class ApacheDubboMetaDataSubscriber implements MetaDataSubscriber {
         if (RpcTypeEnum.DUBBO.getName().equals(metaData.getRpcType())) {
             MetaData exist = META_DATA.get(metaData.getPath());
             if (Objects.isNull(exist) || Objects.isNull(ApplicationConfigCache.getInstance().get(metaData.getPath()))) {
-                // The first initialization
-                ApplicationConfigCache.getInstance().initRef(metaData);
+                // The first initialization, the reference is built off the sync thread
+                ApplicationConfigCache.getInstance().initRefAsync(metaData);
             } else {
                 // There are updates, which only support the update of four properties of serviceName rpcExt parameterTypes methodName,
                 // because these four properties will affect the call of Dubbo;
@@ -48,7 +48,7 @@ public class ApacheDubboMetaDataSubscriber implements MetaDataSubscriber {
                         || !Objects.equals(metaData.getRpcExt(), exist.getRpcExt())
                         || !Objects.equals(metaData.getParameterTypes(), exist.getParameterTypes())
                         || !Objects.equals(metaData.getMethodName(), exist.getMethodName())) {
-                    ApplicationConfigCache.getInstance().build(metaData);
+                    ApplicationConfigCache.getInstance().buildAsync(metaData);
                 }
             }
             META_DATA.put(metaData.getPath(), metaData);
@@ -17,11 +17,11 @@
 
 package org.apache.shenyu.plugin.apache.dubbo.subscriber;
 
-import com.google.common.cache.LoadingCache;
 import org.apache.dubbo.config.ReferenceConfig;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.apache.dubbo.cache.ApplicationConfigCache;
+import org.apache.shenyu.plugin.base.cache.RpcClientCache;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -63,7 +63,7 @@ public final class ApacheDubboMetaDataSubscriberTest {
         ApplicationConfigCache applicationConfigCache = ApplicationConfigCache.getInstance();
         Field field = ApplicationConfigCache.class.getDeclaredField("cache");
         field.setAccessible(true);
-        ((LoadingCache) field.get(applicationConfigCache)).put("/dubbo/findAll", referenceConfig);
+        ((RpcClientCache) field.get(applicationConfigCache)).put("/dubbo/findAll", referenceConfig);
         apacheDubboMetaDataSubscriber.onSubscribe(metaData);
         MetaData metaData = MetaData.builder()
                 .id("1332017966661636096")
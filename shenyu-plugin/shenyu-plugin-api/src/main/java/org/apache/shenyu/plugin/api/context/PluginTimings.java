@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.context;
+
+import java.util.Arrays;
+
+/**
+ * The time spent in each plugin of the chain of one request, in the order of the chain.
+ *
+ * <p>It is written by the thread which dispatches the chain, one hop after another, so it is not synchronized.
+ */
+public final class PluginTimings {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private String[] plugins = new String[INITIAL_CAPACITY];
+
+    private long[] nanos = new long[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * Record the time spent in the plugin.
+     *
+     * @param plugin the plugin name
+     * @param elapsedNanos the elapsed nanos
+     */
+    public void record(final String plugin, final long elapsedNanos) {
+        if (size == plugins.length) {
+            plugins = Arrays.copyOf(plugins, size << 1);
+            nanos = Arrays.copyOf(nanos, size << 1);
+        }
+        plugins[size] = plugin;
+        nanos[size] = elapsedNanos;
+        size++;
+    }
+
+    /**
+     * Get the number of the timed plugins.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the plugin name at the index.
+     *
+     * @param index the index
+     * @return the plugin name
+     */
+    public String getPlugin(final int index) {
+        return plugins[index];
+    }
+
+    /**
+     * Get the nanos spent in the plugin at the index.
+     *
+     * @param index the index
+     * @return the elapsed nanos
+     */
+    public long getNanos(final int index) {
+        return nanos[index];
+    }
+
+    /**
+     * Get the nanos spent in the plugin.
+     *
+     * @param plugin the plugin name
+     * @return the elapsed nanos, or -1 if the plugin is not timed
+     */
+    public long getNanos(final String plugin) {
+        for (int i = 0; i < size; i++) {
+            if (plugins[i].equals(plugin)) {
+                return nanos[i];
+            }
+        }
+        return -1L;
+    }
+}
@@ -18,9 +18,12 @@
 package org.apache.shenyu.plugin.api.context;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 /**
  * the shenyu context.
@@ -84,4 +87,28 @@ public class ShenyuContext implements Serializable {
      * startDateTime.
      */
     private LocalDateTime startDateTime;
+
+    /**
+     * the start time in nanos, it is only used to measure the elapsed time.
+     */
+    private long startNanoTime;
+
+    /**
+     * the time spent in each plugin of the chain, null unless the plugin timing is enabled.
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient PluginTimings pluginTimings;
+
+    /**
+     * Obtain the plugin timings, they are created on the first record so a request without timing allocates nothing.
+     *
+     * @return the plugin timings
+     */
+    public PluginTimings obtainPluginTimings() {
+        if (Objects.isNull(pluginTimings)) {
+            pluginTimings = new PluginTimings();
+        }
+        return pluginTimings;
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.context;
+
+/**
+ * The listener of the call to the selected upstream.
+ *
+ * <p>It is put into the exchange attributes under {@code Constants.UPSTREAM_CALL_LISTENER} by the plugin which selects the upstream,
+ * and notified by the client plugin around the actual call only, so the time spent in the other plugins of the chain is not counted.
+ * Exactly one of {@link #onSuccess()}, {@link #onError(Throwable)} and {@link #onCancel()} follows {@link #onStart()}.
+ */
+public interface UpstreamCallListener {
+
+    /**
+     * Called when the call to the upstream is started.
+     */
+    void onStart();
+
+    /**
+     * Called when the response of the upstream is received.
+     */
+    void onSuccess();
+
+    /**
+     * Called when the call to the upstream failed, e.g. it could not connect or it timed out.
+     *
+     * @param error the error of the call
+     */
+    void onError(Throwable error);
+
+    /**
+     * Called when the call to the upstream is cancelled before it finished.
+     */
+    void onCancel();
+}
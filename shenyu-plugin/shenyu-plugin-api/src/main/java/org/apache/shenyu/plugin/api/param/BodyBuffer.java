@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.param;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * The aggregated request body which the param transform plugin hands to the rpc plugins.
+ *
+ * <p>The bytes are kept in the retained buffer of the server, the body is decoded to a string only
+ * when a consumer asks for it. The buffer is released when the plugin chain is finished.
+ */
+public final class BodyBuffer {
+
+    private final DataBuffer buffer;
+
+    private String text;
+
+    /**
+     * Instantiates a new body buffer.
+     *
+     * @param buffer the aggregated buffer, it is owned by this body
+     */
+    public BodyBuffer(final DataBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Get the body size in bytes.
+     *
+     * @return the size
+     */
+    public int size() {
+        return buffer.readableByteCount();
+    }
+
+    /**
+     * Whether the body is empty or only holds whitespaces.
+     *
+     * @return true if the body is blank
+     */
+    public boolean isBlank() {
+        int start = buffer.readPosition();
+        int end = start + buffer.readableByteCount();
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(buffer.getByte(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the param transform attribute is blank.
+     *
+     * @param param the string or the body buffer
+     * @return true if the param is blank
+     */
+    public static boolean isBlank(final Object param) {
+        if (param instanceof BodyBuffer) {
+            return ((BodyBuffer) param).isBlank();
+        }
+        return StringUtils.isBlank((String) param);
+    }
+
+    /**
+     * Open a reader of the body, the bytes are decoded while they are read.
+     *
+     * @return the reader
+     */
+    public Reader newReader() {
+        DataBuffer view = buffer.slice(buffer.readPosition(), buffer.readableByteCount());
+        return new InputStreamReader(view.asInputStream(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decode the body, the decoded string is kept for the later calls.
+     *
+     * @return the body string
+     */
+    public String asString() {
+        if (Objects.isNull(text)) {
+            text = buffer.toString(buffer.readPosition(), buffer.readableByteCount(), StandardCharsets.UTF_8);
+        }
+        return text;
+    }
+
+    /**
+     * Get the body string of the param transform attribute.
+     *
+     * @param param the string or the body buffer
+     * @return the body string
+     */
+    public static String asString(final Object param) {
+        if (param instanceof BodyBuffer) {
+            return ((BodyBuffer) param).asString();
+        }
+        return (String) param;
+    }
+
+    /**
+     * Release the buffer.
+     */
+    public void release() {
+        DataBufferUtils.release(buffer);
+    }
+
+    @Override
+    public String toString() {
+        return asString();
+    }
+}
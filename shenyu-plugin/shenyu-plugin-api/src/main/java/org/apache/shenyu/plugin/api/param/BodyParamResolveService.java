@@ -34,4 +34,16 @@ public interface BodyParamResolveService {
      * @return the pair
      */
     Pair<String[], Object[]> buildParameter(String body, String parameterTypes);
+
+    /**
+     * Build parameter pair from the body bytes.
+     * The default implementation decodes the body to a string.
+     *
+     * @param body           the body buffer
+     * @param parameterTypes the parameter types
+     * @return the pair
+     */
+    default Pair<String[], Object[]> buildParameter(BodyBuffer body, String parameterTypes) {
+        return buildParameter(body.asString(), parameterTypes);
+    }
 }
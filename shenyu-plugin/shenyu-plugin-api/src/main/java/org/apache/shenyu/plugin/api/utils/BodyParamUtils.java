@@ -17,16 +17,7 @@
 
 package org.apache.shenyu.plugin.api.utils;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.shenyu.common.utils.GsonUtils;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Common rpc parameter builder utils.
@@ -41,18 +32,7 @@ public class BodyParamUtils {
      * @return the parameters.
      */
     public static Pair<String[], Object[]> buildSingleParameter(final String body, final String parameterTypes) {
-        final Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(body);
-        for (String key : paramMap.keySet()) {
-            Object obj = paramMap.get(key);
-            if (obj instanceof JsonObject) {
-                paramMap.put(key, GsonUtils.getInstance().convertToMap(obj.toString()));
-            } else if (obj instanceof JsonArray) {
-                paramMap.put(key, GsonUtils.getInstance().fromList(obj.toString(), Object.class));
-            } else {
-                paramMap.put(key, obj);
-            }
-        }
-        return new ImmutablePair<>(new String[]{parameterTypes}, new Object[]{paramMap});
+        return JsonParamBinder.bindSingle(body, parameterTypes);
     }
 
     /**
@@ -63,48 +43,6 @@ public class BodyParamUtils {
      * @return the parameters.
      */
     public static Pair<String[], Object[]> buildParameters(final String body, final String parameterTypes) {
-        List<String> paramNameList = new ArrayList<>();
-        List<String> paramTypeList = new ArrayList<>();
-
-        if (isNameMapping(parameterTypes)) {
-            Map<String, String> paramNameMap = GsonUtils.getInstance().toObjectMap(parameterTypes, String.class);
-            paramNameList.addAll(paramNameMap.keySet());
-            paramTypeList.addAll(paramNameMap.values());
-        } else {
-            Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(body);
-            paramNameList.addAll(paramMap.keySet());
-            paramTypeList.addAll(Arrays.asList(StringUtils.split(parameterTypes, ",")));
-        }
-
-        if (paramTypeList.size() == 1 && !isBaseType(paramTypeList.get(0))) {
-            return buildSingleParameter(body, parameterTypes);
-        }
-        Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(body);
-        Object[] objects = paramNameList.stream().map(key -> {
-            Object obj = paramMap.get(key);
-            if (obj instanceof JsonObject) {
-                return GsonUtils.getInstance().convertToMap(obj.toString());
-            } else if (obj instanceof JsonArray) {
-                return GsonUtils.getInstance().fromList(obj.toString(), Object.class);
-            } else {
-                return obj;
-            }
-        }).toArray();
-        String[] paramTypes = paramTypeList.toArray(new String[0]);
-        return new ImmutablePair<>(paramTypes, objects);
-    }
-
-    private static boolean isNameMapping(final String parameterTypes) {
-        return parameterTypes.startsWith("{") && parameterTypes.endsWith("}");
-    }
-
-    /**
-     * isBaseType.
-     *
-     * @param paramType the parameter type.
-     * @return whether the base type is.
-     */
-    private static boolean isBaseType(final String paramType) {
-        return paramType.startsWith("java") || paramType.startsWith("[Ljava");
+        return JsonParamBinder.bind(body, parameterTypes);
     }
 }
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.utils;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.common.utils.GsonUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The one pass binder of the json body to the generic rpc parameters.
+ *
+ * <p>The body is read once by a streaming reader into {@link LinkedHashMap}, {@link ArrayList}, {@link String},
+ * {@link Long}, {@link Double} and {@link Boolean} values, which the generic invocations take. The string values
+ * inside a nested object which hold a json object are bound as maps, as {@link GsonUtils#convertToMap(String)} does.
+ * The layout of the parameter types of a meta data is compiled once and cached.
+ */
+public final class JsonParamBinder {
+
+    private static final int MAX_CACHED_LAYOUTS = 4096;
+
+    private static final ConcurrentMap<String, ParameterLayout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private JsonParamBinder() {
+    }
+
+    /**
+     * Bind the body to the parameters of the types.
+     *
+     * @param body           the json body
+     * @param parameterTypes the comma separated types, or the json object of the parameter name to type
+     * @return the parameter types and values
+     */
+    public static Pair<String[], Object[]> bind(final String body, final String parameterTypes) {
+        return bind(new StringReader(body), parameterTypes);
+    }
+
+    /**
+     * Bind the body to the parameters of the types.
+     *
+     * @param body           the json body reader
+     * @param parameterTypes the comma separated types, or the json object of the parameter name to type
+     * @return the parameter types and values
+     */
+    public static Pair<String[], Object[]> bind(final Reader body, final String parameterTypes) {
+        ParameterLayout layout = obtainLayout(parameterTypes);
+        try (JsonReader reader = newReader(body)) {
+            return layout.bind(reader);
+        } catch (IOException e) {
+            throw new ShenyuException(e);
+        }
+    }
+
+    /**
+     * Bind the whole body to one parameter.
+     *
+     * @param body          the json body
+     * @param parameterType the parameter type
+     * @return the parameter type and value
+     */
+    public static Pair<String[], Object[]> bindSingle(final String body, final String parameterType) {
+        return new ImmutablePair<>(new String[]{parameterType}, new Object[]{toObjectMap(body)});
+    }
+
+    /**
+     * Read the body as the map of the parameter name to value.
+     *
+     * @param body the json body
+     * @return the map
+     */
+    public static Map<String, Object> toObjectMap(final String body) {
+        try (JsonReader reader = newReader(new StringReader(body))) {
+            return readBody(reader);
+        } catch (IOException e) {
+            throw new ShenyuException(e);
+        }
+    }
+
+    /**
+     * Read the body as {@link GsonUtils#convertToMap(String)} does, json object strings are bound as maps at every level.
+     *
+     * @param body the json body
+     * @return the map
+     */
+    public static Map<String, Object> convertToMap(final String body) {
+        try (JsonReader reader = newReader(new StringReader(body))) {
+            return readObject(reader, true);
+        } catch (IOException e) {
+            throw new ShenyuException(e);
+        }
+    }
+
+    private static ParameterLayout obtainLayout(final String parameterTypes) {
+        ParameterLayout layout = LAYOUTS.get(parameterTypes);
+        if (Objects.nonNull(layout)) {
+            return layout;
+        }
+        layout = new ParameterLayout(parameterTypes);
+        if (LAYOUTS.size() < MAX_CACHED_LAYOUTS) {
+            LAYOUTS.putIfAbsent(parameterTypes, layout);
+        }
+        return layout;
+    }
+
+    private static JsonReader newReader(final Reader body) {
+        JsonReader reader = new JsonReader(body);
+        // the same as Gson#fromJson
+        reader.setLenient(true);
+        return reader;
+    }
+
+    private static Map<String, Object> readBody(final JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new ShenyuException("the rpc parameters must be a json object");
+        }
+        return readObject(reader, false);
+    }
+
+    private static Map<String, Object> readObject(final JsonReader reader, final boolean nested) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            map.put(reader.nextName(), readValue(reader, nested));
+        }
+        reader.endObject();
+        return map;
+    }
+
+    private static List<Object> readArray(final JsonReader reader, final boolean nested) throws IOException {
+        List<Object> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(readValue(reader, nested));
+        }
+        reader.endArray();
+        return list;
+    }
+
+    private static Object readValue(final JsonReader reader, final boolean nested) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readObject(reader, true);
+            case BEGIN_ARRAY:
+                return readArray(reader, nested);
+            case STRING:
+                String value = reader.nextString();
+                return nested ? expandObject(value) : value;
+            case NUMBER:
+                return toNumber(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    private static Object expandObject(final String value) throws IOException {
+        String trimmed = value.trim();
+        if (!trimmed.startsWith("{") || !trimmed.endsWith("}")) {
+            return value;
+        }
+        try (JsonReader reader = newReader(new StringReader(trimmed))) {
+            return readObject(reader, true);
+        }
+    }
+
+    private static Object toNumber(final String number) {
+        if (number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0) {
+            return Double.valueOf(number);
+        }
+        try {
+            return Long.valueOf(number);
+        } catch (NumberFormatException e) {
+            return Double.valueOf(number);
+        }
+    }
+
+    private static boolean isBaseType(final String paramType) {
+        return paramType.startsWith("java") || paramType.startsWith("[Ljava");
+    }
+
+    /**
+     * The compiled parameter types of a meta data.
+     */
+    private static final class ParameterLayout {
+
+        private final String[] types;
+
+        /**
+         * parameter name -> position, null when the parameters are the values of the body in order.
+         */
+        private final Map<String, Integer> positions;
+
+        private final boolean single;
+
+        ParameterLayout(final String parameterTypes) {
+            if (parameterTypes.startsWith("{") && parameterTypes.endsWith("}")) {
+                Map<String, String> nameTypes = GsonUtils.getInstance().toObjectMap(parameterTypes, String.class);
+                this.types = nameTypes.values().toArray(new String[0]);
+                this.positions = new HashMap<>(nameTypes.size() << 1);
+                for (String name : nameTypes.keySet()) {
+                    positions.put(name, positions.size());
+                }
+            } else {
+                this.types = StringUtils.split(parameterTypes, ",");
+                this.positions = null;
+            }
+            this.single = types.length == 1 && !isBaseType(types[0]);
+        }
+
+        private Pair<String[], Object[]> bind(final JsonReader reader) throws IOException {
+            if (single) {
+                return new ImmutablePair<>(types.clone(), new Object[]{readBody(reader)});
+            }
+            if (Objects.isNull(positions)) {
+                return new ImmutablePair<>(types.clone(), readBody(reader).values().toArray());
+            }
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new ShenyuException("the rpc parameters must be a json object");
+            }
+            Object[] values = new Object[types.length];
+            reader.beginObject();
+            while (reader.hasNext()) {
+                Integer position = positions.get(reader.nextName());
+                if (Objects.isNull(position)) {
+                    reader.skipValue();
+                } else {
+                    values[position] = readValue(reader, false);
+                }
+            }
+            reader.endObject();
+            return new ImmutablePair<>(types.clone(), values);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.api.utils.JsonParamBinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the {@link JsonParamBinder} with binding the body through the gson object tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonParamBinderBenchmark {
+
+    @Param({"4", "32"})
+    private int fieldCount;
+
+    private String body;
+
+    private String parameterTypes;
+
+    /**
+     * Build the body, every field is an object with a nested array.
+     */
+    @Setup
+    public void setup() {
+        StringBuilder bodyBuilder = new StringBuilder("{");
+        StringBuilder typesBuilder = new StringBuilder();
+        for (int i = 0; i < fieldCount; i++) {
+            if (i > 0) {
+                bodyBuilder.append(',');
+                typesBuilder.append(',');
+            }
+            bodyBuilder.append("\"param").append(i).append("\":{\"id\":").append(i)
+                    .append(",\"name\":\"shenyu\",\"price\":1.5,\"tags\":[\"a\",\"b\"]}");
+            typesBuilder.append("java.util.Map");
+        }
+        body = bodyBuilder.append('}').toString();
+        parameterTypes = typesBuilder.toString();
+    }
+
+    /**
+     * Bind by the streaming binder.
+     *
+     * @return the values
+     */
+    @Benchmark
+    public Object[] streaming() {
+        return JsonParamBinder.bind(body, parameterTypes).getRight();
+    }
+
+    /**
+     * Bind by the gson object tree, every object is serialized and parsed again.
+     *
+     * @return the values
+     */
+    @Benchmark
+    public Object[] gsonTree() {
+        Map<String, Object> paramMap = GsonUtils.getInstance().toObjectMap(body);
+        StringUtils.split(parameterTypes, ",");
+        return paramMap.values().stream().map(obj -> {
+            if (obj instanceof JsonObject) {
+                return GsonUtils.getInstance().convertToMap(obj.toString());
+            } else if (obj instanceof JsonArray) {
+                return GsonUtils.getInstance().fromList(obj.toString(), Object.class);
+            }
+            return obj;
+        }).toArray();
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonParamBinderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.param;
+
+import org.junit.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for BodyBuffer.
+ */
+public final class BodyBufferTest {
+
+    private static final DefaultDataBufferFactory FACTORY = new DefaultDataBufferFactory();
+
+    @Test
+    public void testAsString() throws IOException {
+        String json = "{\"name\":\"神禹\"}";
+        BodyBuffer body = new BodyBuffer(FACTORY.wrap(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(json.getBytes(StandardCharsets.UTF_8).length, body.size());
+        StringBuilder read = new StringBuilder();
+        try (Reader reader = body.newReader()) {
+            char[] chars = new char[4];
+            int length = reader.read(chars);
+            while (length > 0) {
+                read.append(chars, 0, length);
+                length = reader.read(chars);
+            }
+        }
+        assertEquals(json, read.toString());
+        assertEquals(json, body.asString());
+        assertEquals(json, BodyBuffer.asString(body));
+        assertEquals(json, BodyBuffer.asString(json));
+    }
+
+    @Test
+    public void testIsBlank() {
+        assertTrue(BodyBuffer.isBlank(new BodyBuffer(FACTORY.wrap(" \r\n".getBytes(StandardCharsets.UTF_8)))));
+        assertFalse(BodyBuffer.isBlank(new BodyBuffer(FACTORY.wrap(" {}".getBytes(StandardCharsets.UTF_8)))));
+        assertTrue(BodyBuffer.isBlank(null));
+        assertFalse(BodyBuffer.isBlank("{}"));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.api.utils;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test cases for JsonParamBinder.
+ */
+public final class JsonParamBinderTest {
+
+    private static final String BODY = "{\"id\":1,\"name\":\"shenyu\",\"price\":1.5,\"enabled\":true,\"tags\":[\"a\",2],"
+            + "\"user\":{\"age\":18,\"extra\":\"{\\\"level\\\":3}\",\"roles\":[{\"code\":\"admin\"}]},\"none\":null}";
+
+    @Test
+    public void testBindInBodyOrder() {
+        Pair<String[], Object[]> pair = JsonParamBinder.bind("{\"id\":1,\"name\":\"shenyu\",\"price\":1.5}",
+                "java.lang.Long,java.lang.String,java.lang.Double");
+        assertArrayEquals(new String[]{"java.lang.Long", "java.lang.String", "java.lang.Double"}, pair.getLeft());
+        assertArrayEquals(new Object[]{1L, "shenyu", 1.5D}, pair.getRight());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBindNameMapping() {
+        Pair<String[], Object[]> pair = JsonParamBinder.bind(BODY,
+                "{\"user\":\"org.apache.shenyu.User\",\"tags\":\"java.util.List\",\"missing\":\"java.lang.String\"}");
+        assertArrayEquals(new String[]{"org.apache.shenyu.User", "java.util.List", "java.lang.String"}, pair.getLeft());
+        Map<String, Object> user = (Map<String, Object>) pair.getRight()[0];
+        assertEquals(18L, user.get("age"));
+        assertEquals(Collections.singletonMap("level", 3L), user.get("extra"));
+        assertEquals(Collections.singletonList(Collections.singletonMap("code", "admin")), user.get("roles"));
+        assertEquals(Arrays.asList("a", 2L), pair.getRight()[1]);
+        assertNull(pair.getRight()[2]);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBindSingleObject() {
+        Pair<String[], Object[]> pair = JsonParamBinder.bind(BODY, "org.apache.shenyu.User");
+        assertArrayEquals(new String[]{"org.apache.shenyu.User"}, pair.getLeft());
+        Map<String, Object> param = (Map<String, Object>) pair.getRight()[0];
+        assertEquals(Arrays.asList("id", "name", "price", "enabled", "tags", "user", "none"), Arrays.asList(param.keySet().toArray()));
+        assertEquals(true, param.get("enabled"));
+        assertNull(param.get("none"));
+        assertEquals(pair.getRight()[0], JsonParamBinder.bindSingle(BODY, "org.apache.shenyu.User").getRight()[0]);
+    }
+
+    @Test
+    public void testConvertToMap() {
+        Map<String, Object> map = JsonParamBinder.convertToMap("{\"id\":\"1\",\"user\":\" {\\\"age\\\":18} \",\"big\":12345678901234567890}");
+        assertEquals("1", map.get("id"));
+        assertEquals(Collections.singletonMap("age", 18L), map.get("user"));
+        assertEquals(1.2345678901234567E19D, map.get("big"));
+    }
+
+    @Test(expected = ShenyuException.class)
+    public void testBindNotObject() {
+        JsonParamBinder.bind("[1,2]", "java.lang.Integer,java.lang.Integer");
+    }
+}
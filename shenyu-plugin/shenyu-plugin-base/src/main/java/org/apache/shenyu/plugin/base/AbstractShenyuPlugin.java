@@ -27,6 +27,8 @@ import org.apache.shenyu.common.enums.SelectorTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.BaseDataSnapshot;
+import org.apache.shenyu.plugin.base.cache.MatchDataIndex;
 import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
@@ -64,18 +66,19 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
     @Override
     public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
         String pluginName = named();
-        PluginData pluginData = BaseDataCache.getInstance().obtainPluginData(pluginName);
+        BaseDataSnapshot snapshot = BaseDataCache.getInstance().obtainSnapshot();
+        PluginData pluginData = snapshot.obtainPluginData(pluginName);
         if (pluginData != null && pluginData.getEnabled()) {
-            final Collection<SelectorData> selectors = BaseDataCache.getInstance().obtainSelectorData(pluginName);
+            final Collection<SelectorData> selectors = snapshot.obtainSelectorData(pluginName);
             if (CollectionUtils.isEmpty(selectors)) {
                 return handleSelectorIfNull(pluginName, exchange, chain);
             }
-            SelectorData selectorData = matchSelector(exchange, selectors);
+            SelectorData selectorData = matchSelector(exchange, snapshot, pluginName);
             if (Objects.isNull(selectorData)) {
                 return handleSelectorIfNull(pluginName, exchange, chain);
             }
             selectorLog(selectorData, pluginName);
-            List<RuleData> rules = BaseDataCache.getInstance().obtainRuleData(selectorData.getId());
+            List<RuleData> rules = snapshot.obtainRuleData(selectorData.getId());
             if (CollectionUtils.isEmpty(rules)) {
                 return handleRuleIfNull(pluginName, exchange, chain);
             }
@@ -84,7 +87,7 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
                 //get last
                 rule = rules.get(rules.size() - 1);
             } else {
-                rule = matchRule(exchange, rules);
+                rule = matchRule(exchange, snapshot, selectorData.getId());
             }
             if (Objects.isNull(rule)) {
                 return handleRuleIfNull(pluginName, exchange, chain);
@@ -103,10 +106,12 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         return chain.execute(exchange);
     }
 
-    private SelectorData matchSelector(final ServerWebExchange exchange, final Collection<SelectorData> selectors) {
-        return selectors.stream()
-                .filter(selector -> selector.getEnabled() && filterSelector(selector, exchange))
-                .findFirst().orElse(null);
+    private SelectorData matchSelector(final ServerWebExchange exchange, final BaseDataSnapshot snapshot, final String pluginName) {
+        MatchDataIndex<SelectorData> index = snapshot.obtainSelectorIndex(pluginName);
+        if (Objects.isNull(index)) {
+            return null;
+        }
+        return index.match(exchange, (selector, serverWebExchange) -> selector.getEnabled() && filterSelector(selector, serverWebExchange));
     }
 
     private Boolean filterSelector(final SelectorData selector, final ServerWebExchange exchange) {
@@ -119,8 +124,12 @@ public abstract class AbstractShenyuPlugin implements ShenyuPlugin {
         return true;
     }
 
-    private RuleData matchRule(final ServerWebExchange exchange, final Collection<RuleData> rules) {
-        return rules.stream().filter(rule -> filterRule(rule, exchange)).findFirst().orElse(null);
+    private RuleData matchRule(final ServerWebExchange exchange, final BaseDataSnapshot snapshot, final String selectorId) {
+        MatchDataIndex<RuleData> index = snapshot.obtainRuleIndex(selectorId);
+        if (Objects.isNull(index)) {
+            return null;
+        }
+        return index.match(exchange, this::filterRule);
     }
 
     private Boolean filterRule(final RuleData ruleData, final ServerWebExchange exchange) {
@@ -24,6 +24,8 @@ import org.apache.shenyu.common.utils.HttpParamConverter;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.api.param.BodyBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.HttpMessageReader;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -43,11 +45,30 @@ public class ParamTransformPlugin implements ShenyuPlugin {
 
     private final List<HttpMessageReader<?>> messageReaders;
 
+    private final boolean bodyBufferEnabled;
+
+    private final int maxBodySize;
+
     /**
      * Instantiates a new param transform plugin.
      */
     public ParamTransformPlugin() {
         this.messageReaders = HandlerStrategies.withDefaults().messageReaders();
+        this.bodyBufferEnabled = false;
+        this.maxBodySize = -1;
+    }
+
+    /**
+     * Instantiates a new param transform plugin.
+     *
+     * @param bodyBufferEnabled whether the json body is handed over as a {@link BodyBuffer} instead of a string
+     * @param maxBodySize       the max size in bytes of the aggregated json body, -1 means unlimited
+     */
+    public ParamTransformPlugin(final boolean bodyBufferEnabled, final int maxBodySize) {
+        this.messageReaders = HandlerStrategies.builder()
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxBodySize)).build().messageReaders();
+        this.bodyBufferEnabled = bodyBufferEnabled;
+        this.maxBodySize = maxBodySize;
     }
 
     @Override
@@ -58,7 +79,7 @@ public class ParamTransformPlugin implements ShenyuPlugin {
             MediaType mediaType = request.getHeaders().getContentType();
             ServerRequest serverRequest = ServerRequest.create(exchange, messageReaders);
             if (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)) {
-                return body(exchange, serverRequest, chain);
+                return bodyBufferEnabled ? bodyBuffer(exchange, chain) : body(exchange, serverRequest, chain);
             }
             if (MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(mediaType)) {
                 return formData(exchange, serverRequest, chain);
@@ -87,6 +108,16 @@ public class ParamTransformPlugin implements ShenyuPlugin {
                 });
     }
     
+    private Mono<Void> bodyBuffer(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+        return DataBufferUtils.join(exchange.getRequest().getBody(), maxBodySize)
+                .switchIfEmpty(Mono.fromSupplier(() -> exchange.getResponse().bufferFactory().wrap(new byte[0])))
+                .flatMap(buffer -> {
+                    BodyBuffer body = new BodyBuffer(buffer);
+                    exchange.getAttributes().put(Constants.PARAM_TRANSFORM, body);
+                    return chain.execute(exchange).doFinally(signal -> body.release());
+                });
+    }
+
     private Mono<Void> formData(final ServerWebExchange exchange, final ServerRequest serverRequest, final ShenyuPluginChain chain) {
         return serverRequest.formData()
                 .switchIfEmpty(Mono.defer(() -> Mono.just(new LinkedMultiValueMap<>())))
@@ -17,39 +17,27 @@
 
 package org.apache.shenyu.plugin.base.cache;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentMap;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * The type Base data cache.
+ *
+ * <p>Request threads read an immutable {@link BaseDataSnapshot}, the sync threads build the next snapshot
+ * off to the side and publish it with one volatile write.
  */
 public final class BaseDataCache {
 
     private static final BaseDataCache INSTANCE = new BaseDataCache();
 
-    /**
-     * pluginName -> PluginData.
-     */
-    private static final ConcurrentMap<String, PluginData> PLUGIN_MAP = Maps.newConcurrentMap();
-
-    /**
-     * pluginName -> SelectorData.
-     */
-    private static final ConcurrentMap<String, List<SelectorData>> SELECTOR_MAP = Maps.newConcurrentMap();
+    private final Object writeLock = new Object();
 
-    /**
-     * selectorId -> RuleData.
-     */
-    private static final ConcurrentMap<String, List<RuleData>> RULE_MAP = Maps.newConcurrentMap();
+    private volatile BaseDataSnapshot snapshot = BaseDataSnapshot.EMPTY;
 
     private BaseDataCache() {
     }
@@ -63,13 +51,35 @@ public final class BaseDataCache {
         return INSTANCE;
     }
 
+    /**
+     * Obtain the current snapshot, a request should read all its data from one snapshot.
+     *
+     * @return the snapshot
+     */
+    public BaseDataSnapshot obtainSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Apply the changes as one batch, the request threads see all of them or none of them.
+     *
+     * @param changes the changes on the builder of the next snapshot
+     */
+    public void applyBatch(final Consumer<BaseDataSnapshot.Builder> changes) {
+        synchronized (writeLock) {
+            BaseDataSnapshot.Builder builder = snapshot.toBuilder();
+            changes.accept(builder);
+            snapshot = builder.build();
+        }
+    }
+
     /**
      * Cache plugin data.
      *
      * @param pluginData the plugin data
      */
     public void cachePluginData(final PluginData pluginData) {
-        Optional.ofNullable(pluginData).ifPresent(data -> PLUGIN_MAP.put(data.getName(), data));
+        Optional.ofNullable(pluginData).ifPresent(data -> applyBatch(builder -> builder.putPlugin(data)));
     }
 
     /**
@@ -78,14 +88,14 @@ public final class BaseDataCache {
      * @param pluginData the plugin data
      */
     public void removePluginData(final PluginData pluginData) {
-        Optional.ofNullable(pluginData).ifPresent(data -> PLUGIN_MAP.remove(data.getName()));
+        Optional.ofNullable(pluginData).ifPresent(data -> applyBatch(builder -> builder.removePlugin(data)));
     }
 
     /**
      * Clean plugin data.
      */
     public void cleanPluginData() {
-        PLUGIN_MAP.clear();
+        applyBatch(BaseDataSnapshot.Builder::clearPlugins);
     }
 
     /**
@@ -94,7 +104,7 @@ public final class BaseDataCache {
      * @param pluginDataList the plugin data list
      */
     public void cleanPluginDataSelf(final List<PluginData> pluginDataList) {
-        pluginDataList.forEach(this::removePluginData);
+        applyBatch(builder -> pluginDataList.forEach(builder::removePlugin));
     }
 
     /**
@@ -104,7 +114,7 @@ public final class BaseDataCache {
      * @return the plugin data
      */
     public PluginData obtainPluginData(final String pluginName) {
-        return PLUGIN_MAP.get(pluginName);
+        return snapshot.obtainPluginData(pluginName);
     }
 
     /**
@@ -113,7 +123,7 @@ public final class BaseDataCache {
      * @param selectorData the selector data
      */
     public void cacheSelectData(final SelectorData selectorData) {
-        Optional.ofNullable(selectorData).ifPresent(this::selectorAccept);
+        Optional.ofNullable(selectorData).ifPresent(data -> applyBatch(builder -> builder.putSelector(data)));
     }
 
     /**
@@ -122,17 +132,14 @@ public final class BaseDataCache {
      * @param selectorData the selector data
      */
     public void removeSelectData(final SelectorData selectorData) {
-        Optional.ofNullable(selectorData).ifPresent(data -> {
-            final List<SelectorData> selectorDataList = SELECTOR_MAP.get(data.getPluginName());
-            Optional.ofNullable(selectorDataList).ifPresent(list -> list.removeIf(e -> e.getId().equals(data.getId())));
-        });
+        Optional.ofNullable(selectorData).ifPresent(data -> applyBatch(builder -> builder.removeSelector(data)));
     }
 
     /**
      * Clean selector data.
      */
     public void cleanSelectorData() {
-        SELECTOR_MAP.clear();
+        applyBatch(BaseDataSnapshot.Builder::clearSelectors);
     }
 
     /**
@@ -141,7 +148,7 @@ public final class BaseDataCache {
      * @param selectorDataList the selector data list
      */
     public void cleanSelectorDataSelf(final List<SelectorData> selectorDataList) {
-        selectorDataList.forEach(this::removeSelectData);
+        applyBatch(builder -> selectorDataList.forEach(builder::removeSelector));
     }
 
     /**
@@ -151,7 +158,7 @@ public final class BaseDataCache {
      * @return the list
      */
     public List<SelectorData> obtainSelectorData(final String pluginName) {
-        return SELECTOR_MAP.get(pluginName);
+        return snapshot.obtainSelectorData(pluginName);
     }
 
     /**
@@ -160,7 +167,7 @@ public final class BaseDataCache {
      * @param ruleData the rule data
      */
     public void cacheRuleData(final RuleData ruleData) {
-        Optional.ofNullable(ruleData).ifPresent(this::ruleAccept);
+        Optional.ofNullable(ruleData).ifPresent(data -> applyBatch(builder -> builder.putRule(data)));
     }
 
     /**
@@ -169,17 +176,14 @@ public final class BaseDataCache {
      * @param ruleData the rule data
      */
     public void removeRuleData(final RuleData ruleData) {
-        Optional.ofNullable(ruleData).ifPresent(data -> {
-            final List<RuleData> ruleDataList = RULE_MAP.get(data.getSelectorId());
-            Optional.ofNullable(ruleDataList).ifPresent(list -> list.removeIf(rule -> rule.getId().equals(data.getId())));
-        });
+        Optional.ofNullable(ruleData).ifPresent(data -> applyBatch(builder -> builder.removeRule(data)));
     }
 
     /**
      * Clean rule data.
      */
     public void cleanRuleData() {
-        RULE_MAP.clear();
+        applyBatch(BaseDataSnapshot.Builder::clearRules);
     }
 
     /**
@@ -188,7 +192,7 @@ public final class BaseDataCache {
      * @param ruleDataList the rule data list
      */
     public void cleanRuleDataSelf(final List<RuleData> ruleDataList) {
-        ruleDataList.forEach(this::removeRuleData);
+        applyBatch(builder -> ruleDataList.forEach(builder::removeRule));
     }
 
     /**
@@ -198,46 +202,6 @@ public final class BaseDataCache {
      * @return the list
      */
     public List<RuleData> obtainRuleData(final String selectorId) {
-        return RULE_MAP.get(selectorId);
-    }
-
-    /**
-     *  cache rule data.
-     *
-     * @param data the rule data
-     */
-    private void ruleAccept(final RuleData data) {
-        String selectorId = data.getSelectorId();
-        synchronized (RULE_MAP) {
-            if (RULE_MAP.containsKey(selectorId)) {
-                List<RuleData> existList = RULE_MAP.get(selectorId);
-                final List<RuleData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
-                resultList.add(data);
-                final List<RuleData> collect = resultList.stream().sorted(Comparator.comparing(RuleData::getSort)).collect(Collectors.toList());
-                RULE_MAP.put(selectorId, collect);
-            } else {
-                RULE_MAP.put(selectorId, Lists.newArrayList(data));
-            }
-        }
-    }
-
-    /**
-     * cache selector data.
-     *
-     * @param data the selector data
-     */
-    private void selectorAccept(final SelectorData data) {
-        String key = data.getPluginName();
-        synchronized (SELECTOR_MAP) {
-            if (SELECTOR_MAP.containsKey(key)) {
-                List<SelectorData> existList = SELECTOR_MAP.get(key);
-                final List<SelectorData> resultList = existList.stream().filter(r -> !r.getId().equals(data.getId())).collect(Collectors.toList());
-                resultList.add(data);
-                final List<SelectorData> collect = resultList.stream().sorted(Comparator.comparing(SelectorData::getSort)).collect(Collectors.toList());
-                SELECTOR_MAP.put(key, collect);
-            } else {
-                SELECTOR_MAP.put(key, Lists.newArrayList(data));
-            }
-        }
+        return snapshot.obtainRuleData(selectorId);
     }
 }
@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The immutable snapshot of plugins, selectors and rules.
+ *
+ * <p>A snapshot is never changed after it is published, changes are collected by a {@link Builder}
+ * and published as a new snapshot. The compiled match indexes are built with the snapshot, the maps,
+ * lists and indexes which are not touched by the changes are shared between snapshots.
+ */
+public final class BaseDataSnapshot {
+
+    /**
+     * The empty snapshot.
+     */
+    public static final BaseDataSnapshot EMPTY = new BaseDataSnapshot(0L, Collections.emptyMap(), Collections.emptyMap(),
+            Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private static final Comparator<SelectorData> SELECTOR_COMPARATOR = Comparator.comparing(SelectorData::getSort, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Comparator<RuleData> RULE_COMPARATOR = Comparator.comparing(RuleData::getSort, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final long version;
+
+    /**
+     * pluginName -> PluginData.
+     */
+    private final Map<String, PluginData> plugins;
+
+    /**
+     * pluginName -> SelectorData.
+     */
+    private final Map<String, List<SelectorData>> selectors;
+
+    /**
+     * pluginName -> compiled index of SelectorData.
+     */
+    private final Map<String, MatchDataIndex<SelectorData>> selectorIndexes;
+
+    /**
+     * selectorId -> RuleData.
+     */
+    private final Map<String, List<RuleData>> rules;
+
+    /**
+     * selectorId -> compiled index of RuleData.
+     */
+    private final Map<String, MatchDataIndex<RuleData>> ruleIndexes;
+
+    private BaseDataSnapshot(final long version, final Map<String, PluginData> plugins,
+                             final Map<String, List<SelectorData>> selectors, final Map<String, MatchDataIndex<SelectorData>> selectorIndexes,
+                             final Map<String, List<RuleData>> rules, final Map<String, MatchDataIndex<RuleData>> ruleIndexes) {
+        this.version = version;
+        this.plugins = plugins;
+        this.selectors = selectors;
+        this.selectorIndexes = selectorIndexes;
+        this.rules = rules;
+        this.ruleIndexes = ruleIndexes;
+    }
+
+    /**
+     * Get the version, it increases by one for every published snapshot.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtain plugin data.
+     *
+     * @param pluginName the plugin name
+     * @return the plugin data
+     */
+    public PluginData obtainPluginData(final String pluginName) {
+        return plugins.get(pluginName);
+    }
+
+    /**
+     * Obtain the sorted selectors of the plugin.
+     *
+     * @param pluginName the plugin name
+     * @return the unmodifiable list
+     */
+    public List<SelectorData> obtainSelectorData(final String pluginName) {
+        return selectors.get(pluginName);
+    }
+
+    /**
+     * Obtain the compiled match index of the selectors of the plugin.
+     *
+     * @param pluginName the plugin name
+     * @return the selector index, or null if the plugin has no selector
+     */
+    public MatchDataIndex<SelectorData> obtainSelectorIndex(final String pluginName) {
+        return selectorIndexes.get(pluginName);
+    }
+
+    /**
+     * Obtain the sorted rules of the selector.
+     *
+     * @param selectorId the selector id
+     * @return the unmodifiable list
+     */
+    public List<RuleData> obtainRuleData(final String selectorId) {
+        return rules.get(selectorId);
+    }
+
+    /**
+     * Obtain the compiled match index of the rules of the selector.
+     *
+     * @param selectorId the selector id
+     * @return the rule index, or null if the selector has no rule
+     */
+    public MatchDataIndex<RuleData> obtainRuleIndex(final String selectorId) {
+        return ruleIndexes.get(selectorId);
+    }
+
+    /**
+     * Start collecting changes on top of this snapshot.
+     *
+     * @return the builder
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * The builder of the next snapshot, it is not thread safe and builds one snapshot for one sync thread.
+     *
+     * <p>A map of the base snapshot is only copied when it is changed.
+     */
+    public static final class Builder {
+
+        private final BaseDataSnapshot base;
+
+        private Map<String, PluginData> plugins;
+
+        private Map<String, List<SelectorData>> selectors;
+
+        private Map<String, List<RuleData>> rules;
+
+        private final Map<String, Map<String, SelectorData>> changedSelectors = new HashMap<>();
+
+        private final Map<String, Map<String, RuleData>> changedRules = new HashMap<>();
+
+        private Builder(final BaseDataSnapshot base) {
+            this.base = base;
+        }
+
+        /**
+         * Put plugin data.
+         *
+         * @param pluginData the plugin data
+         * @return this builder
+         */
+        public Builder putPlugin(final PluginData pluginData) {
+            mutablePlugins().put(pluginData.getName(), pluginData);
+            return this;
+        }
+
+        /**
+         * Remove plugin data.
+         *
+         * @param pluginData the plugin data
+         * @return this builder
+         */
+        public Builder removePlugin(final PluginData pluginData) {
+            if (currentPlugins().containsKey(pluginData.getName())) {
+                mutablePlugins().remove(pluginData.getName());
+            }
+            return this;
+        }
+
+        /**
+         * Remove all plugin data.
+         *
+         * @return this builder
+         */
+        public Builder clearPlugins() {
+            plugins = new HashMap<>();
+            return this;
+        }
+
+        /**
+         * Put selector data, the old one with the same id is replaced.
+         *
+         * @param selectorData the selector data
+         * @return this builder
+         */
+        public Builder putSelector(final SelectorData selectorData) {
+            Map<String, SelectorData> changed = changedSelectors.computeIfAbsent(selectorData.getPluginName(),
+                key -> toChangeMap(currentSelectors().get(key), SelectorData::getId));
+            changed.remove(selectorData.getId());
+            changed.put(selectorData.getId(), selectorData);
+            return this;
+        }
+
+        /**
+         * Remove selector data.
+         *
+         * @param selectorData the selector data
+         * @return this builder
+         */
+        public Builder removeSelector(final SelectorData selectorData) {
+            String pluginName = selectorData.getPluginName();
+            if (changedSelectors.containsKey(pluginName) || currentSelectors().containsKey(pluginName)) {
+                changedSelectors.computeIfAbsent(pluginName, key -> toChangeMap(currentSelectors().get(key), SelectorData::getId)).remove(selectorData.getId());
+            }
+            return this;
+        }
+
+        /**
+         * Remove all selector data.
+         *
+         * @return this builder
+         */
+        public Builder clearSelectors() {
+            selectors = new HashMap<>();
+            changedSelectors.clear();
+            return this;
+        }
+
+        /**
+         * Put rule data, the old one with the same id is replaced.
+         *
+         * @param ruleData the rule data
+         * @return this builder
+         */
+        public Builder putRule(final RuleData ruleData) {
+            Map<String, RuleData> changed = changedRules.computeIfAbsent(ruleData.getSelectorId(),
+                key -> toChangeMap(currentRules().get(key), RuleData::getId));
+            changed.remove(ruleData.getId());
+            changed.put(ruleData.getId(), ruleData);
+            return this;
+        }
+
+        /**
+         * Remove rule data.
+         *
+         * @param ruleData the rule data
+         * @return this builder
+         */
+        public Builder removeRule(final RuleData ruleData) {
+            String selectorId = ruleData.getSelectorId();
+            if (changedRules.containsKey(selectorId) || currentRules().containsKey(selectorId)) {
+                changedRules.computeIfAbsent(selectorId, key -> toChangeMap(currentRules().get(key), RuleData::getId)).remove(ruleData.getId());
+            }
+            return this;
+        }
+
+        /**
+         * Remove all rule data.
+         *
+         * @return this builder
+         */
+        public Builder clearRules() {
+            rules = new HashMap<>();
+            changedRules.clear();
+            return this;
+        }
+
+        /**
+         * Build the next snapshot, every changed list is sorted and indexed once.
+         *
+         * @return the snapshot
+         */
+        public BaseDataSnapshot build() {
+            Map<String, PluginData> nextPlugins = Objects.isNull(plugins) ? base.plugins : Collections.unmodifiableMap(plugins);
+            Map<String, List<SelectorData>> nextSelectors = base.selectors;
+            Map<String, MatchDataIndex<SelectorData>> nextSelectorIndexes = base.selectorIndexes;
+            if (Objects.nonNull(selectors) || !changedSelectors.isEmpty()) {
+                nextSelectors = Objects.isNull(selectors) ? new HashMap<>(base.selectors) : selectors;
+                nextSelectorIndexes = Objects.isNull(selectors) ? new HashMap<>(base.selectorIndexes) : new HashMap<>();
+                merge(changedSelectors, SELECTOR_COMPARATOR, MatchDataIndex::ofSelectors, nextSelectors, nextSelectorIndexes);
+            }
+            Map<String, List<RuleData>> nextRules = base.rules;
+            Map<String, MatchDataIndex<RuleData>> nextRuleIndexes = base.ruleIndexes;
+            if (Objects.nonNull(rules) || !changedRules.isEmpty()) {
+                nextRules = Objects.isNull(rules) ? new HashMap<>(base.rules) : rules;
+                nextRuleIndexes = Objects.isNull(rules) ? new HashMap<>(base.ruleIndexes) : new HashMap<>();
+                merge(changedRules, RULE_COMPARATOR, MatchDataIndex::ofRules, nextRules, nextRuleIndexes);
+            }
+            return new BaseDataSnapshot(base.version + 1, nextPlugins, unmodifiable(nextSelectors, base.selectors), unmodifiable(nextSelectorIndexes, base.selectorIndexes),
+                    unmodifiable(nextRules, base.rules), unmodifiable(nextRuleIndexes, base.ruleIndexes));
+        }
+
+        private Map<String, PluginData> currentPlugins() {
+            return Objects.isNull(plugins) ? base.plugins : plugins;
+        }
+
+        private Map<String, PluginData> mutablePlugins() {
+            if (Objects.isNull(plugins)) {
+                plugins = new HashMap<>(base.plugins);
+            }
+            return plugins;
+        }
+
+        private Map<String, List<SelectorData>> currentSelectors() {
+            return Objects.isNull(selectors) ? base.selectors : selectors;
+        }
+
+        private Map<String, List<RuleData>> currentRules() {
+            return Objects.isNull(rules) ? base.rules : rules;
+        }
+
+        private static <T> void merge(final Map<String, Map<String, T>> changes, final Comparator<T> comparator, final Function<List<T>, MatchDataIndex<T>> indexer,
+                                      final Map<String, List<T>> lists, final Map<String, MatchDataIndex<T>> indexes) {
+            changes.forEach((key, changed) -> {
+                List<T> list = sortedList(changed, comparator);
+                lists.put(key, list);
+                indexes.put(key, indexer.apply(list));
+            });
+        }
+
+        private static <K, V> Map<K, V> unmodifiable(final Map<K, V> map, final Map<K, V> baseMap) {
+            return map == baseMap ? baseMap : Collections.unmodifiableMap(map);
+        }
+
+        private static <T> Map<String, T> toChangeMap(final List<T> list, final Function<T, String> idFunction) {
+            Map<String, T> changed = new LinkedHashMap<>();
+            if (list != null) {
+                list.forEach(data -> changed.put(idFunction.apply(data), data));
+            }
+            return changed;
+        }
+
+        private static <T> List<T> sortedList(final Map<String, T> changed, final Comparator<T> comparator) {
+            List<T> list = new ArrayList<>(changed.values());
+            list.sort(comparator);
+            return Collections.unmodifiableList(list);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.shenyu.plugin.base.cache;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.commons.collections4.CollectionUtils;
@@ -68,6 +69,20 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanPluginDataSelf(pluginDataList);
     }
     
+    @Override
+    public void onSubscribeBatch(final List<PluginData> pluginDataList) {
+        if (CollectionUtils.isEmpty(pluginDataList)) {
+            return;
+        }
+        BaseDataCache.getInstance().applyBatch(builder -> pluginDataList.forEach(builder::putPlugin));
+        pluginDataList.forEach(pluginData -> Optional.ofNullable(handlerMap.get(pluginData.getName())).ifPresent(handler -> handler.handlerPlugin(pluginData)));
+    }
+    
+    @Override
+    public void refreshPluginDataBatch(final List<PluginData> pluginDataList) {
+        refreshDataBatch(pluginDataList, null, null);
+    }
+    
     @Override
     public void onSelectorSubscribe(final SelectorData selectorData) {
         subscribeDataHandler(selectorData, DataEventTypeEnum.UPDATE);
@@ -91,6 +106,20 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanSelectorDataSelf(selectorDataList);
     }
     
+    @Override
+    public void onSelectorSubscribeBatch(final List<SelectorData> selectorDataList) {
+        if (CollectionUtils.isEmpty(selectorDataList)) {
+            return;
+        }
+        BaseDataCache.getInstance().applyBatch(builder -> selectorDataList.forEach(builder::putSelector));
+        selectorDataList.forEach(selectorData -> Optional.ofNullable(handlerMap.get(selectorData.getPluginName())).ifPresent(handler -> handler.handlerSelector(selectorData)));
+    }
+    
+    @Override
+    public void refreshSelectorDataBatch(final List<SelectorData> selectorDataList) {
+        refreshDataBatch(null, selectorDataList, null);
+    }
+    
     @Override
     public void onRuleSubscribe(final RuleData ruleData) {
         subscribeDataHandler(ruleData, DataEventTypeEnum.UPDATE);
@@ -114,6 +143,44 @@ public class CommonPluginDataSubscriber implements PluginDataSubscriber {
         BaseDataCache.getInstance().cleanRuleDataSelf(ruleDataList);
     }
     
+    @Override
+    public void onRuleSubscribeBatch(final List<RuleData> ruleDataList) {
+        if (CollectionUtils.isEmpty(ruleDataList)) {
+            return;
+        }
+        BaseDataCache.getInstance().applyBatch(builder -> ruleDataList.forEach(builder::putRule));
+        ruleDataList.forEach(ruleData -> Optional.ofNullable(handlerMap.get(ruleData.getPluginName())).ifPresent(handler -> handler.handlerRule(ruleData)));
+    }
+    
+    @Override
+    public void refreshRuleDataBatch(final List<RuleData> ruleDataList) {
+        refreshDataBatch(null, null, ruleDataList);
+    }
+    
+    @Override
+    public void refreshDataBatch(final List<PluginData> pluginDataList, final List<SelectorData> selectorDataList, final List<RuleData> ruleDataList) {
+        BaseDataCache.getInstance().applyBatch(builder -> {
+            if (Objects.nonNull(pluginDataList)) {
+                builder.clearPlugins();
+                pluginDataList.forEach(builder::putPlugin);
+            }
+            if (Objects.nonNull(selectorDataList)) {
+                builder.clearSelectors();
+                selectorDataList.forEach(builder::putSelector);
+            }
+            if (Objects.nonNull(ruleDataList)) {
+                builder.clearRules();
+                ruleDataList.forEach(builder::putRule);
+            }
+        });
+        Optional.ofNullable(pluginDataList).ifPresent(list -> list.forEach(pluginData ->
+            Optional.ofNullable(handlerMap.get(pluginData.getName())).ifPresent(handler -> handler.handlerPlugin(pluginData))));
+        Optional.ofNullable(selectorDataList).ifPresent(list -> list.forEach(selectorData ->
+            Optional.ofNullable(handlerMap.get(selectorData.getPluginName())).ifPresent(handler -> handler.handlerSelector(selectorData))));
+        Optional.ofNullable(ruleDataList).ifPresent(list -> list.forEach(ruleData ->
+            Optional.ofNullable(handlerMap.get(ruleData.getPluginName())).ifPresent(handler -> handler.handlerRule(ruleData))));
+    }
+    
     private <T> void subscribeDataHandler(final T classData, final DataEventTypeEnum dataType) {
         Optional.ofNullable(classData).ifPresent(data -> {
             if (data instanceof PluginData) {
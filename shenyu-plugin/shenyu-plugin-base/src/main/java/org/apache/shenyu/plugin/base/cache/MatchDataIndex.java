@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import com.google.common.base.Splitter;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.OperatorEnum;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+/**
+ * The compiled match index of the selectors of a plugin or the rules of a selector.
+ *
+ * <p>Every entry is bucketed by one indexable condition (uri exact, uri prefix, request method or header),
+ * entries without such a condition are kept in an ordered fallback bucket. The index only narrows the
+ * candidates, they are still verified in sort order, so the result is the same as the ordered scan.
+ *
+ * @param <T> the selector or rule data
+ */
+public final class MatchDataIndex<T> {
+
+    private static final int[] EMPTY = new int[0];
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private static final String EQUALS_OPERATOR = "equals";
+
+    private final List<T> source;
+
+    private final Map<String, int[]> exactPaths;
+
+    private final PathNode pathRoot;
+
+    private final Map<String, int[]> methods;
+
+    private final Map<String, Map<String, int[]>> headers;
+
+    private final int[] fallback;
+
+    private MatchDataIndex(final List<T> source, final IndexBuilder builder) {
+        this.source = source;
+        this.exactPaths = freeze(builder.exactPaths);
+        this.pathRoot = builder.pathRoot.freeze();
+        this.methods = freeze(builder.methods);
+        Map<String, Map<String, int[]>> headerMap = new HashMap<>(builder.headers.size());
+        builder.headers.forEach((name, values) -> headerMap.put(name, freeze(values)));
+        this.headers = headerMap;
+        this.fallback = toArray(builder.fallback);
+    }
+
+    /**
+     * Build the index of the sorted selectors.
+     *
+     * @param selectors the selectors in sort order
+     * @return the match index
+     */
+    public static MatchDataIndex<SelectorData> ofSelectors(final List<SelectorData> selectors) {
+        IndexBuilder builder = new IndexBuilder();
+        for (int i = 0; i < selectors.size(); i++) {
+            SelectorData selector = selectors.get(i);
+            if (!Boolean.TRUE.equals(selector.getEnabled())) {
+                continue;
+            }
+            if (Objects.equals(selector.getType(), SelectorTypeEnum.CUSTOM_FLOW.getCode())) {
+                // a custom flow selector without conditions never matches
+                if (CollectionUtils.isNotEmpty(selector.getConditionList())) {
+                    builder.add(i, selector.getMatchMode(), selector.getConditionList());
+                }
+            } else {
+                builder.fallback.add(i);
+            }
+        }
+        return new MatchDataIndex<>(selectors, builder);
+    }
+
+    /**
+     * Build the index of the sorted rules.
+     *
+     * @param rules the rules in sort order
+     * @return the match index
+     */
+    public static MatchDataIndex<RuleData> ofRules(final List<RuleData> rules) {
+        IndexBuilder builder = new IndexBuilder();
+        for (int i = 0; i < rules.size(); i++) {
+            RuleData rule = rules.get(i);
+            if (Boolean.TRUE.equals(rule.getEnabled())) {
+                builder.add(i, rule.getMatchMode(), rule.getConditionDataList());
+            }
+        }
+        return new MatchDataIndex<>(rules, builder);
+    }
+
+    /**
+     * Find the first entry in sort order which passes the filter.
+     *
+     * @param exchange the exchange
+     * @param filter   the full condition check of one entry
+     * @return the matched entry, or null
+     */
+    public T match(final ServerWebExchange exchange, final BiPredicate<T, ServerWebExchange> filter) {
+        List<int[]> candidates = new ArrayList<>(4);
+        addCandidates(candidates, fallback);
+        String path = exchange.getRequest().getURI().getPath();
+        if (Objects.nonNull(path)) {
+            addCandidates(candidates, exactPaths.get(path));
+            pathRoot.collect(path, candidates);
+        }
+        if (!methods.isEmpty()) {
+            addCandidates(candidates, methods.get(exchange.getRequest().getMethodValue()));
+        }
+        if (!headers.isEmpty()) {
+            headers.forEach((name, values) -> {
+                String value = exchange.getRequest().getHeaders().getFirst(name);
+                if (Objects.nonNull(value)) {
+                    addCandidates(candidates, values.get(value));
+                }
+            });
+        }
+        int size = candidates.size();
+        int[] cursors = new int[size];
+        while (true) {
+            int min = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                int[] positions = candidates.get(i);
+                if (cursors[i] < positions.length && positions[cursors[i]] < min) {
+                    min = positions[cursors[i]];
+                }
+            }
+            if (min == Integer.MAX_VALUE) {
+                return null;
+            }
+            for (int i = 0; i < size; i++) {
+                int[] positions = candidates.get(i);
+                if (cursors[i] < positions.length && positions[cursors[i]] == min) {
+                    cursors[i]++;
+                }
+            }
+            T data = source.get(min);
+            if (filter.test(data, exchange)) {
+                return data;
+            }
+        }
+    }
+
+    private static void addCandidates(final List<int[]> candidates, final int[] positions) {
+        if (Objects.nonNull(positions) && positions.length > 0) {
+            candidates.add(positions);
+        }
+    }
+
+    private static boolean isEqualsOperator(final String operator) {
+        return OperatorEnum.EQ.getAlias().equals(operator) || EQUALS_OPERATOR.equals(operator);
+    }
+
+    private static boolean isWildcard(final String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    private static List<String> literalPrefix(final String pattern) {
+        List<String> prefix = new ArrayList<>();
+        for (String segment : Splitter.on(PATH_SEPARATOR).omitEmptyStrings().split(pattern)) {
+            if (isWildcard(segment)) {
+                break;
+            }
+            prefix.add(segment);
+        }
+        return prefix;
+    }
+
+    private static Map<String, int[]> freeze(final Map<String, List<Integer>> buckets) {
+        if (buckets.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, int[]> result = new HashMap<>(buckets.size());
+        buckets.forEach((key, positions) -> result.put(key, toArray(positions)));
+        return result;
+    }
+
+    private static int[] toArray(final List<Integer> positions) {
+        if (positions.isEmpty()) {
+            return EMPTY;
+        }
+        int[] result = new int[positions.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = positions.get(i);
+        }
+        return result;
+    }
+
+    private static final class IndexBuilder {
+
+        private final Map<String, List<Integer>> exactPaths = new HashMap<>();
+
+        private final PathNode pathRoot = new PathNode();
+
+        private final Map<String, List<Integer>> methods = new HashMap<>();
+
+        private final Map<String, Map<String, List<Integer>>> headers = new HashMap<>();
+
+        private final List<Integer> fallback = new ArrayList<>();
+
+        private void add(final int position, final Integer matchMode, final List<ConditionData> conditions) {
+            // only the and mode can be narrowed by one of its conditions, empty and conditions match all
+            if (Objects.isNull(matchMode) || matchMode == MatchModeEnum.OR.getCode() || CollectionUtils.isEmpty(conditions)) {
+                fallback.add(position);
+                return;
+            }
+            ConditionData prefixCondition = null;
+            List<List<String>> prefixes = null;
+            int prefixDepth = 0;
+            ConditionData methodCondition = null;
+            ConditionData headerCondition = null;
+            for (ConditionData condition : conditions) {
+                if (Objects.isNull(condition) || Objects.isNull(condition.getParamValue())) {
+                    continue;
+                }
+                String paramType = condition.getParamType();
+                String operator = condition.getOperator();
+                if (ParamTypeEnum.URI.getName().equals(paramType)) {
+                    if (isEqualsOperator(operator)) {
+                        exactPaths.computeIfAbsent(condition.getParamValue().trim(), key -> new ArrayList<>()).add(position);
+                        return;
+                    }
+                    if (OperatorEnum.MATCH.getAlias().equals(operator)) {
+                        List<List<String>> patternPrefixes = new ArrayList<>();
+                        int depth = Integer.MAX_VALUE;
+                        for (String pattern : Splitter.on(",").omitEmptyStrings().trimResults().split(condition.getParamValue().trim())) {
+                            List<String> prefix = literalPrefix(pattern);
+                            patternPrefixes.add(prefix);
+                            depth = Math.min(depth, prefix.size());
+                        }
+                        if (!patternPrefixes.isEmpty() && depth > prefixDepth) {
+                            prefixCondition = condition;
+                            prefixes = patternPrefixes;
+                            prefixDepth = depth;
+                        }
+                    }
+                } else if (ParamTypeEnum.REQUEST_METHOD.getName().equals(paramType) && isEqualsOperator(operator)) {
+                    methodCondition = Objects.isNull(methodCondition) ? condition : methodCondition;
+                } else if (ParamTypeEnum.HEADER.getName().equals(paramType) && isEqualsOperator(operator)
+                        && Objects.nonNull(condition.getParamName())) {
+                    headerCondition = Objects.isNull(headerCondition) ? condition : headerCondition;
+                }
+            }
+            if (Objects.nonNull(prefixCondition)) {
+                for (List<String> prefix : prefixes) {
+                    pathRoot.add(prefix, position);
+                }
+            } else if (Objects.nonNull(methodCondition)) {
+                methods.computeIfAbsent(methodCondition.getParamValue().trim(), key -> new ArrayList<>()).add(position);
+            } else if (Objects.nonNull(headerCondition)) {
+                headers.computeIfAbsent(headerCondition.getParamName().toLowerCase(Locale.ROOT), key -> new HashMap<>())
+                        .computeIfAbsent(headerCondition.getParamValue().trim(), key -> new ArrayList<>()).add(position);
+            } else {
+                fallback.add(position);
+            }
+        }
+    }
+
+    private static final class PathNode {
+
+        private final Map<String, PathNode> children = new HashMap<>();
+
+        private final List<Integer> pending = new ArrayList<>();
+
+        private int[] positions = EMPTY;
+
+        private void add(final List<String> prefix, final int position) {
+            PathNode node = this;
+            for (String segment : prefix) {
+                node = node.children.computeIfAbsent(segment, key -> new PathNode());
+            }
+            List<Integer> nodePending = node.pending;
+            // a comma separated pattern may register the same entry twice on one node
+            if (nodePending.isEmpty() || nodePending.get(nodePending.size() - 1) != position) {
+                nodePending.add(position);
+            }
+        }
+
+        private PathNode freeze() {
+            positions = toArray(pending);
+            pending.clear();
+            children.values().forEach(PathNode::freeze);
+            return this;
+        }
+
+        private void collect(final String path, final List<int[]> candidates) {
+            addCandidates(candidates, positions);
+            PathNode node = this;
+            int length = path.length();
+            int start = 0;
+            while (start < length && !node.children.isEmpty()) {
+                int end = path.indexOf('/', start);
+                if (end < 0) {
+                    end = length;
+                }
+                if (end > start) {
+                    node = node.children.get(path.substring(start, end));
+                    if (Objects.isNull(node)) {
+                        return;
+                    }
+                    addCandidates(candidates, node.positions);
+                }
+                start = end + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalNotification;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.handle.CounterHandle;
+import org.apache.shenyu.metrics.handle.HistogramHandle;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.DoubleStream;
+
+/**
+ * The cache of the rpc clients of the paths, such as the dubbo references, the sofa consumers and the motan referers.
+ *
+ * <p>The max size and the idle expiry are set by the system properties {@code shenyu.rpc.cache.maxSize} and
+ * {@code shenyu.rpc.cache.expireSeconds}, zero means no expiry. A removed client is destroyed after
+ * {@code shenyu.rpc.cache.destroyDelaySeconds} so that the calls in flight on it can finish. The hits, misses,
+ * evictions and build times are published by the {@link MetricsReporter}.
+ *
+ * @param <V> the client type
+ */
+@Slf4j
+public final class RpcClientCache<V> {
+
+    /**
+     * The configured max size.
+     */
+    public static final long MAX_SIZE = Long.parseLong(System.getProperty("shenyu.rpc.cache.maxSize", "10000"));
+
+    /**
+     * The configured idle expiry seconds.
+     */
+    public static final long EXPIRE_SECONDS = Long.parseLong(System.getProperty("shenyu.rpc.cache.expireSeconds", "0"));
+
+    /**
+     * The configured delay seconds before a removed client is destroyed.
+     */
+    public static final long DESTROY_DELAY_SECONDS = Long.parseLong(System.getProperty("shenyu.rpc.cache.destroyDelaySeconds", "30"));
+
+    private static final double[] BUILD_LATENCY_BUCKETS = DoubleStream.iterate(1, bucket -> bucket * 2).limit(17).toArray();
+
+    private static final ScheduledExecutorService DESTROYER = Executors.newSingleThreadScheduledExecutor(ShenyuThreadFactory.create("shenyu-rpc-client-destroy", true));
+
+    static {
+        MetricsReporter.registerCounter(LabelNames.RPC_CLIENT_CACHE_REQUEST_TOTAL, new String[]{"plugin", "result"}, "the shenyu rpc client cache lookups");
+        MetricsReporter.registerCounter(LabelNames.RPC_CLIENT_CACHE_EVICTION_TOTAL, new String[]{"plugin", "cause"}, "the shenyu rpc client cache evictions");
+        MetricsReporter.registerHistogram(LabelNames.RPC_CLIENT_BUILD_LATENCY_NAME, new String[]{"plugin"},
+                "the time spent building a shenyu rpc client in millis", BUILD_LATENCY_BUCKETS);
+    }
+
+    private final String plugin;
+
+    private final Consumer<V> destroyer;
+
+    private final long destroyDelaySeconds;
+
+    private final LoadingCache<String, V> cache;
+
+    private final CounterHandle hits;
+
+    private final CounterHandle misses;
+
+    private final HistogramHandle buildLatency;
+
+    /**
+     * Instantiates a new rpc client cache with the configured size, expiry and destroy delay.
+     *
+     * @param plugin    the plugin name, the label of the metrics
+     * @param loader    the loader of the placeholder client of a path
+     * @param destroyer releases the resources of a removed client, null if it holds none
+     */
+    public RpcClientCache(final String plugin, final Function<String, V> loader, final Consumer<V> destroyer) {
+        this(plugin, loader, destroyer, MAX_SIZE, EXPIRE_SECONDS, DESTROY_DELAY_SECONDS);
+    }
+
+    /**
+     * Instantiates a new rpc client cache.
+     *
+     * @param plugin              the plugin name, the label of the metrics
+     * @param loader              the loader of the placeholder client of a path
+     * @param destroyer           releases the resources of a removed client, null if it holds none
+     * @param maxSize             the max size
+     * @param expireSeconds       the idle expiry seconds, zero means no expiry
+     * @param destroyDelaySeconds the delay seconds before a removed client is destroyed, the requests which got it may still use it
+     */
+    public RpcClientCache(final String plugin, final Function<String, V> loader, final Consumer<V> destroyer,
+                          final long maxSize, final long expireSeconds, final long destroyDelaySeconds) {
+        this.plugin = plugin;
+        this.destroyer = destroyer;
+        this.destroyDelaySeconds = destroyDelaySeconds;
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maxSize);
+        if (expireSeconds > 0) {
+            builder.expireAfterAccess(expireSeconds, TimeUnit.SECONDS);
+        }
+        this.cache = builder.removalListener(this::onRemoval).build(new CacheLoader<String, V>() {
+            @Override
+            public V load(final String key) {
+                return loader.apply(key);
+            }
+        });
+        this.hits = MetricsReporter.bindCounter(LabelNames.RPC_CLIENT_CACHE_REQUEST_TOTAL, new String[]{plugin, "hit"});
+        this.misses = MetricsReporter.bindCounter(LabelNames.RPC_CLIENT_CACHE_REQUEST_TOTAL, new String[]{plugin, "miss"});
+        this.buildLatency = MetricsReporter.bindHistogram(LabelNames.RPC_CLIENT_BUILD_LATENCY_NAME, new String[]{plugin});
+    }
+
+    /**
+     * Get the client of the path, the placeholder client is loaded if absent.
+     *
+     * @param path the path
+     * @return the client
+     */
+    public V get(final String path) {
+        try {
+            return cache.get(path);
+        } catch (ExecutionException e) {
+            throw new ShenyuException(e.getCause());
+        }
+    }
+
+    /**
+     * Get the usable client of the path, the lookup is counted as a hit or a miss.
+     *
+     * @param path   the path
+     * @param usable whether the cached client is built
+     * @return the client, or null
+     */
+    public V getIfUsable(final String path, final Predicate<V> usable) {
+        V client = cache.getIfPresent(path);
+        if (Objects.nonNull(client) && usable.test(client)) {
+            hits.increment();
+            return client;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Put the client of the path, the former client is destroyed.
+     *
+     * @param path   the path
+     * @param client the client
+     */
+    public void put(final String path, final V client) {
+        cache.put(path, client);
+    }
+
+    /**
+     * Destroy a client which is never put, e.g. the client of a superseded build, the callers which got it
+     * may still use it until the destroy delay.
+     *
+     * @param client the client
+     */
+    public void discard(final V client) {
+        if (Objects.nonNull(client) && Objects.nonNull(destroyer)) {
+            DESTROYER.schedule(() -> destroy(null, client), destroyDelaySeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Record the time spent building a client.
+     *
+     * @param startNanos the {@link System#nanoTime()} when the build started
+     */
+    public void recordBuild(final long startNanos) {
+        buildLatency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Get the size.
+     *
+     * @return the size
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Invalidate the client of the path.
+     *
+     * @param path the path
+     */
+    public void invalidate(final String path) {
+        cache.invalidate(path);
+    }
+
+    /**
+     * Invalidate all.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private void onRemoval(final RemovalNotification<String, V> notification) {
+        if (notification.wasEvicted()) {
+            MetricsReporter.counterIncrement(LabelNames.RPC_CLIENT_CACHE_EVICTION_TOTAL,
+                    new String[]{plugin, notification.getCause().name().toLowerCase(Locale.ROOT)});
+        }
+        V client = notification.getValue();
+        if (Objects.isNull(client) || Objects.isNull(destroyer)) {
+            return;
+        }
+        String path = notification.getKey();
+        DESTROYER.schedule(() -> destroy(path, client), destroyDelaySeconds, TimeUnit.SECONDS);
+    }
+
+    private void destroy(final String path, final V client) {
+        // the same client may be put again for the path
+        if (Objects.nonNull(path) && cache.getIfPresent(path) == client) {
+            return;
+        }
+        try {
+            destroyer.accept(client);
+        } catch (RuntimeException e) {
+            log.error("destroy {} rpc client of {} ex:{}", plugin, path, e.getMessage());
+        }
+    }
+}
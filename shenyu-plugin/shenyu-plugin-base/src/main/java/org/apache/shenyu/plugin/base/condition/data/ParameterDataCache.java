@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.condition.data;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.enums.ParamTypeEnum;
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.handle.CounterHandle;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The request scoped cache of parameter data, it is stored in the exchange attributes.
+ *
+ * <p>The values are built from the request, so the cache starts over when a plugin mutates the request.
+ * The post parameter reads the mutable shenyu context and is never cached. The hits and misses are
+ * published by the {@link MetricsReporter}.
+ */
+public final class ParameterDataCache {
+
+    private static final CounterHandle HITS = MetricsReporter.bindCounter(LabelNames.PARAMETER_DATA_CACHE_REQUEST_TOTAL, new String[]{"hit"});
+
+    private static final CounterHandle MISSES = MetricsReporter.bindCounter(LabelNames.PARAMETER_DATA_CACHE_REQUEST_TOTAL, new String[]{"miss"});
+
+    static {
+        MetricsReporter.registerCounter(LabelNames.PARAMETER_DATA_CACHE_REQUEST_TOTAL, new String[]{"result"}, "the shenyu parameter data cache lookups");
+    }
+
+    private final ServerHttpRequest request;
+
+    /**
+     * paramType -> paramName -> value.
+     */
+    private final Map<String, Map<String, String>> values = new HashMap<>();
+
+    private ParameterDataCache(final ServerHttpRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * Obtain the cache of the current request.
+     *
+     * @param exchange the exchange
+     * @return the cache
+     */
+    public static ParameterDataCache obtain(final ServerWebExchange exchange) {
+        ParameterDataCache cache = exchange.getAttribute(Constants.PARAMETER_DATA_CACHE);
+        if (cache == null || cache.request != exchange.getRequest()) {
+            cache = new ParameterDataCache(exchange.getRequest());
+            exchange.getAttributes().put(Constants.PARAMETER_DATA_CACHE, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Whether the values of the param type can be cached for the request.
+     *
+     * @param paramType the param type
+     * @return true if cacheable
+     */
+    public static boolean isCacheable(final String paramType) {
+        return !ParamTypeEnum.POST.getName().equals(paramType);
+    }
+
+    /**
+     * Get the cached value or build it.
+     *
+     * @param paramType the param type
+     * @param paramName the param name
+     * @param builder   builds the value by param name
+     * @return the value
+     */
+    public String computeIfAbsent(final String paramType, final String paramName, final Function<String, String> builder) {
+        Map<String, String> typeValues = values.computeIfAbsent(paramType, key -> new HashMap<>());
+        if (typeValues.containsKey(paramName)) {
+            HITS.increment();
+            return typeValues.get(paramName);
+        }
+        MISSES.increment();
+        String value = builder.apply(paramName);
+        typeValues.put(paramName, value);
+        return value;
+    }
+}
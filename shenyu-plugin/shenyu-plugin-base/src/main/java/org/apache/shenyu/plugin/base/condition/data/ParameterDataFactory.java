@@ -36,7 +36,7 @@ public class ParameterDataFactory {
     }
     
     /**
-     * Builder data string.
+     * Builder data string, the value is memoized for the current request.
      *
      * @param paramType the param type
      * @param paramName the param name
@@ -44,6 +44,9 @@ public class ParameterDataFactory {
      * @return the string
      */
     public static String builderData(final String paramType, final String paramName, final ServerWebExchange exchange) {
-        return newInstance(paramType).builder(paramName, exchange);
+        if (!ParameterDataCache.isCacheable(paramType)) {
+            return newInstance(paramType).builder(paramName, exchange);
+        }
+        return ParameterDataCache.obtain(exchange).computeIfAbsent(paramType, paramName, name -> newInstance(paramType).builder(name, exchange));
     }
 }
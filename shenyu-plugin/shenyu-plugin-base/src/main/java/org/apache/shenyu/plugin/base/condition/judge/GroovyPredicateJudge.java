@@ -17,18 +17,45 @@
 
 package org.apache.shenyu.plugin.base.condition.judge;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
 import org.apache.shenyu.common.dto.ConditionData;
-import groovy.util.Eval;
 import org.apache.shenyu.spi.Join;
+import org.codehaus.groovy.runtime.InvokerHelper;
 
 /**
  * Groovy predicate judge.
  */
 @Join
 public class GroovyPredicateJudge implements PredicateJudge {
-    
+
+    private static final int MAX_CACHED_SCRIPTS = 1024;
+
+    /**
+     * param value -> compiled script class, every class has its own class loader so an evicted one can be unloaded.
+     */
+    private static final LoadingCache<String, Class<? extends Script>> SCRIPT_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_SCRIPTS)
+            .build(CacheLoader.from(expression -> new GroovyShell().parse(expression).getClass()));
+
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
-        return (Boolean) Eval.me(conditionData.getParamName(), realData, conditionData.getParamValue());
+        Binding binding = new Binding();
+        binding.setVariable(conditionData.getParamName(), realData);
+        Class<? extends Script> scriptClass;
+        try {
+            scriptClass = SCRIPT_CACHE.getUnchecked(conditionData.getParamValue());
+        } catch (UncheckedExecutionException e) {
+            // the compile error is thrown as it is, the same as without the cache
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+        return (Boolean) InvokerHelper.createScript(scriptClass, binding).run();
     }
 }
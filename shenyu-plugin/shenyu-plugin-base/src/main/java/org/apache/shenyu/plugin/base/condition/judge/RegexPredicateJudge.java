@@ -17,6 +17,11 @@
 
 package org.apache.shenyu.plugin.base.condition.judge;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.spi.Join;
 
@@ -28,8 +33,23 @@ import java.util.regex.Pattern;
 @Join
 public class RegexPredicateJudge implements PredicateJudge {
 
+    private static final int MAX_CACHED_PATTERNS = 4096;
+
+    /**
+     * param value -> compiled pattern, a changed condition is simply a new key.
+     */
+    private static final LoadingCache<String, Pattern> PATTERN_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_PATTERNS)
+            .build(CacheLoader.from(Pattern::compile));
+
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
-        return Pattern.matches(conditionData.getParamValue(), realData);
+        try {
+            return PATTERN_CACHE.getUnchecked(conditionData.getParamValue()).matcher(realData).matches();
+        } catch (UncheckedExecutionException e) {
+            // the compile error is thrown as it is, the same as without the cache
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
     }
 }
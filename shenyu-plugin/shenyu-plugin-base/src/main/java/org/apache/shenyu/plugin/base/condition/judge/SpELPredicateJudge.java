@@ -17,23 +17,119 @@
 
 package org.apache.shenyu.plugin.base.condition.judge;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.ConditionData;
 import org.apache.shenyu.spi.Join;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
  * SpEL predicate judge.
+ *
+ * <p>The expression is parsed once, every {@code #paramName} is bound to the real data as a variable:
+ * a literal outside of quotes (number, boolean or string) and the raw text inside of single or double quotes.
  */
 @Join
 public class SpELPredicateJudge implements PredicateJudge {
     
     private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
     
+    private static final String VALUE_VARIABLE = "shenyuRealData";
+    
+    private static final String TEXT_VARIABLE = "shenyuRealDataText";
+    
+    private static final int MAX_CACHED_EXPRESSIONS = 4096;
+    
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("-?\\d{1,18}");
+    
+    private static final Pattern DECIMAL_PATTERN = Pattern.compile("-?\\d*\\.\\d+([eE][-+]?\\d+)?");
+    
+    /**
+     * param value -> param name -> parsed expression, a changed condition is simply a new key.
+     */
+    private static final LoadingCache<String, Map<String, Expression>> EXPRESSION_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_EXPRESSIONS)
+            .build(CacheLoader.from(paramValue -> Maps.newConcurrentMap()));
+    
+    /**
+     * the variables are bound again on every judge, so the context is reused by the thread.
+     */
+    private static final ThreadLocal<EvaluationContext> EVALUATION_CONTEXT = ThreadLocal.withInitial(StandardEvaluationContext::new);
+    
     @Override
     public Boolean judge(final ConditionData conditionData, final String realData) {
-        Expression expression = EXPRESSION_PARSER.parseExpression(conditionData.getParamValue().replace('#' + conditionData.getParamName(), realData));
-        return expression.getValue(Boolean.class);
+        String paramName = String.valueOf(conditionData.getParamName());
+        Map<String, Expression> expressions = EXPRESSION_CACHE.getUnchecked(conditionData.getParamValue());
+        Expression expression = expressions.get(paramName);
+        if (Objects.isNull(expression)) {
+            // parsed outside of the loading cache, so a parse error is thrown as it is
+            expression = EXPRESSION_PARSER.parseExpression(bindVariables(conditionData.getParamValue(), "#" + paramName));
+            expressions.put(paramName, expression);
+        }
+        EvaluationContext context = EVALUATION_CONTEXT.get();
+        context.setVariable(VALUE_VARIABLE, literal(realData));
+        context.setVariable(TEXT_VARIABLE, realData);
+        return expression.getValue(context, Boolean.class);
+    }
+    
+    /**
+     * Replace the param name tokens the same way as the text replacement does, but with variables.
+     *
+     * @param template the expression template
+     * @param token    the param name token
+     * @return the expression
+     */
+    private static String bindVariables(final String template, final String token) {
+        StringBuilder expression = new StringBuilder(template.length());
+        int length = template.length();
+        int i = 0;
+        while (i < length) {
+            char c = template.charAt(i);
+            if (c == '\'' || c == '"') {
+                // a quote inside a literal is escaped by doubling it
+                int end = i + 1;
+                while (end < length && (template.charAt(end) != c || end + 1 < length && template.charAt(end + 1) == c)) {
+                    end += template.charAt(end) == c ? 2 : 1;
+                }
+                String literal = template.substring(i + 1, Math.min(end, length));
+                if (literal.contains(token)) {
+                    expression.append('(').append(c).append(literal.replace(token, c + " + #" + TEXT_VARIABLE + " + " + c)).append(c).append(')');
+                } else {
+                    expression.append(c).append(literal).append(end < length ? String.valueOf(c) : "");
+                }
+                i = end + 1;
+            } else if (template.startsWith(token, i)) {
+                expression.append('#').append(VALUE_VARIABLE);
+                i += token.length();
+            } else {
+                expression.append(c);
+                i++;
+            }
+        }
+        return expression.toString();
+    }
+    
+    private static Object literal(final String realData) {
+        if ("true".equals(realData) || "false".equals(realData)) {
+            return Boolean.valueOf(realData);
+        }
+        if (INTEGER_PATTERN.matcher(realData).matches()) {
+            long value = Long.parseLong(realData);
+            return value == (int) value ? Integer.valueOf((int) value) : Long.valueOf(value);
+        }
+        if (DECIMAL_PATTERN.matcher(realData).matches()) {
+            return Double.valueOf(realData);
+        }
+        return realData;
     }
 }
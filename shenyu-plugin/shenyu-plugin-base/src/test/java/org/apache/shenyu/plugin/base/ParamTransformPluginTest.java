@@ -22,11 +22,13 @@ import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.api.param.BodyBuffer;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.http.MediaType;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
@@ -35,6 +37,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -89,6 +92,38 @@ public final class ParamTransformPluginTest {
         StepVerifier.create(result).expectSubscription().verifyComplete();
     }
     
+    /**
+     * Test json body buffer.
+     */
+    @Test
+    public void testJsonBodyBuffer() {
+        ServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("localhost").contentType(MediaType.APPLICATION_JSON).body("{\"id\":1}"));
+        Mockito.when(chain.execute(exchange)).thenReturn(Mono.empty());
+        ShenyuContext context = new ShenyuContext();
+        context.setRpcType(RpcTypeEnum.DUBBO.getName());
+        exchange.getAttributes().put(Constants.CONTEXT, context);
+        Mono<Void> result = new ParamTransformPlugin(true, 1024).execute(exchange, chain);
+        StepVerifier.create(result).expectSubscription().verifyComplete();
+        BodyBuffer body = exchange.getAttribute(Constants.PARAM_TRANSFORM);
+        assertNotNull(body);
+        assertEquals("{\"id\":1}", body.asString());
+    }
+    
+    /**
+     * Test json body buffer over the max body size.
+     */
+    @Test
+    public void testJsonBodyBufferTooLarge() {
+        ServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("localhost").contentType(MediaType.APPLICATION_JSON).body("{\"id\":1}"));
+        ShenyuContext context = new ShenyuContext();
+        context.setRpcType(RpcTypeEnum.DUBBO.getName());
+        exchange.getAttributes().put(Constants.CONTEXT, context);
+        Mono<Void> result = new ParamTransformPlugin(true, 4).execute(exchange, chain);
+        StepVerifier.create(result).expectSubscription().verifyError(DataBufferLimitException.class);
+    }
+    
     /**
      * Test format body.
      */
@@ -209,4 +209,26 @@ public final class CommonPluginDataSubscriberTest {
         Assert.assertEquals(Lists.newArrayList(), baseDataCache.obtainRuleData(firstCachedRuleData.getSelectorId()));
         Assert.assertEquals(Lists.newArrayList(secondCachedRuleData), baseDataCache.obtainRuleData(secondCachedRuleData.getSelectorId()));
     }
+
+    @Test
+    public void testRefreshDataBatch() {
+        PluginData pluginData = PluginData.builder().name(mockPluginName1).build();
+        SelectorData selectorData = SelectorData.builder().id(mockSelectorId1).pluginName(mockPluginName1).build();
+        RuleData ruleData = RuleData.builder().id("1").selectorId(mockSelectorId1).pluginName(mockPluginName1).build();
+        baseDataCache.cacheRuleData(RuleData.builder().id("2").selectorId(mockSelectorId2).pluginName(mockPluginName2).build());
+        long version = baseDataCache.obtainSnapshot().getVersion();
+
+        commonPluginDataSubscriber.refreshDataBatch(Lists.newArrayList(pluginData), Lists.newArrayList(selectorData), Lists.newArrayList(ruleData));
+        BaseDataSnapshot snapshot = baseDataCache.obtainSnapshot();
+        Assert.assertEquals(version + 1, snapshot.getVersion());
+        Assert.assertEquals(pluginData, snapshot.obtainPluginData(mockPluginName1));
+        Assert.assertEquals(Lists.newArrayList(selectorData), snapshot.obtainSelectorData(mockPluginName1));
+        Assert.assertEquals(Lists.newArrayList(ruleData), snapshot.obtainRuleData(mockSelectorId1));
+        Assert.assertNull(snapshot.obtainRuleData(mockSelectorId2));
+
+        commonPluginDataSubscriber.refreshDataBatch(null, Lists.newArrayList(), null);
+        Assert.assertEquals(pluginData, baseDataCache.obtainPluginData(mockPluginName1));
+        Assert.assertNull(baseDataCache.obtainSelectorData(mockPluginName1));
+        Assert.assertEquals(Lists.newArrayList(ruleData), baseDataCache.obtainRuleData(mockSelectorId1));
+    }
 }
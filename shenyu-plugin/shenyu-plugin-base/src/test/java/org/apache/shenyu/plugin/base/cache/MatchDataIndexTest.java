@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import com.google.common.collect.Lists;
+import org.apache.shenyu.common.dto.ConditionData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.enums.MatchModeEnum;
+import org.apache.shenyu.common.enums.SelectorTypeEnum;
+import org.apache.shenyu.plugin.base.condition.strategy.MatchStrategyFactory;
+import org.junit.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test cases for MatchDataIndex.
+ */
+public final class MatchDataIndexTest {
+
+    private static final BiPredicate<SelectorData, ServerWebExchange> SELECTOR_FILTER = (selector, exchange) -> selector.getEnabled()
+            && (selector.getType() != SelectorTypeEnum.CUSTOM_FLOW.getCode()
+            || MatchStrategyFactory.match(selector.getMatchMode(), selector.getConditionList(), exchange));
+
+    private static final BiPredicate<RuleData, ServerWebExchange> RULE_FILTER = (rule, exchange) -> rule.getEnabled()
+            && MatchStrategyFactory.match(rule.getMatchMode(), rule.getConditionDataList(), exchange);
+
+    @Test
+    public void testSelectorMatchKeepsSortOrder() {
+        List<SelectorData> selectors = Lists.newArrayList(
+                selector("1", MatchModeEnum.AND, condition("uri", "match", "/http/order/**")),
+                selector("2", MatchModeEnum.OR, condition("uri", "match", "/http/**")),
+                selector("3", MatchModeEnum.AND, condition("uri", "=", "/http/user/findById")),
+                selector("4", MatchModeEnum.AND, condition("uri", "match", "/http/user/**")));
+        MatchDataIndex<SelectorData> index = MatchDataIndex.ofSelectors(selectors);
+        assertEquals("1", index.match(exchange("/http/order/save"), SELECTOR_FILTER).getId());
+        assertEquals("2", index.match(exchange("/http/user/findById"), SELECTOR_FILTER).getId());
+        assertNull(index.match(exchange("/dubbo/user/findById"), SELECTOR_FILTER));
+        selectors.get(1).setEnabled(false);
+        index = MatchDataIndex.ofSelectors(selectors);
+        assertEquals("3", index.match(exchange("/http/user/findById"), SELECTOR_FILTER).getId());
+        assertEquals("4", index.match(exchange("/http/user/findAll"), SELECTOR_FILTER).getId());
+        assertEquals("4", index.match(exchange("/http/user"), SELECTOR_FILTER).getId());
+    }
+
+    @Test
+    public void testSelectorMatchFullFlowAndWildcard() {
+        SelectorData fullFlow = selector("3", MatchModeEnum.AND);
+        fullFlow.setType(SelectorTypeEnum.FULL_FLOW.getCode());
+        List<SelectorData> selectors = Lists.newArrayList(
+                selector("1", MatchModeEnum.AND, condition("uri", "match", "/**/detail")),
+                selector("2", MatchModeEnum.AND),
+                fullFlow);
+        MatchDataIndex<SelectorData> index = MatchDataIndex.ofSelectors(selectors);
+        assertEquals("1", index.match(exchange("/http/order/detail"), SELECTOR_FILTER).getId());
+        assertEquals("3", index.match(exchange("/http/order/save"), SELECTOR_FILTER).getId());
+    }
+
+    @Test
+    public void testRuleMatchMethodAndHeader() {
+        List<RuleData> rules = Lists.newArrayList(
+                rule("1", MatchModeEnum.AND, condition("req_method", "=", "POST")),
+                rule("2", MatchModeEnum.AND, condition("header", "=", "v2"), condition("query", "=", "1")),
+                rule("3", MatchModeEnum.AND));
+        MatchDataIndex<RuleData> index = MatchDataIndex.ofRules(rules);
+        assertEquals("1", index.match(MockServerWebExchange.from(MockServerHttpRequest.post("/http/order").build()), RULE_FILTER).getId());
+        ServerWebExchange versioned = MockServerWebExchange.from(MockServerHttpRequest.get("/http/order?id=1").header("Version", "v2").build());
+        assertEquals("2", index.match(versioned, RULE_FILTER).getId());
+        assertEquals("3", index.match(exchange("/http/order"), RULE_FILTER).getId());
+    }
+
+    private static ServerWebExchange exchange(final String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+    }
+
+    private static ConditionData condition(final String paramType, final String operator, final String paramValue) {
+        ConditionData conditionData = new ConditionData();
+        conditionData.setParamType(paramType);
+        conditionData.setOperator(operator);
+        conditionData.setParamName("header".equals(paramType) ? "version" : "id");
+        conditionData.setParamValue(paramValue);
+        return conditionData;
+    }
+
+    private static SelectorData selector(final String id, final MatchModeEnum matchMode, final ConditionData... conditions) {
+        return SelectorData.builder().id(id).enabled(true).sort(Integer.parseInt(id))
+                .type(SelectorTypeEnum.CUSTOM_FLOW.getCode()).matchMode(matchMode.getCode())
+                .conditionList(conditions.length == 0 ? Collections.emptyList() : Lists.newArrayList(conditions)).build();
+    }
+
+    private static RuleData rule(final String id, final MatchModeEnum matchMode, final ConditionData... conditions) {
+        return RuleData.builder().id(id).enabled(true).sort(Integer.parseInt(id)).matchMode(matchMode.getCode())
+                .conditionDataList(conditions.length == 0 ? Collections.emptyList() : Lists.newArrayList(conditions)).build();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.base.cache;
+
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test cases for RpcClientCache.
+ */
+public final class RpcClientCacheTest {
+
+    @Test
+    public void testGetIfUsable() {
+        RpcClientCache<String> cache = new RpcClientCache<>("test", key -> "", client -> { });
+        assertNull(cache.getIfUsable("/a", client -> !client.isEmpty()));
+        assertEquals("", cache.get("/a"));
+        assertNull(cache.getIfUsable("/a", client -> !client.isEmpty()));
+        cache.put("/a", "client");
+        assertEquals("client", cache.getIfUsable("/a", client -> !client.isEmpty()));
+    }
+
+    @Test
+    public void testDestroyRemoved() throws InterruptedException {
+        BlockingQueue<String> destroyed = new LinkedBlockingQueue<>();
+        RpcClientCache<String> cache = new RpcClientCache<>("test", key -> "", destroyed::add, 1, 0, 0);
+        cache.put("/a", "a");
+        cache.put("/b", "b");
+        assertEquals("a", destroyed.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, cache.size());
+        cache.put("/b", "c");
+        assertEquals("b", destroyed.poll(5, TimeUnit.SECONDS));
+        cache.invalidateAll();
+        assertEquals("c", destroyed.poll(5, TimeUnit.SECONDS));
+        cache.discard("d");
+        assertEquals("d", destroyed.poll(5, TimeUnit.SECONDS));
+    }
+}
@@ -107,6 +107,18 @@ public class ParameterDataFactoryTest {
         Assert.assertEquals(ParameterDataFactory.builderData("ip", null, exchange), "127.0.0.1");
     }
 
+    @Test
+    public void testBuildDataIsMemoizedPerRequest() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/uri/path")
+                .header("shenyu", "shenyuHeader")
+                .build());
+        Assert.assertEquals("shenyuHeader", ParameterDataFactory.builderData("header", "shenyu", exchange));
+        Assert.assertEquals("shenyuHeader", ParameterDataCache.obtain(exchange).computeIfAbsent("header", "shenyu", name -> null));
+
+        ServerWebExchange mutated = exchange.mutate().request(builder -> builder.path("/uri/rewrite")).build();
+        Assert.assertEquals("/uri/rewrite", ParameterDataFactory.builderData("uri", null, mutated));
+    }
+
     @Test
     public void testBuildURIData() {
         ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/uri/path")
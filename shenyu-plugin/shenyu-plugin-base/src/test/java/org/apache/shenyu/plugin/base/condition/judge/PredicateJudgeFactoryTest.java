@@ -23,6 +23,9 @@ import org.apache.shenyu.common.enums.ParamTypeEnum;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.expression.spel.SpelParseException;
+
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Test cases for {@link PredicateJudgeFactory}.
@@ -88,6 +91,15 @@ public final class PredicateJudgeFactoryTest {
         conditionData.setParamValue("[/a-zA-Z0-9]+");
         Assert.assertTrue(PredicateJudgeFactory.judge(conditionData, "/http/test"));
         Assert.assertFalse(PredicateJudgeFactory.judge(conditionData, "/http?/test"));
+        conditionData.setParamValue("[/a-z]+");
+        Assert.assertFalse(PredicateJudgeFactory.judge(conditionData, "/http/test1"));
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void testRegexSyntaxError() {
+        conditionData.setOperator(OperatorEnum.REGEX.getAlias());
+        conditionData.setParamValue("[/a-z");
+        PredicateJudgeFactory.judge(conditionData, "/http/test");
     }
 
     @Test
@@ -98,6 +110,24 @@ public final class PredicateJudgeFactoryTest {
         conditionData.setParamValue("#userId % 3 == 0");
         Assert.assertTrue(PredicateJudgeFactory.judge(conditionData, "3"));
         Assert.assertFalse(PredicateJudgeFactory.judge(conditionData, "4"));
+        conditionData.setParamValue("'#userId'.startsWith('00') && #userId > 2");
+        Assert.assertTrue(PredicateJudgeFactory.judge(conditionData, "003"));
+        Assert.assertFalse(PredicateJudgeFactory.judge(conditionData, "3"));
+        Assert.assertFalse(PredicateJudgeFactory.judge(conditionData, "001"));
+        conditionData.setParamValue("\"#userId\".startsWith(\"00\") && #userId > 2");
+        Assert.assertTrue(PredicateJudgeFactory.judge(conditionData, "003"));
+        Assert.assertFalse(PredicateJudgeFactory.judge(conditionData, "001"));
+        conditionData.setParamValue("\"it's #userId\" == 'it''s 3'");
+        Assert.assertTrue(PredicateJudgeFactory.judge(conditionData, "3"));
+        Assert.assertFalse(PredicateJudgeFactory.judge(conditionData, "4"));
+    }
+
+    @Test(expected = SpelParseException.class)
+    public void testSpELParseError() {
+        conditionData.setOperator(OperatorEnum.SPEL.getAlias());
+        conditionData.setParamName("userId");
+        conditionData.setParamValue("#userId >");
+        PredicateJudgeFactory.judge(conditionData, "3");
     }
 
     @Test
@@ -26,21 +26,25 @@ import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.DivideUpstream;
 import org.apache.shenyu.common.dto.convert.rule.impl.DivideRuleHandle;
+import org.apache.shenyu.common.enums.LoadBalanceEnum;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.api.context.UpstreamCallListener;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.divide.balance.stats.UpstreamStats;
+import org.apache.shenyu.plugin.divide.balance.stats.UpstreamStatsManager;
 import org.apache.shenyu.plugin.divide.balance.utils.LoadBalanceUtils;
 import org.apache.shenyu.plugin.divide.cache.UpstreamCacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 
@@ -56,13 +60,7 @@ public class DividePlugin extends AbstractShenyuPlugin {
         ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
         assert shenyuContext != null;
         DivideRuleHandle ruleHandle = UpstreamCacheManager.getInstance().obtainHandle(CacheKeyUtils.INST.getKey(rule));
-        long headerSize = 0;
-        for (List<String> multiHeader : exchange.getRequest().getHeaders().values()) {
-            for (String value : multiHeader) {
-                headerSize += value.getBytes(StandardCharsets.UTF_8).length;
-            }
-        }
-        if (headerSize > ruleHandle.getHeaderMaxSize()) {
+        if (isHeaderTooLarge(exchange.getRequest().getHeaders(), ruleHandle.getHeaderMaxSize())) {
             log.error("request header is too large");
             Object error = ShenyuResultWrap.error(ShenyuResultEnum.REQUEST_HEADER_TOO_LARGE.getCode(), ShenyuResultEnum.REQUEST_HEADER_TOO_LARGE.getMsg(), null);
             return WebFluxResultUtils.result(exchange, error);
@@ -86,12 +84,17 @@ public class DividePlugin extends AbstractShenyuPlugin {
             return WebFluxResultUtils.result(exchange, error);
         }
         // set the http url
-        String domain = buildDomain(divideUpstream);
+        String domain = UpstreamCacheManager.getInstance().obtainTarget(divideUpstream).getBaseUri();
         String realURL = buildRealURL(domain, shenyuContext, exchange);
         exchange.getAttributes().put(Constants.HTTP_URL, realURL);
         // set the http timeout
         exchange.getAttributes().put(Constants.HTTP_TIME_OUT, ruleHandle.getTimeout());
         exchange.getAttributes().put(Constants.HTTP_RETRY, ruleHandle.getRetry());
+        // the in-flight requests and the response time only feed the balancers that read them, the failures only feed the health check
+        UpstreamStats upstreamStats = isStatsRequired(ruleHandle.getLoadBalance()) ? UpstreamStatsManager.getInstance().obtain(divideUpstream.getUpstreamUrl()) : null;
+        if (Objects.nonNull(upstreamStats) || UpstreamCacheManager.getInstance().isHealthCheckEnabled()) {
+            exchange.getAttributes().put(Constants.UPSTREAM_CALL_LISTENER, new UpstreamCallReporter(divideUpstream, upstreamStats));
+        }
         return chain.execute(exchange);
     }
 
@@ -121,29 +124,110 @@ public class DividePlugin extends AbstractShenyuPlugin {
         return WebFluxResultUtils.noRuleResult(pluginName, exchange);
     }
 
-    private String buildDomain(final DivideUpstream divideUpstream) {
-        String protocol = divideUpstream.getProtocol();
-        if (StringUtils.isBlank(protocol)) {
-            protocol = "http://";
+    private static boolean isStatsRequired(final String loadBalance) {
+        return LoadBalanceEnum.LEAST_ACTIVE.getName().equals(loadBalance) || LoadBalanceEnum.PEAK_EWMA.getName().equals(loadBalance);
+    }
+
+    private boolean isHeaderTooLarge(final HttpHeaders headers, final long headerMaxSize) {
+        long charSize = 0;
+        for (List<String> multiHeader : headers.values()) {
+            for (String value : multiHeader) {
+                charSize += value.length();
+            }
+        }
+        // an utf-8 char takes one to three bytes, the exact size is only counted when the bounds are not enough
+        if (charSize > headerMaxSize) {
+            return true;
+        }
+        if (charSize * 3 <= headerMaxSize) {
+            return false;
+        }
+        long headerSize = 0;
+        for (List<String> multiHeader : headers.values()) {
+            for (String value : multiHeader) {
+                headerSize += utf8Length(value);
+            }
+        }
+        return headerSize > headerMaxSize;
+    }
+
+    private static int utf8Length(final String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                // a surrogate pair takes four bytes
+                length += 2;
+            } else {
+                length += 3;
+            }
         }
-        return protocol + divideUpstream.getUpstreamUrl().trim();
+        return length;
     }
 
     private String buildRealURL(final String domain, final ShenyuContext shenyuContext, final ServerWebExchange exchange) {
-        String path = domain;
         final String rewriteURI = (String) exchange.getAttributes().get(Constants.REWRITE_URI);
-        if (StringUtils.isNoneBlank(rewriteURI)) {
-            path = path + rewriteURI;
-        } else {
-            final String realUrl = shenyuContext.getRealUrl();
-            if (StringUtils.isNoneBlank(realUrl)) {
-                path = path + realUrl;
-            }
+        final String path = StringUtils.isNoneBlank(rewriteURI) ? rewriteURI : shenyuContext.getRealUrl();
+        final String query = exchange.getRequest().getURI().getQuery();
+        StringBuilder realURL = new StringBuilder(domain.length() + StringUtils.length(path) + StringUtils.length(query) + 1).append(domain);
+        if (StringUtils.isNoneBlank(path)) {
+            realURL.append(path);
         }
-        String query = exchange.getRequest().getURI().getQuery();
         if (StringUtils.isNoneBlank(query)) {
-            return path + "?" + query;
+            realURL.append('?').append(query);
+        }
+        return realURL.toString();
+    }
+
+    /**
+     * Feeds the stats and the health check of the upstream with the call made by the client plugin, a cancelled call
+     * tells nothing about the upstream and a failure of the later plugins is not reported.
+     */
+    private static final class UpstreamCallReporter implements UpstreamCallListener {
+
+        private final DivideUpstream divideUpstream;
+
+        private final UpstreamStats upstreamStats;
+
+        private long start;
+
+        UpstreamCallReporter(final DivideUpstream divideUpstream, final UpstreamStats upstreamStats) {
+            this.divideUpstream = divideUpstream;
+            this.upstreamStats = upstreamStats;
+        }
+
+        @Override
+        public void onStart() {
+            if (Objects.nonNull(upstreamStats)) {
+                start = upstreamStats.begin();
+            }
+        }
+
+        @Override
+        public void onSuccess() {
+            end(true);
+            UpstreamCacheManager.getInstance().report(divideUpstream, true);
+        }
+
+        @Override
+        public void onError(final Throwable error) {
+            end(false);
+            UpstreamCacheManager.getInstance().report(divideUpstream, false);
+        }
+
+        @Override
+        public void onCancel() {
+            end(false);
+        }
+
+        private void end(final boolean succeeded) {
+            if (Objects.nonNull(upstreamStats)) {
+                upstreamStats.end(start, succeeded);
+            }
         }
-        return path;
     }
 }
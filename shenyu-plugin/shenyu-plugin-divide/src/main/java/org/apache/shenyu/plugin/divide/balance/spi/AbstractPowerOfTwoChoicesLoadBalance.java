@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.divide.balance.stats.UpstreamStats;
+import org.apache.shenyu.plugin.divide.balance.stats.UpstreamStatsManager;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The load balance which picks two random upstreams and selects the one with the lower cost per weight.
+ */
+public abstract class AbstractPowerOfTwoChoicesLoadBalance extends AbstractLoadBalance {
+
+    /**
+     * Get the cost of sending one more request to the upstream.
+     *
+     * @param stats the upstream stats
+     * @return the cost
+     */
+    protected abstract double getCost(UpstreamStats stats);
+
+    @Override
+    public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int size = upstreamList.size();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        DivideUpstream firstUpstream = upstreamList.get(first);
+        DivideUpstream secondUpstream = upstreamList.get(second);
+        int firstWeight = getWeight(firstUpstream);
+        int secondWeight = getWeight(secondUpstream);
+        if (firstWeight <= 0 || secondWeight <= 0) {
+            return firstWeight >= secondWeight ? firstUpstream : secondUpstream;
+        }
+        UpstreamStatsManager statsManager = UpstreamStatsManager.getInstance();
+        double firstCost = getCost(statsManager.obtain(firstUpstream.getUpstreamUrl())) / firstWeight;
+        double secondCost = getCost(statsManager.obtain(secondUpstream.getUpstreamUrl())) / secondWeight;
+        return firstCost <= secondCost ? firstUpstream : secondUpstream;
+    }
+}
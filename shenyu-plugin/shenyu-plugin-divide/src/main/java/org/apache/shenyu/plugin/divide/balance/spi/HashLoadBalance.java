@@ -17,60 +17,92 @@
 
 package org.apache.shenyu.plugin.divide.balance.spi;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import org.apache.shenyu.common.dto.convert.DivideUpstream;
-import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.spi.Join;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
  * hash algorithm impl.
+ *
+ * <p>The hash ring of an upstream list is built once and reused until the upstream cache publishes a new list,
+ * the number of virtual nodes is set by {@code shenyu.upstream.hash.virtualNodes}.
  */
 @Join
 public class HashLoadBalance extends AbstractLoadBalance {
 
-    private static final int VIRTUAL_NODE_NUM = 5;
+    private static final int VIRTUAL_NODE_NUM = Math.max(1, Integer.getInteger("shenyu.upstream.hash.virtualNodes", 5));
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_32();
+
+    /**
+     * upstream list -> hash ring, the keys are weak and compared by identity.
+     */
+    private static final LoadingCache<List<DivideUpstream>, HashRing> RING_CACHE = CacheBuilder.newBuilder()
+            .weakKeys().maximumSize(4096).build(new CacheLoader<List<DivideUpstream>, HashRing>() {
+                @Override
+                public HashRing load(final List<DivideUpstream> upstreamList) {
+                    return new HashRing(upstreamList);
+                }
+            });
 
     @Override
     public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
-        final ConcurrentSkipListMap<Long, DivideUpstream> treeMap = new ConcurrentSkipListMap<>();
-        for (DivideUpstream address : upstreamList) {
-            for (int i = 0; i < VIRTUAL_NODE_NUM; i++) {
-                long addressHash = hash("SOUL-" + address.getUpstreamUrl() + "-HASH-" + i);
-                treeMap.put(addressHash, address);
-            }
-        }
-        long hash = hash(String.valueOf(ip));
-        SortedMap<Long, DivideUpstream> lastRing = treeMap.tailMap(hash);
-        if (!lastRing.isEmpty()) {
-            return lastRing.get(lastRing.firstKey());
-        }
-        return treeMap.firstEntry().getValue();
+        return RING_CACHE.getUnchecked(upstreamList).select(hash(String.valueOf(ip)));
     }
 
     private static long hash(final String key) {
-        // md5 byte
-        MessageDigest md5;
-        try {
-            md5 = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new ShenyuException("MD5 not supported", e);
+        // murmur3 hash code, unsigned 32-bits
+        return HASH_FUNCTION.hashString(key, StandardCharsets.UTF_8).asInt() & 0xffffffffL;
+    }
+
+    private static final class HashRing {
+
+        private final long[] hashes;
+
+        private final DivideUpstream[] upstreams;
+
+        HashRing(final List<DivideUpstream> upstreamList) {
+            long[] nodes = new long[upstreamList.size() * VIRTUAL_NODE_NUM];
+            int count = 0;
+            for (int index = 0; index < upstreamList.size(); index++) {
+                DivideUpstream address = upstreamList.get(index);
+                for (int i = 0; i < VIRTUAL_NODE_NUM; i++) {
+                    // hash in the high bits, list index in the low bits, so one sort keeps them together
+                    nodes[count++] = hash("SOUL-" + address.getUpstreamUrl() + "-HASH-" + i) << 31 | index;
+                }
+            }
+            Arrays.sort(nodes);
+            long[] ringHashes = new long[count];
+            DivideUpstream[] ringUpstreams = new DivideUpstream[count];
+            int size = 0;
+            for (long node : nodes) {
+                long nodeHash = node >>> 31;
+                // the same hash keeps the last upstream in the list, as a map put does
+                if (size > 0 && ringHashes[size - 1] == nodeHash) {
+                    size--;
+                }
+                ringHashes[size] = nodeHash;
+                ringUpstreams[size] = upstreamList.get((int) (node & Integer.MAX_VALUE));
+                size++;
+            }
+            this.hashes = Arrays.copyOf(ringHashes, size);
+            this.upstreams = Arrays.copyOf(ringUpstreams, size);
+        }
+
+        private DivideUpstream select(final long hash) {
+            int position = Arrays.binarySearch(hashes, hash);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            return position < hashes.length ? upstreams[position] : upstreams[0];
         }
-        md5.reset();
-        byte[] keyBytes;
-        keyBytes = key.getBytes(StandardCharsets.UTF_8);
-        md5.update(keyBytes);
-        byte[] digest = md5.digest();
-        // hash code, Truncate to 32-bits
-        long hashCode = (long) (digest[3] & 0xFF) << 24
-                | ((long) (digest[2] & 0xFF) << 16)
-                | ((long) (digest[1] & 0xFF) << 8)
-                | (digest[0] & 0xFF);
-        return hashCode & 0xffffffffL;
     }
 }
@@ -17,144 +17,124 @@
 
 package org.apache.shenyu.plugin.divide.balance.spi;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.convert.DivideUpstream;
 import org.apache.shenyu.spi.Join;
 
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Round robin load balance impl.
+ *
+ * <p>The smooth weighted round robin sequence of an upstream list is computed once, a request only moves
+ * the cursor of the list. The upstream cache publishes a new list for every change of a selector and of the
+ * healthy upstreams, so a list never changes and the state is never shared between selectors. The sequence
+ * is only recomputed while an upstream is warming up.
  */
 @Join
 public class RoundRobinLoadBalance extends AbstractLoadBalance {
 
-    private final int recyclePeriod = 60000;
+    private static final int MAX_SEQUENCE_LENGTH = 4096;
 
-    private final ConcurrentMap<String, ConcurrentMap<String, WeightedRoundRobin>> methodWeightMap = new ConcurrentHashMap<>(16);
+    private static final long WARMUP_REFRESH_PERIOD = 1000L;
 
-    private final AtomicBoolean updateLock = new AtomicBoolean();
+    /**
+     * upstream list -> round robin state, the keys are weak and compared by identity.
+     */
+    private final LoadingCache<List<DivideUpstream>, RoundRobin> roundRobinCache = CacheBuilder.newBuilder()
+            .weakKeys().maximumSize(4096).build(new CacheLoader<List<DivideUpstream>, RoundRobin>() {
+                @Override
+                public RoundRobin load(final List<DivideUpstream> upstreamList) {
+                    return new RoundRobin();
+                }
+            });
 
     @Override
     public DivideUpstream doSelect(final List<DivideUpstream> upstreamList, final String ip) {
-        String key = upstreamList.get(0).getUpstreamUrl();
-        ConcurrentMap<String, WeightedRoundRobin> map = methodWeightMap.get(key);
-        if (map == null) {
-            methodWeightMap.putIfAbsent(key, new ConcurrentHashMap<>(16));
-            map = methodWeightMap.get(key);
-        }
-        int totalWeight = 0;
-        long maxCurrent = Long.MIN_VALUE;
+        RoundRobin roundRobin = roundRobinCache.getUnchecked(upstreamList);
         long now = System.currentTimeMillis();
-        DivideUpstream selectedInvoker = null;
-        WeightedRoundRobin selectedWRR = null;
-        for (DivideUpstream upstream : upstreamList) {
-            String rKey = upstream.getUpstreamUrl();
-            WeightedRoundRobin weightedRoundRobin = map.get(rKey);
-            int weight = getWeight(upstream);
-            if (weightedRoundRobin == null) {
-                weightedRoundRobin = new WeightedRoundRobin();
-                weightedRoundRobin.setWeight(weight);
-                map.putIfAbsent(rKey, weightedRoundRobin);
-            }
-            if (weight != weightedRoundRobin.getWeight()) {
-                //weight changed
-                weightedRoundRobin.setWeight(weight);
-            }
-            long cur = weightedRoundRobin.increaseCurrent();
-            weightedRoundRobin.setLastUpdate(now);
-            if (cur > maxCurrent) {
-                maxCurrent = cur;
-                selectedInvoker = upstream;
-                selectedWRR = weightedRoundRobin;
-            }
-            totalWeight += weight;
+        Sequence sequence = roundRobin.sequence;
+        if (sequence == null || sequence.refreshAt <= now) {
+            sequence = buildSequence(upstreamList, now);
+            roundRobin.sequence = sequence;
+        }
+        DivideUpstream[] upstreams = sequence.upstreams;
+        return upstreams[(int) Math.floorMod(roundRobin.cursor.getAndIncrement(), (long) upstreams.length)];
+    }
+
+    private Sequence buildSequence(final List<DivideUpstream> upstreamList, final long now) {
+        int size = upstreamList.size();
+        int[] weights = new int[size];
+        long totalWeight = 0;
+        int gcd = 0;
+        boolean warming = false;
+        for (int i = 0; i < size; i++) {
+            DivideUpstream upstream = upstreamList.get(i);
+            weights[i] = getWeight(upstream);
+            totalWeight += weights[i];
+            gcd = gcd(gcd, weights[i]);
+            int warmup = upstream.getWarmup() > 0 ? upstream.getWarmup() : Constants.DEFAULT_WARMUP;
+            warming |= upstream.isStatus() && upstream.getTimestamp() > 0 && now - upstream.getTimestamp() < warmup;
+        }
+        long refreshAt = warming ? now + WARMUP_REFRESH_PERIOD : Long.MAX_VALUE;
+        if (totalWeight == 0) {
+            return new Sequence(new DivideUpstream[]{upstreamList.get(0)}, refreshAt);
+        }
+        totalWeight = 0;
+        for (int i = 0; i < size; i++) {
+            weights[i] /= gcd;
+            totalWeight += weights[i];
         }
-        if (!updateLock.get() && upstreamList.size() != map.size() && updateLock.compareAndSet(false, true)) {
-            try {
-                // copy -> modify -> update reference
-                ConcurrentMap<String, WeightedRoundRobin> newMap = new ConcurrentHashMap<>(map);
-                newMap.entrySet().removeIf(item -> now - item.getValue().getLastUpdate() > recyclePeriod);
-                methodWeightMap.put(key, newMap);
-            } finally {
-                updateLock.set(false);
+        if (totalWeight > MAX_SEQUENCE_LENGTH) {
+            // keep the ratio of the weights, an upstream with weight keeps at least one slot
+            long scaledTotal = 0;
+            for (int i = 0; i < size; i++) {
+                weights[i] = weights[i] == 0 ? 0 : (int) Math.max(1L, (long) weights[i] * MAX_SEQUENCE_LENGTH / totalWeight);
+                scaledTotal += weights[i];
             }
+            totalWeight = scaledTotal;
         }
-        if (selectedInvoker != null) {
-            selectedWRR.sel(totalWeight);
-            return selectedInvoker;
+        // smooth weighted round robin, the same order as adding the weights and picking the first maximum on every request
+        DivideUpstream[] upstreams = new DivideUpstream[(int) totalWeight];
+        long[] current = new long[size];
+        for (int step = 0; step < upstreams.length; step++) {
+            int selected = 0;
+            for (int i = 0; i < size; i++) {
+                current[i] += weights[i];
+                if (current[i] > current[selected]) {
+                    selected = i;
+                }
+            }
+            current[selected] -= totalWeight;
+            upstreams[step] = upstreamList.get(selected);
         }
-        // should not happen here
-        return upstreamList.get(0);
+        return new Sequence(upstreams, refreshAt);
     }
 
-    /**
-     * The type Weighted round robin.
-     */
-    protected static class WeightedRoundRobin {
-
-        private int weight;
-
-        private final AtomicLong current = new AtomicLong(0);
+    private static int gcd(final int a, final int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
 
-        private long lastUpdate;
+    private static final class RoundRobin {
 
-        /**
-         * Gets weight.
-         *
-         * @return the weight
-         */
-        int getWeight() {
-            return weight;
-        }
+        private final AtomicLong cursor = new AtomicLong();
 
-        /**
-         * Sets weight.
-         *
-         * @param weight the weight
-         */
-        void setWeight(final int weight) {
-            this.weight = weight;
-            current.set(0);
-        }
+        private volatile Sequence sequence;
+    }
 
-        /**
-         * Increase current long.
-         *
-         * @return the long
-         */
-        long increaseCurrent() {
-            return current.addAndGet(weight);
-        }
+    private static final class Sequence {
 
-        /**
-         * Sel.
-         *
-         * @param total the total
-         */
-        void sel(final int total) {
-            current.addAndGet(-1 * total);
-        }
+        private final DivideUpstream[] upstreams;
 
-        /**
-         * Gets last update.
-         *
-         * @return the last update
-         */
-        long getLastUpdate() {
-            return lastUpdate;
-        }
+        private final long refreshAt;
 
-        /**
-         * Sets last update.
-         *
-         * @param lastUpdate the last update
-         */
-        void setLastUpdate(final long lastUpdate) {
-            this.lastUpdate = lastUpdate;
+        Sequence(final DivideUpstream[] upstreams, final long refreshAt) {
+            this.upstreams = upstreams;
+            this.refreshAt = refreshAt;
         }
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.stats;
+
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The request statistics of one upstream: the in-flight requests and the peak exponentially weighted response time.
+ */
+public final class UpstreamStats {
+
+    /**
+     * The cost of an upstream with requests in flight but without any response time yet.
+     */
+    private static final double PENALTY = TimeUnit.SECONDS.toNanos(60);
+
+    private static final double DECAY_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("shenyu.upstream.ewma.decaySeconds", 10L));
+
+    private final String[] labelValues;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicLong ewmaBits = new AtomicLong(Double.doubleToRawLongBits(0));
+
+    private final AtomicLong lastObserved = new AtomicLong();
+
+    UpstreamStats(final String upstreamUrl) {
+        this.labelValues = new String[]{upstreamUrl};
+    }
+
+    /**
+     * Begin a request.
+     *
+     * @return the start time in nanos
+     */
+    public long begin() {
+        active.incrementAndGet();
+        MetricsReporter.gaugeIncrement(LabelNames.UPSTREAM_ACTIVE_REQUESTS, labelValues);
+        return System.nanoTime();
+    }
+
+    /**
+     * End a request.
+     *
+     * @param start     the start time in nanos
+     * @param succeeded whether the request is succeeded, the response time of a failed or cancelled request is not observed
+     */
+    public void end(final long start, final boolean succeeded) {
+        active.decrementAndGet();
+        MetricsReporter.gaugeDecrement(LabelNames.UPSTREAM_ACTIVE_REQUESTS, labelValues);
+        if (succeeded) {
+            long now = System.nanoTime();
+            observe(now - start, now);
+            MetricsReporter.recordTime(LabelNames.UPSTREAM_LATENCY_NAME, labelValues, TimeUnit.NANOSECONDS.toMillis(now - start));
+        }
+    }
+
+    /**
+     * Get the in-flight requests.
+     *
+     * @return the active count
+     */
+    public int getActive() {
+        return active.get();
+    }
+
+    /**
+     * Get the peak ewma response time.
+     *
+     * @return the response time in nanos, 0 if there is no response yet
+     */
+    public double getEwma() {
+        return Double.longBitsToDouble(ewmaBits.get());
+    }
+
+    /**
+     * Get the cost of sending one more request, the peak ewma response time scaled by the in-flight requests.
+     *
+     * @return the cost
+     */
+    public double getCost() {
+        int current = active.get();
+        double rtt = getEwma();
+        if (rtt == 0 && current > 0) {
+            return PENALTY + current;
+        }
+        return rtt * (current + 1);
+    }
+
+    void observe(final long rtt, final long now) {
+        // the decay is taken from the previous observation, a concurrent observation only shortens it
+        double weight = Math.exp(-Math.max(0, now - lastObserved.getAndSet(now)) / DECAY_NANOS);
+        long prevBits;
+        long nextBits;
+        do {
+            prevBits = ewmaBits.get();
+            double prev = Double.longBitsToDouble(prevBits);
+            // a slower response is taken at once, a faster one decays into the average
+            double next = rtt > prev ? rtt : prev * weight + rtt * (1 - weight);
+            nextBits = Double.doubleToRawLongBits(next);
+        } while (prevBits != nextBits && !ewmaBits.compareAndSet(prevBits, nextBits));
+    }
+}
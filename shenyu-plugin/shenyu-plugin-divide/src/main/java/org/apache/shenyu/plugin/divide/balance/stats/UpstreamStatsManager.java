@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.stats;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The request statistics of the upstreams, keyed by the upstream url so they outlive the upstream list refreshes.
+ */
+public final class UpstreamStatsManager {
+
+    private static final UpstreamStatsManager INSTANCE = new UpstreamStatsManager();
+
+    private final LoadingCache<String, UpstreamStats> statsCache = CacheBuilder.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES).build(new CacheLoader<String, UpstreamStats>() {
+                @Override
+                public UpstreamStats load(final String upstreamUrl) {
+                    return new UpstreamStats(upstreamUrl);
+                }
+            });
+
+    private UpstreamStatsManager() {
+        MetricsReporter.registerGauge(LabelNames.UPSTREAM_ACTIVE_REQUESTS, new String[]{"upstream"}, "the shenyu upstream active requests");
+        MetricsReporter.registerHistogram(LabelNames.UPSTREAM_LATENCY_NAME, new String[]{"upstream"}, "the shenyu upstream latency millis");
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     */
+    public static UpstreamStatsManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Obtain the statistics of the upstream.
+     *
+     * @param upstreamUrl the upstream url
+     * @return the upstream stats
+     */
+    public UpstreamStats obtain(final String upstreamUrl) {
+        return statsCache.getUnchecked(upstreamUrl);
+    }
+}
@@ -17,43 +17,76 @@
 
 package org.apache.shenyu.plugin.divide.cache;
 
-import com.google.common.collect.Lists;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Maps;
-import lombok.extern.slf4j.Slf4j;
 import org.apache.shenyu.common.concurrent.ShenyuThreadFactory;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.dto.convert.DivideUpstream;
 import org.apache.shenyu.common.dto.convert.rule.impl.DivideRuleHandle;
 import org.apache.shenyu.common.utils.GsonUtils;
-import org.apache.shenyu.common.utils.UpstreamCheckUtils;
 import org.apache.shenyu.plugin.base.cache.RuleHandleCache;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 /**
  * this is divide  http url upstream.
  */
-@Slf4j
 public final class UpstreamCacheManager extends RuleHandleCache<String, DivideRuleHandle> {
 
     private static final UpstreamCacheManager INSTANCE = new UpstreamCacheManager();
 
     private static final Map<String, List<DivideUpstream>> UPSTREAM_MAP = Maps.newConcurrentMap();
 
-    private static final Map<String, List<DivideUpstream>> UPSTREAM_MAP_TEMP = Maps.newConcurrentMap();
+    /**
+     * selectorId -> the published list of the healthy upstreams.
+     */
+    private static final ConcurrentMap<String, List<DivideUpstream>> UPSTREAM_MAP_TEMP = Maps.newConcurrentMap();
+
+    /**
+     * selectorId -> the selector handle the upstream list is parsed from.
+     */
+    private static final Map<String, String> HANDLE_MAP = Maps.newConcurrentMap();
+
+    /**
+     * divide upstream -> parsed target, the keys are weak and compared by identity.
+     */
+    private static final LoadingCache<DivideUpstream, UpstreamTarget> TARGET_CACHE = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<DivideUpstream, UpstreamTarget>() {
+                @Override
+                public UpstreamTarget load(final DivideUpstream divideUpstream) {
+                    return UpstreamTarget.of(divideUpstream);
+                }
+            });
+
+    private final UpstreamHealthChecker healthChecker;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final AtomicBoolean checking = new AtomicBoolean();
+
+    private final AtomicBoolean publishing = new AtomicBoolean();
 
     /**
      * suggest shenyu.upstream.scheduledTime set 1 SECONDS.
      */
     private UpstreamCacheManager() {
         boolean check = Boolean.parseBoolean(System.getProperty("shenyu.upstream.check", "false"));
+        healthChecker = check ? new UpstreamHealthChecker() : null;
+        scheduler = check ? new ScheduledThreadPoolExecutor(1, ShenyuThreadFactory.create("scheduled-upstream-task", false)) : null;
         if (check) {
-            new ScheduledThreadPoolExecutor(1, ShenyuThreadFactory.create("scheduled-upstream-task", false))
-                    .scheduleWithFixedDelay(this::scheduled,
-                            30, Integer.parseInt(System.getProperty("shenyu.upstream.scheduledTime", "30")), TimeUnit.SECONDS);
+            scheduler.scheduleWithFixedDelay(this::scheduled,
+                    30, Integer.parseInt(System.getProperty("shenyu.upstream.scheduledTime", "30")), TimeUnit.SECONDS);
         }
     }
 
@@ -76,6 +109,16 @@ public final class UpstreamCacheManager extends RuleHandleCache<String, DivideRu
         return UPSTREAM_MAP_TEMP.get(selectorId);
     }
 
+    /**
+     * Obtain the parsed target of the upstream.
+     *
+     * @param divideUpstream the divide upstream
+     * @return the upstream target
+     */
+    public UpstreamTarget obtainTarget(final DivideUpstream divideUpstream) {
+        return TARGET_CACHE.getUnchecked(divideUpstream);
+    }
+
     /**
      * Remove by key.
      *
@@ -83,6 +126,7 @@ public final class UpstreamCacheManager extends RuleHandleCache<String, DivideRu
      */
     public void removeByKey(final String key) {
         UPSTREAM_MAP_TEMP.remove(key);
+        HANDLE_MAP.remove(key);
     }
 
     /**
@@ -91,45 +135,110 @@ public final class UpstreamCacheManager extends RuleHandleCache<String, DivideRu
      * @param selectorData the selector data
      */
     public void submit(final SelectorData selectorData) {
-        final List<DivideUpstream> upstreamList = GsonUtils.getInstance().fromList(selectorData.getHandle(), DivideUpstream.class);
+        final String selectorId = selectorData.getId();
+        final String handle = selectorData.getHandle();
+        final List<DivideUpstream> parsedList = UPSTREAM_MAP.get(selectorId);
+        // the same handle is synced again, the parsed upstreams are published again without parsing
+        if (null != parsedList && Objects.equals(HANDLE_MAP.get(selectorId), handle)) {
+            publishHealthy(selectorId, parsedList);
+            return;
+        }
+        final List<DivideUpstream> upstreamList = GsonUtils.getInstance().fromList(handle, DivideUpstream.class);
         if (null != upstreamList && upstreamList.size() > 0) {
-            UPSTREAM_MAP.put(selectorData.getId(), upstreamList);
-            UPSTREAM_MAP_TEMP.put(selectorData.getId(), upstreamList);
+            upstreamList.forEach(upstream -> TARGET_CACHE.put(upstream, UpstreamTarget.of(upstream)));
+            UPSTREAM_MAP.put(selectorId, upstreamList);
+            if (null != handle) {
+                HANDLE_MAP.put(selectorId, handle);
+            }
+            publishHealthy(selectorId, upstreamList);
         } else {
-            UPSTREAM_MAP.remove(selectorData.getId());
-            UPSTREAM_MAP_TEMP.remove(selectorData.getId());
+            UPSTREAM_MAP.remove(selectorId);
+            UPSTREAM_MAP_TEMP.remove(selectorId);
+            HANDLE_MAP.remove(selectorId);
         }
     }
 
+    /**
+     * Whether the health check of the upstreams is enabled.
+     *
+     * @return true if the results of the requests should be reported
+     */
+    public boolean isHealthCheckEnabled() {
+        return Objects.nonNull(healthChecker);
+    }
+
+    /**
+     * Report the result of a request to the upstream, the failures count toward the unhealthy threshold
+     * when the health check is enabled. A health change is published on the scheduler of the health check,
+     * the changes reported before it runs are published together.
+     *
+     * @param divideUpstream the divide upstream
+     * @param success        whether the request succeeded
+     */
+    public void report(final DivideUpstream divideUpstream, final boolean success) {
+        if (Objects.nonNull(healthChecker) && healthChecker.record(divideUpstream, success) && publishing.compareAndSet(false, true)) {
+            scheduler.execute(this::publishAll);
+        }
+    }
+
+    private void publishAll() {
+        // reset first, a health changed while publishing schedules another round
+        publishing.set(false);
+        UPSTREAM_MAP.forEach(this::publishHealthy);
+    }
+
     private void scheduled() {
-        if (UPSTREAM_MAP.size() > 0) {
-            UPSTREAM_MAP.forEach((k, v) -> {
-                List<DivideUpstream> result = check(v);
-                if (result.size() > 0) {
-                    UPSTREAM_MAP_TEMP.put(k, result);
-                } else {
-                    UPSTREAM_MAP_TEMP.remove(k);
-                }
-            });
+        if (UPSTREAM_MAP.isEmpty() || !checking.compareAndSet(false, true)) {
+            // the last round is still running
+            return;
         }
+        Map<String, List<DivideUpstream>> upstreamMap = new HashMap<>(UPSTREAM_MAP);
+        List<DivideUpstream> upstreams = upstreamMap.values().stream().flatMap(List::stream).collect(Collectors.toList());
+        healthChecker.check(upstreams)
+                .doFinally(signal -> {
+                    upstreamMap.forEach(this::publishHealthy);
+                    checking.set(false);
+                })
+                .subscribe();
     }
 
-    private List<DivideUpstream> check(final List<DivideUpstream> upstreamList) {
-        List<DivideUpstream> resultList = Lists.newArrayListWithCapacity(upstreamList.size());
+    private void publishHealthy(final String selectorId, final List<DivideUpstream> upstreamList) {
+        List<DivideUpstream> healthyList = filterHealthy(upstreamList);
+        UPSTREAM_MAP_TEMP.compute(selectorId, (key, current) -> {
+            // the selector is submitted again or removed while checking
+            if (UPSTREAM_MAP.get(key) != upstreamList) {
+                return current;
+            }
+            if (healthyList.isEmpty()) {
+                return null;
+            }
+            // the list is only swapped when the healthy upstreams change, so the balancer states are kept
+            return Objects.nonNull(current) && isSameUpstreams(current, healthyList) ? current : healthyList;
+        });
+    }
+
+    private List<DivideUpstream> filterHealthy(final List<DivideUpstream> upstreamList) {
+        if (Objects.isNull(healthChecker)) {
+            return upstreamList;
+        }
+        List<DivideUpstream> healthyList = new ArrayList<>(upstreamList.size());
         for (DivideUpstream divideUpstream : upstreamList) {
-            final boolean pass = UpstreamCheckUtils.checkUrl(divideUpstream.getUpstreamUrl());
-            if (pass) {
-                if (!divideUpstream.isStatus()) {
-                    divideUpstream.setTimestamp(System.currentTimeMillis());
-                    divideUpstream.setStatus(true);
-                    log.info("UpstreamCacheManager detect success the url: {}, host: {} ", divideUpstream.getUpstreamUrl(), divideUpstream.getUpstreamHost());
-                }
-                resultList.add(divideUpstream);
-            } else {
-                divideUpstream.setStatus(false);
-                log.error("check the url={} is fail ", divideUpstream.getUpstreamUrl());
+            if (healthChecker.isHealthy(divideUpstream)) {
+                healthyList.add(divideUpstream);
+            }
+        }
+        return healthyList.size() == upstreamList.size() ? upstreamList : healthyList;
+    }
+
+    private static boolean isSameUpstreams(final List<DivideUpstream> current, final List<DivideUpstream> healthyList) {
+        if (current.size() != healthyList.size()) {
+            return false;
+        }
+        for (int i = 0; i < current.size(); i++) {
+            if (current.get(i) != healthyList.get(i)) {
+                return false;
             }
         }
-        return resultList;
+        return true;
     }
 }
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.cache;
+
+import com.google.common.cache.CacheBuilder;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.tcp.TcpClient;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The non-blocking health checker of the divide upstreams.
+ *
+ * <p>The upstreams are probed on netty with bounded concurrency, by a tcp connect or by a http get of
+ * {@code shenyu.upstream.check.path}. An upstream turns unhealthy after {@code shenyu.upstream.check.unhealthyThreshold}
+ * consecutive failures, active or passive, and healthy again after {@code shenyu.upstream.check.healthyThreshold}
+ * consecutive successful probes.
+ *
+ * <p>The health is only kept by the checker, the divide upstreams are shared with the request threads and are
+ * never changed, the upstream cache publishes a new list of the healthy upstreams instead.
+ */
+@Slf4j
+final class UpstreamHealthChecker {
+
+    private final int timeout = Integer.parseInt(System.getProperty("shenyu.upstream.check.timeout", "3000"));
+
+    private final int concurrency = Integer.parseInt(System.getProperty("shenyu.upstream.check.concurrency", "64"));
+
+    private final int healthyThreshold = Math.max(1, Integer.parseInt(System.getProperty("shenyu.upstream.check.healthyThreshold", "1")));
+
+    private final int unhealthyThreshold = Math.max(1, Integer.parseInt(System.getProperty("shenyu.upstream.check.unhealthyThreshold", "3")));
+
+    private final String path = System.getProperty("shenyu.upstream.check.path", "");
+
+    private final TcpClient tcpClient = TcpClient.newConnection().option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout);
+
+    private final HttpClient httpClient = HttpClient.create().tcpConfiguration(tcp -> tcp.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeout));
+
+    /**
+     * upstream -> the health and the consecutive results, the keys are weak and compared by identity.
+     */
+    private final Map<DivideUpstream, HealthState> states = CacheBuilder.newBuilder().weakKeys().<DivideUpstream, HealthState>build().asMap();
+
+    /**
+     * Probe the upstreams.
+     *
+     * @param upstreams the upstreams
+     * @return the count of the upstreams whose health changed
+     */
+    Mono<Long> check(final Collection<DivideUpstream> upstreams) {
+        return Flux.fromIterable(upstreams)
+                .flatMap(upstream -> probe(upstream).map(pass -> record(upstream, pass)), concurrency)
+                .filter(Boolean::booleanValue)
+                .count();
+    }
+
+    /**
+     * Whether the upstream is healthy, an upstream without any result keeps its configured status.
+     *
+     * @param upstream the upstream
+     * @return true if healthy
+     */
+    boolean isHealthy(final DivideUpstream upstream) {
+        HealthState state = states.get(upstream);
+        return Objects.isNull(state) ? upstream.isStatus() : state.healthy;
+    }
+
+    /**
+     * Record the result of a request or probe.
+     *
+     * @param upstream the upstream
+     * @param pass     whether it succeeded
+     * @return true if the health of the upstream changed
+     */
+    boolean record(final DivideUpstream upstream, final boolean pass) {
+        HealthState state = states.computeIfAbsent(upstream, key -> new HealthState(key.isStatus()));
+        synchronized (state) {
+            if (pass) {
+                state.failures = 0;
+                state.successes++;
+                if (!state.healthy && state.successes >= healthyThreshold) {
+                    state.healthy = true;
+                    log.info("UpstreamCacheManager detect success the url: {}, host: {} ", upstream.getUpstreamUrl(), upstream.getUpstreamHost());
+                    return true;
+                }
+                return false;
+            }
+            state.successes = 0;
+            state.failures++;
+            if (state.healthy && state.failures >= unhealthyThreshold) {
+                state.healthy = false;
+                log.error("check the url={} is fail ", upstream.getUpstreamUrl());
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private Mono<Boolean> probe(final DivideUpstream upstream) {
+        UpstreamTarget target = UpstreamCacheManager.getInstance().obtainTarget(upstream);
+        Mono<Boolean> probe;
+        if (StringUtils.isBlank(path)) {
+            probe = tcpClient.host(target.getHost()).port(target.getPort()).connect()
+                    .map(connection -> {
+                        connection.dispose();
+                        return true;
+                    });
+        } else {
+            probe = httpClient.get().uri(target.getBaseUri() + path).response()
+                    .map(response -> response.status().code() < 400);
+        }
+        return probe.timeout(Duration.ofMillis(timeout)).onErrorReturn(false);
+    }
+
+    private static final class HealthState {
+
+        private volatile boolean healthy;
+
+        private int successes;
+
+        private int failures;
+
+        HealthState(final boolean healthy) {
+            this.healthy = healthy;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.cache;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+
+/**
+ * The parsed target of a divide upstream, it is built once for every upstream instance.
+ */
+public final class UpstreamTarget {
+
+    private static final String DEFAULT_PROTOCOL = "http://";
+
+    private static final String SCHEME_SEPARATOR = "://";
+
+    private final String scheme;
+
+    private final String host;
+
+    private final int port;
+
+    private final String baseUri;
+
+    private UpstreamTarget(final String scheme, final String host, final int port, final String baseUri) {
+        this.scheme = scheme;
+        this.host = host;
+        this.port = port;
+        this.baseUri = baseUri;
+    }
+
+    /**
+     * Parse the target of the upstream.
+     *
+     * @param divideUpstream the divide upstream
+     * @return the upstream target
+     */
+    public static UpstreamTarget of(final DivideUpstream divideUpstream) {
+        String protocol = StringUtils.isBlank(divideUpstream.getProtocol()) ? DEFAULT_PROTOCOL : divideUpstream.getProtocol();
+        String url = StringUtils.trimToEmpty(divideUpstream.getUpstreamUrl());
+        int schemeEnd = protocol.indexOf(SCHEME_SEPARATOR);
+        String scheme = (schemeEnd < 0 ? protocol : protocol.substring(0, schemeEnd)).trim();
+        int authorityEnd = url.indexOf('/');
+        String authority = authorityEnd < 0 ? url : url.substring(0, authorityEnd);
+        int portStart = authority.lastIndexOf(':');
+        String host = authority;
+        int port = -1;
+        // a colon inside the brackets of an ipv6 address is not the port separator
+        if (portStart > authority.lastIndexOf(']')) {
+            host = authority.substring(0, portStart);
+            port = parsePort(authority.substring(portStart + 1));
+        }
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(scheme) ? 443 : 80;
+        }
+        return new UpstreamTarget(scheme, host, port, protocol + url);
+    }
+
+    /**
+     * Get the scheme, such as http.
+     *
+     * @return the scheme
+     */
+    public String getScheme() {
+        return scheme;
+    }
+
+    /**
+     * Get the host.
+     *
+     * @return the host
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Get the port, the default port of the scheme if the url has none.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Get the base uri, the protocol followed by the trimmed upstream url.
+     *
+     * @return the base uri
+     */
+    public String getBaseUri() {
+        return baseUri;
+    }
+
+    private static int parsePort(final String port) {
+        try {
+            return Integer.parseInt(port);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
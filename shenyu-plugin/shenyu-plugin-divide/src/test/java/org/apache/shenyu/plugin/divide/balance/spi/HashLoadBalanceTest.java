@@ -131,4 +131,16 @@ public final class HashLoadBalanceTest {
         Assert.assertEquals(assertUp.getUpstreamUrl(), divideUpstream.getUpstreamUrl());
 
     }
+
+    @Test
+    public void hashLoadBalanceRebuildRingTest() {
+        final HashLoadBalance hashLoadBalance = new HashLoadBalance();
+        final DivideUpstream selected = hashLoadBalance.select(hashLoadBalancesOrdered, "127.0.0.1");
+        Assert.assertSame(selected, hashLoadBalance.select(hashLoadBalancesOrdered, "127.0.0.1"));
+        final List<DivideUpstream> removed = hashLoadBalancesOrdered.stream()
+                .filter(upstream -> upstream != selected)
+                .collect(Collectors.toList());
+        final DivideUpstream reselected = hashLoadBalance.select(removed, "127.0.0.1");
+        Assert.assertTrue(removed.contains(reselected));
+    }
 }
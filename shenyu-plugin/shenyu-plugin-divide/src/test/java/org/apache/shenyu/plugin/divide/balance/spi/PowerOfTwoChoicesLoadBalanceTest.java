@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.spi;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.apache.shenyu.plugin.divide.balance.stats.UpstreamStats;
+import org.apache.shenyu.plugin.divide.balance.stats.UpstreamStatsManager;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The type Least active and peak ewma load balance test.
+ */
+public final class PowerOfTwoChoicesLoadBalanceTest {
+
+    @Test
+    public void leastActiveLoadBalanceTest() {
+        List<DivideUpstream> upstreamList = buildUpstreamList("least-active-upstream");
+        UpstreamStats busy = UpstreamStatsManager.getInstance().obtain("least-active-upstream-1");
+        long start = busy.begin();
+        LeastActiveLoadBalance leastActiveLoadBalance = new LeastActiveLoadBalance();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("least-active-upstream-2", leastActiveLoadBalance.select(upstreamList, "").getUpstreamUrl());
+        }
+        busy.end(start, true);
+    }
+
+    @Test
+    public void peakEwmaLoadBalanceTest() {
+        List<DivideUpstream> upstreamList = buildUpstreamList("peak-ewma-upstream");
+        UpstreamStats pending = UpstreamStatsManager.getInstance().obtain("peak-ewma-upstream-2");
+        long start = pending.begin();
+        PeakEwmaLoadBalance peakEwmaLoadBalance = new PeakEwmaLoadBalance();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("peak-ewma-upstream-1", peakEwmaLoadBalance.select(upstreamList, "").getUpstreamUrl());
+        }
+        pending.end(start, false);
+        Assert.assertEquals(0, pending.getActive());
+    }
+
+    private List<DivideUpstream> buildUpstreamList(final String prefix) {
+        return Stream.of(1, 2)
+                .map(index -> DivideUpstream.builder()
+                        .upstreamUrl(prefix + "-" + index)
+                        .weight(50)
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -21,6 +21,7 @@ import org.apache.shenyu.common.dto.convert.DivideUpstream;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -94,4 +95,42 @@ public final class RoundRobinLoadBalanceTest {
         }
         Assert.assertEquals(60, countMap.get("divide-upstream-50").intValue());
     }
+
+    @Test
+    public void roundRobinLoadBalanceSharedFirstUpstreamTest() {
+        DivideUpstream shared = DivideUpstream.builder().upstreamUrl("divide-upstream-shared").weight(50).build();
+        List<DivideUpstream> firstList = Stream.of(shared, DivideUpstream.builder().upstreamUrl("divide-upstream-first").weight(50).build())
+                .collect(Collectors.toList());
+        List<DivideUpstream> secondList = Stream.of(shared, DivideUpstream.builder().upstreamUrl("divide-upstream-second").weight(50).build())
+                .collect(Collectors.toList());
+        RoundRobinLoadBalance roundRobinLoadBalance = new RoundRobinLoadBalance();
+        Map<String, Integer> countMap = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            DivideUpstream result = roundRobinLoadBalance.select(i % 3 == 0 ? secondList : firstList, "");
+            int count = countMap.getOrDefault(result.getUpstreamUrl(), 0);
+            countMap.put(result.getUpstreamUrl(), ++count);
+        }
+        Assert.assertEquals(33, countMap.get("divide-upstream-first").intValue());
+        Assert.assertEquals(17, countMap.get("divide-upstream-second").intValue());
+    }
+
+    @Test
+    public void roundRobinLoadBalanceRecoveredUpstreamTest() {
+        DivideUpstream healthy = DivideUpstream.builder().upstreamUrl("divide-upstream-healthy").weight(50).build();
+        DivideUpstream recovered = DivideUpstream.builder().upstreamUrl("divide-upstream-recovered").weight(50).build();
+        RoundRobinLoadBalance roundRobinLoadBalance = new RoundRobinLoadBalance();
+        List<DivideUpstream> healthyList = Collections.singletonList(healthy);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("divide-upstream-healthy", roundRobinLoadBalance.select(healthyList, "").getUpstreamUrl());
+        }
+        // the upstream cache publishes a new list when the upstream recovers
+        List<DivideUpstream> recoveredList = Stream.of(healthy, recovered).collect(Collectors.toList());
+        Map<String, Integer> countMap = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            DivideUpstream result = roundRobinLoadBalance.select(recoveredList, "");
+            int count = countMap.getOrDefault(result.getUpstreamUrl(), 0);
+            countMap.put(result.getUpstreamUrl(), ++count);
+        }
+        Assert.assertEquals(5, countMap.get("divide-upstream-recovered").intValue());
+    }
 }
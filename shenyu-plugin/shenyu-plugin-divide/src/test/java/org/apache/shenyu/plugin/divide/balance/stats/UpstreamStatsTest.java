@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.balance.stats;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The type Upstream stats test.
+ */
+public final class UpstreamStatsTest {
+
+    @Test
+    public void observeTest() {
+        UpstreamStats stats = new UpstreamStats("upstream-stats");
+        Assert.assertEquals(0, stats.getCost(), 0);
+        long now = System.nanoTime();
+        stats.observe(100, now);
+        Assert.assertEquals(100, stats.getEwma(), 0);
+        stats.observe(300, now);
+        Assert.assertEquals(300, stats.getEwma(), 0);
+        stats.observe(100, now + TimeUnit.SECONDS.toNanos(10));
+        Assert.assertTrue(stats.getEwma() > 100 && stats.getEwma() < 300);
+    }
+
+    @Test
+    public void costTest() {
+        UpstreamStats stats = new UpstreamStats("upstream-stats");
+        long start = stats.begin();
+        Assert.assertEquals(1, stats.getActive());
+        Assert.assertTrue(stats.getCost() >= TimeUnit.SECONDS.toNanos(60));
+        stats.end(start, true);
+        Assert.assertEquals(0, stats.getActive());
+        Assert.assertEquals(stats.getEwma(), stats.getCost(), 0);
+    }
+
+    @Test
+    public void failedRequestTest() {
+        UpstreamStats stats = new UpstreamStats("upstream-stats");
+        stats.observe(100, System.nanoTime());
+        long start = stats.begin();
+        stats.end(start - TimeUnit.SECONDS.toNanos(1), false);
+        Assert.assertEquals(0, stats.getActive());
+        Assert.assertEquals(100, stats.getEwma(), 0);
+    }
+}
@@ -90,4 +90,19 @@ public final class UpstreamCacheManagerTest {
         List<DivideUpstream> result = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId("submit");
         Assert.assertEquals(GsonUtils.getGson().toJson(upstreams), GsonUtils.getGson().toJson(result));
     }
+
+    /**
+     * Submit the same handle test.
+     */
+    @Test
+    public void submitSameHandleTest() {
+        final List<DivideUpstream> result = UpstreamCacheManager.getInstance().findUpstreamListBySelectorId("mock");
+        SelectorData selectorData = mock(SelectorData.class);
+        when(selectorData.getId()).thenReturn("mock");
+        when(selectorData.getHandle()).thenReturn(GsonUtils.getGson().toJson(loadBalances));
+        UpstreamCacheManager.getInstance().submit(selectorData);
+        Assert.assertSame(result, UpstreamCacheManager.getInstance().findUpstreamListBySelectorId("mock"));
+        Assert.assertSame(UpstreamCacheManager.getInstance().obtainTarget(result.get(0)), UpstreamCacheManager.getInstance().obtainTarget(result.get(0)));
+        Assert.assertEquals("http://divide-upstream-3", UpstreamCacheManager.getInstance().obtainTarget(result.get(0)).getBaseUri());
+    }
 }
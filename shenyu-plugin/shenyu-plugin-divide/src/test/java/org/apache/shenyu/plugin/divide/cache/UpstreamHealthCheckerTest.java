@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.cache;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.Collections;
+
+/**
+ * The type upstream health checker test.
+ */
+public final class UpstreamHealthCheckerTest {
+
+    @Test
+    public void recordTest() {
+        UpstreamHealthChecker healthChecker = new UpstreamHealthChecker();
+        DivideUpstream divideUpstream = DivideUpstream.builder().upstreamUrl("127.0.0.1:8080").build();
+        Assert.assertFalse(healthChecker.record(divideUpstream, true));
+        Assert.assertFalse(healthChecker.record(divideUpstream, false));
+        Assert.assertFalse(healthChecker.record(divideUpstream, false));
+        Assert.assertTrue(healthChecker.isHealthy(divideUpstream));
+        Assert.assertTrue(healthChecker.record(divideUpstream, false));
+        Assert.assertFalse(healthChecker.isHealthy(divideUpstream));
+        Assert.assertFalse(healthChecker.record(divideUpstream, false));
+        Assert.assertTrue(healthChecker.record(divideUpstream, true));
+        Assert.assertTrue(healthChecker.isHealthy(divideUpstream));
+        // the shared upstream is never changed
+        Assert.assertTrue(divideUpstream.isStatus());
+        Assert.assertEquals(0L, divideUpstream.getTimestamp());
+    }
+
+    @Test
+    public void checkTest() throws IOException {
+        UpstreamHealthChecker healthChecker = new UpstreamHealthChecker();
+        DivideUpstream reachable;
+        DivideUpstream unreachable;
+        try (ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            reachable = DivideUpstream.builder().upstreamUrl("127.0.0.1:" + serverSocket.getLocalPort()).status(false).build();
+            Assert.assertEquals(Long.valueOf(1), healthChecker.check(Collections.singletonList(reachable)).block());
+            Assert.assertTrue(healthChecker.isHealthy(reachable));
+            Assert.assertFalse(reachable.isStatus());
+            unreachable = DivideUpstream.builder().upstreamUrl("127.0.0.1:" + serverSocket.getLocalPort()).build();
+        }
+        // the port is closed now, the upstream turns unhealthy after three consecutive failed probes
+        Assert.assertEquals(Long.valueOf(0), healthChecker.check(Collections.singletonList(unreachable)).block());
+        Assert.assertEquals(Long.valueOf(0), healthChecker.check(Collections.singletonList(unreachable)).block());
+        Assert.assertTrue(healthChecker.isHealthy(unreachable));
+        Assert.assertEquals(Long.valueOf(1), healthChecker.check(Collections.singletonList(unreachable)).block());
+        Assert.assertFalse(healthChecker.isHealthy(unreachable));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.divide.cache;
+
+import org.apache.shenyu.common.dto.convert.DivideUpstream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The type upstream target test.
+ */
+public final class UpstreamTargetTest {
+
+    @Test
+    public void ofTest() {
+        UpstreamTarget target = UpstreamTarget.of(DivideUpstream.builder().upstreamUrl(" 127.0.0.1:8080 ").build());
+        Assert.assertEquals("http", target.getScheme());
+        Assert.assertEquals("127.0.0.1", target.getHost());
+        Assert.assertEquals(8080, target.getPort());
+        Assert.assertEquals("http://127.0.0.1:8080", target.getBaseUri());
+    }
+
+    @Test
+    public void ofDefaultPortTest() {
+        UpstreamTarget target = UpstreamTarget.of(DivideUpstream.builder().protocol("https://").upstreamUrl("[::1]/context").build());
+        Assert.assertEquals("https", target.getScheme());
+        Assert.assertEquals("[::1]", target.getHost());
+        Assert.assertEquals(443, target.getPort());
+        Assert.assertEquals("https://[::1]/context", target.getBaseUri());
+    }
+}
@@ -18,8 +18,10 @@
 package org.apache.shenyu.plugin.dubbo.common.param;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.plugin.api.param.BodyBuffer;
 import org.apache.shenyu.plugin.api.param.BodyParamResolveService;
 import org.apache.shenyu.plugin.api.utils.BodyParamUtils;
+import org.apache.shenyu.plugin.api.utils.JsonParamBinder;
 
 /**
  * The type Default generic param resolve service.
@@ -30,4 +32,9 @@ public class DubboBodyParamResolveServiceImpl implements BodyParamResolveService
     public Pair<String[], Object[]> buildParameter(final String body, final String parameterTypes) {
         return BodyParamUtils.buildParameters(body, parameterTypes);
     }
+
+    @Override
+    public Pair<String[], Object[]> buildParameter(final BodyBuffer body, final String parameterTypes) {
+        return JsonParamBinder.bind(body.newReader(), parameterTypes);
+    }
 }
@@ -17,25 +17,46 @@
 
 package org.apache.shenyu.plugin.global.cache;
 
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.MetaData;
-import org.apache.shenyu.common.utils.PathMatchUtils;
+import org.apache.shenyu.common.utils.PathPatternTrie;
 
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 
 /**
  * The type Meta data cache.
+ *
+ * <p>The paths are found by a hash lookup first. Only the paths with wildcards or several comma separated
+ * patterns are compiled into a {@link PathPatternTrie}, where a change adds or removes the patterns of its path only.
+ * The paths which match no meta data are kept in a bounded LRU cache: caching a path drops the miss of that path,
+ * caching a pattern path replaces the cache, and a removal keeps it.
  */
 public final class MetaDataCache {
     
     private static final MetaDataCache INSTANCE = new MetaDataCache();
     
+    private static final int MAX_MISSED_PATHS = 10000;
+    
     /**
      * path -> MetaData.
      */
     private static final ConcurrentMap<String, MetaData> META_DATA_MAP = Maps.newConcurrentMap();
     
+    /**
+     * The pattern paths in the pattern index, the first cached one wins.
+     */
+    private static final Set<String> PATTERN_PATHS = new HashSet<>();
+    
+    private static final PathPatternTrie<String> PATTERN_INDEX = new PathPatternTrie<>();
+    
+    private static volatile Cache<String, Boolean> missedPaths = newMissedPaths();
+    
     private MetaDataCache() {
     }
     
@@ -54,7 +75,18 @@ public final class MetaDataCache {
      * @param data the data
      */
     public void cache(final MetaData data) {
-        META_DATA_MAP.put(data.getPath(), data);
+        String path = data.getPath();
+        META_DATA_MAP.put(path, data);
+        if (!isPattern(path)) {
+            missedPaths.invalidate(path);
+            return;
+        }
+        synchronized (PATTERN_PATHS) {
+            if (PATTERN_PATHS.add(path)) {
+                patterns(path).forEach(pattern -> PATTERN_INDEX.add(pattern, path));
+                missedPaths = newMissedPaths();
+            }
+        }
     }
     
     /**
@@ -63,7 +95,15 @@ public final class MetaDataCache {
      * @param data the data
      */
     public void remove(final MetaData data) {
-        META_DATA_MAP.remove(data.getPath());
+        String path = data.getPath();
+        META_DATA_MAP.remove(path);
+        if (isPattern(path)) {
+            synchronized (PATTERN_PATHS) {
+                if (PATTERN_PATHS.remove(path)) {
+                    patterns(path).forEach(pattern -> PATTERN_INDEX.remove(pattern, path));
+                }
+            }
+        }
     }
     
     /**
@@ -73,11 +113,33 @@ public final class MetaDataCache {
      * @return the meta data
      */
     public MetaData obtain(final String path) {
+        // the missed paths are read first, a miss found before a pattern change is kept in the replaced cache
+        Cache<String, Boolean> missed = missedPaths;
         MetaData metaData = META_DATA_MAP.get(path);
+        if (Objects.nonNull(metaData) || Objects.nonNull(missed.getIfPresent(path))) {
+            return metaData;
+        }
+        String key = PATTERN_INDEX.lookup(path);
+        metaData = Objects.isNull(key) ? null : META_DATA_MAP.get(key);
         if (Objects.isNull(metaData)) {
-            String key = META_DATA_MAP.keySet().stream().filter(k -> PathMatchUtils.match(k, path)).findFirst().orElse("");
-            return META_DATA_MAP.get(key);
+            missed.put(path, Boolean.TRUE);
+            // the path may be cached meanwhile, which only drops its miss before the miss is put
+            if (META_DATA_MAP.containsKey(path)) {
+                missed.invalidate(path);
+            }
         }
         return metaData;
     }
+    
+    private static Cache<String, Boolean> newMissedPaths() {
+        return CacheBuilder.newBuilder().maximumSize(MAX_MISSED_PATHS).build();
+    }
+    
+    private static Iterable<String> patterns(final String path) {
+        return Splitter.on(",").omitEmptyStrings().trimResults().split(path);
+    }
+    
+    private static boolean isPattern(final String path) {
+        return path.indexOf('*') >= 0 || path.indexOf('?') >= 0 || path.indexOf('{') >= 0 || path.indexOf(',') >= 0;
+    }
 }
@@ -55,4 +55,50 @@ public final class MetaDataCacheTest {
         metaDataCache.remove(this.metaData);
         assertNull(metaDataCache.obtain("/home"));
     }
+
+    @Test
+    public void testObtainByPattern() {
+        MetaData order = MetaData.builder().path("/order/**").build();
+        MetaData user = MetaData.builder().path("/user/{id},/member/*").build();
+        assertNull(metaDataCache.obtain("/order/findById"));
+        metaDataCache.cache(order);
+        metaDataCache.cache(user);
+        assertEquals(metaDataCache.obtain("/order/findById").getPath(), "/order/**");
+        assertEquals(metaDataCache.obtain("/user/1").getPath(), "/user/{id},/member/*");
+        assertEquals(metaDataCache.obtain("/member/2").getPath(), "/user/{id},/member/*");
+        assertNull(metaDataCache.obtain("/member/2/detail"));
+        metaDataCache.remove(order);
+        assertNull(metaDataCache.obtain("/order/findById"));
+        metaDataCache.remove(user);
+        assertNull(metaDataCache.obtain("/user/1"));
+    }
+
+    @Test
+    public void testMissedPathIsRefreshedOnChange() {
+        assertNull(metaDataCache.obtain("/home/index"));
+        MetaData home = MetaData.builder().path("/home/index").build();
+        metaDataCache.cache(home);
+        assertEquals(metaDataCache.obtain("/home/index").getPath(), "/home/index");
+        metaDataCache.remove(home);
+        assertNull(metaDataCache.obtain("/home/index"));
+    }
+
+    @Test
+    public void testPatternChangeKeepsOtherPatterns() {
+        MetaData all = MetaData.builder().path("/shop/**").build();
+        MetaData item = MetaData.builder().path("/shop/item/*").build();
+        assertNull(metaDataCache.obtain("/shop/item/1"));
+        metaDataCache.cache(all);
+        metaDataCache.cache(item);
+        assertEquals(metaDataCache.obtain("/shop/item/1").getPath(), "/shop/**");
+        metaDataCache.remove(all);
+        assertEquals(metaDataCache.obtain("/shop/item/1").getPath(), "/shop/item/*");
+        assertNull(metaDataCache.obtain("/shop/cart"));
+        metaDataCache.cache(all);
+        assertEquals(metaDataCache.obtain("/shop/cart").getPath(), "/shop/**");
+        assertEquals(metaDataCache.obtain("/shop/item/1").getPath(), "/shop/item/*");
+        metaDataCache.remove(item);
+        metaDataCache.remove(all);
+        assertNull(metaDataCache.obtain("/shop/item/1"));
+    }
 }
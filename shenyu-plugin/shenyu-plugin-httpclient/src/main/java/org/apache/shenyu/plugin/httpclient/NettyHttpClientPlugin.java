@@ -111,7 +111,7 @@ public class NettyHttpClientPlugin implements ShenyuPlugin {
         responseFlux = responseFlux.timeout(duration,
                 Mono.error(new TimeoutException("Response took longer than timeout: " + duration)))
                 .onErrorMap(TimeoutException.class, th -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, th.getMessage(), th));
-        return responseFlux.then(chain.execute(exchange));
+        return UpstreamCallListeners.listen(exchange, responseFlux).then(chain.execute(exchange));
 
     }
 
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.plugin.api.context.UpstreamCallListener;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Notifies the {@link UpstreamCallListener} of the exchange around the call to the upstream.
+ */
+final class UpstreamCallListeners {
+
+    private UpstreamCallListeners() {
+    }
+
+    /**
+     * Notify the listener of the exchange, if any, when the call is subscribed and when it terminates.
+     *
+     * @param exchange the exchange
+     * @param call the call to the upstream
+     * @param <T> the type of the response
+     * @return the listened call
+     */
+    static <T> Flux<T> listen(final ServerWebExchange exchange, final Flux<T> call) {
+        final UpstreamCallListener listener = exchange.getAttribute(Constants.UPSTREAM_CALL_LISTENER);
+        if (Objects.isNull(listener)) {
+            return call;
+        }
+        return Flux.defer(() -> {
+            Termination termination = new Termination(listener);
+            listener.onStart();
+            return call.doOnComplete(termination::success)
+                    .doOnError(termination::error)
+                    .doOnCancel(termination::cancel);
+        });
+    }
+
+    /**
+     * Notify the listener of the exchange, if any, when the call is subscribed and when it terminates.
+     *
+     * @param exchange the exchange
+     * @param call the call to the upstream
+     * @param <T> the type of the response
+     * @return the listened call
+     */
+    static <T> Mono<T> listen(final ServerWebExchange exchange, final Mono<T> call) {
+        final UpstreamCallListener listener = exchange.getAttribute(Constants.UPSTREAM_CALL_LISTENER);
+        if (Objects.isNull(listener)) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            Termination termination = new Termination(listener);
+            listener.onStart();
+            return call.doOnSuccess(response -> termination.success())
+                    .doOnError(termination::error)
+                    .doOnCancel(termination::cancel);
+        });
+    }
+
+    /**
+     * Passes only the first termination of one call to the listener, the operators downstream may still cancel a call which has already
+     * emitted its response.
+     */
+    private static final class Termination {
+
+        private final UpstreamCallListener listener;
+
+        private final AtomicBoolean terminated = new AtomicBoolean();
+
+        Termination(final UpstreamCallListener listener) {
+            this.listener = listener;
+        }
+
+        void success() {
+            if (terminated.compareAndSet(false, true)) {
+                listener.onSuccess();
+            }
+        }
+
+        void error(final Throwable error) {
+            if (terminated.compareAndSet(false, true)) {
+                listener.onError(error);
+            }
+        }
+
+        void cancel() {
+            if (terminated.compareAndSet(false, true)) {
+                listener.onCancel();
+            }
+        }
+    }
+}
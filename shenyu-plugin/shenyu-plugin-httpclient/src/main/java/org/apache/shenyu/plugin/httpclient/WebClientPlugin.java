@@ -101,7 +101,7 @@ public class WebClientPlugin implements ShenyuPlugin {
                                          final long timeout,
                                          final int retryTimes,
                                          final ShenyuPluginChain chain) {
-        return requestBodySpec.headers(httpHeaders -> {
+        Mono<ClientResponse> responseMono = requestBodySpec.headers(httpHeaders -> {
             httpHeaders.addAll(exchange.getRequest().getHeaders());
             httpHeaders.remove(HttpHeaders.HOST);
         })
@@ -111,8 +111,8 @@ public class WebClientPlugin implements ShenyuPlugin {
                 .timeout(Duration.ofMillis(timeout))
                 .retryWhen(Retry.onlyIf(x -> x.exception() instanceof ConnectTimeoutException)
                     .retryMax(retryTimes)
-                    .backoff(Backoff.exponential(Duration.ofMillis(200), Duration.ofSeconds(20), 2, true)))
-                .flatMap(e -> doNext(e, exchange, chain));
+                    .backoff(Backoff.exponential(Duration.ofMillis(200), Duration.ofSeconds(20), 2, true)));
+        return UpstreamCallListeners.listen(exchange, responseMono).flatMap(e -> doNext(e, exchange, chain));
 
     }
 
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.httpclient;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.plugin.api.context.UpstreamCallListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.ConnectException;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * The test case for UpstreamCallListeners.
+ */
+public final class UpstreamCallListenersTest {
+
+    private ServerWebExchange exchange;
+
+    private UpstreamCallListener listener;
+
+    @Before
+    public void setUp() {
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test").build());
+        listener = mock(UpstreamCallListener.class);
+        exchange.getAttributes().put(Constants.UPSTREAM_CALL_LISTENER, listener);
+    }
+
+    @Test
+    public void testWithoutListener() {
+        ServerWebExchange noListener = MockServerWebExchange.from(MockServerHttpRequest.get("/test").build());
+        Mono<String> call = Mono.just("response");
+        assertSame(call, UpstreamCallListeners.listen(noListener, call));
+    }
+
+    @Test
+    public void testSuccess() {
+        StepVerifier.create(UpstreamCallListeners.listen(exchange, Mono.just("response"))).expectNext("response").verifyComplete();
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).onStart();
+        inOrder.verify(listener).onSuccess();
+        verify(listener, never()).onCancel();
+    }
+
+    @Test
+    public void testError() {
+        ConnectException error = new ConnectException("refused");
+        StepVerifier.create(UpstreamCallListeners.listen(exchange, Flux.error(error))).verifyError(ConnectException.class);
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).onStart();
+        inOrder.verify(listener).onError(error);
+        verify(listener, never()).onSuccess();
+    }
+
+    @Test
+    public void testCancel() {
+        StepVerifier.create(UpstreamCallListeners.listen(exchange, Mono.never())).thenCancel().verify();
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).onStart();
+        inOrder.verify(listener).onCancel();
+        verify(listener, never()).onSuccess();
+    }
+
+    @Test
+    public void testCancelAfterResponse() {
+        StepVerifier.create(UpstreamCallListeners.listen(exchange, Mono.just("response")).flatMap(response -> Mono.never()))
+                .thenCancel()
+                .verify();
+        verify(listener).onSuccess();
+        verify(listener, never()).onCancel();
+    }
+
+    @Test
+    public void testNotSubscribed() {
+        UpstreamCallListeners.listen(exchange, Mono.just("response"));
+        verifyNoInteractions(listener);
+    }
+}
@@ -21,9 +21,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.common.dto.convert.LoggingHandle;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.logging.body.BodyCapture;
+import org.apache.shenyu.plugin.logging.collector.AccessLogCollector;
+import org.apache.shenyu.plugin.logging.entity.AccessLog;
+import org.apache.shenyu.plugin.logging.entity.AccessLogRule;
+import org.apache.shenyu.plugin.logging.handler.LoggingPluginDataHandler;
 import org.reactivestreams.Publisher;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
@@ -37,16 +44,13 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.annotation.NonNull;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
-import java.nio.channels.WritableByteChannel;
-import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Shenyu logging plugin. it can print request info(include request headers, request params, request body ...etc) and
@@ -55,15 +59,22 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @Slf4j
 public class LoggingPlugin extends AbstractShenyuPlugin {
     
+    private static final int DEFAULT_MAX_BODY_BYTES = new LoggingHandle().getMaxBodyBytes();
+    
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+        AccessLogRule accessLogRule = LoggingPluginDataHandler.CACHED_HANDLE.get().obtainHandle(CacheKeyUtils.INST.getKey(rule));
+        if (Objects.nonNull(accessLogRule) && accessLogRule.isStructured()) {
+            return accessLogRule.sample() ? accessLog(exchange, chain, accessLogRule) : chain.execute(exchange);
+        }
+        int maxBodyBytes = Objects.nonNull(accessLogRule) ? accessLogRule.getMaxBodyBytes() : DEFAULT_MAX_BODY_BYTES;
         ServerHttpRequest request = exchange.getRequest();
         StringBuilder requestInfo = new StringBuilder("Print Request Info: ").append(System.lineSeparator());
         requestInfo.append(getRequestUri(request)).append(getRequestMethod(request)).append(System.lineSeparator())
                 .append(getRequestHeaders(request)).append(System.lineSeparator())
                 .append(getQueryParams(request)).append(System.lineSeparator());
-        return chain.execute(exchange.mutate().request(new LoggingServerHttpRequest(request, requestInfo))
-                .response(new LoggingServerHttpResponse(exchange.getResponse(), requestInfo)).build());
+        return chain.execute(exchange.mutate().request(new LoggingServerHttpRequest(request, requestInfo, new BodyCapture(maxBodyBytes)))
+                .response(new LoggingServerHttpResponse(exchange.getResponse(), requestInfo, new BodyCapture(maxBodyBytes))).build());
     }
     
     @Override
@@ -81,6 +92,49 @@ public class LoggingPlugin extends AbstractShenyuPlugin {
         return false;
     }
     
+    private Mono<Void> accessLog(final ServerWebExchange exchange, final ShenyuPluginChain chain, final AccessLogRule accessLogRule) {
+        final long start = System.nanoTime();
+        ServerHttpRequest request = exchange.getRequest();
+        AccessLog accessLog = new AccessLog();
+        accessLog.setTimestamp(System.currentTimeMillis());
+        accessLog.setMethod(request.getMethodValue());
+        accessLog.setPath(request.getURI().getRawPath());
+        accessLog.setQuery(request.getURI().getRawQuery());
+        accessLog.setClientIp(Objects.nonNull(request.getRemoteAddress()) ? request.getRemoteAddress().getHostString() : null);
+        accessLog.setRequestHeaders(getAllowedHeaders(request.getHeaders(), accessLogRule.getHeaders()));
+        BodyCapture requestBody = new BodyCapture(accessLogRule.getMaxBodyBytes());
+        BodyCapture responseBody = new BodyCapture(accessLogRule.getMaxBodyBytes());
+        ServerWebExchange captured = exchange.mutate()
+                .request(new CaptureServerHttpRequest(request, requestBody))
+                .response(new CaptureServerHttpResponse(exchange.getResponse(), responseBody)).build();
+        return chain.execute(captured).doFinally(signal -> {
+            ServerHttpResponse response = exchange.getResponse();
+            accessLog.setStatus(Objects.nonNull(response.getStatusCode()) ? response.getStatusCode().value() : null);
+            accessLog.setResponseHeaders(getAllowedHeaders(response.getHeaders(), accessLogRule.getHeaders()));
+            accessLog.setLatencyMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            accessLog.setRequestBodySize(requestBody.size());
+            accessLog.setResponseBodySize(responseBody.size());
+            // the bodies are decoded by the writer only when the access log is written
+            accessLog.setRequestCapture(requestBody);
+            accessLog.setResponseCapture(responseBody);
+            AccessLogCollector.getInstance().collect(accessLog);
+        });
+    }
+    
+    private Map<String, String> getAllowedHeaders(final HttpHeaders headers, final Set<String> allowed) {
+        if (allowed.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> result = new HashMap<>(allowed.size());
+        for (String name : allowed) {
+            List<String> values = headers.get(name);
+            if (Objects.nonNull(values) && !values.isEmpty()) {
+                result.put(name, StringUtils.join(values, ","));
+            }
+        }
+        return result;
+    }
+    
     private String getRequestMethod(final ServerHttpRequest request) {
         return "Request Method: " + request.getMethod() + System.lineSeparator();
     }
@@ -130,23 +184,27 @@ public class LoggingPlugin extends AbstractShenyuPlugin {
 
         private final StringBuilder logInfo;
 
-        LoggingServerHttpRequest(final ServerHttpRequest delegate, final StringBuilder logInfo) {
+        private final BodyCapture capture;
+
+        LoggingServerHttpRequest(final ServerHttpRequest delegate, final StringBuilder logInfo, final BodyCapture capture) {
             super(delegate);
             this.logInfo = logInfo;
+            this.capture = capture;
         }
 
         @Override
         @NonNull
         public Flux<DataBuffer> getBody() {
-            BodyWriter writer = new BodyWriter();
-            return super.getBody().doOnNext(dataBuffer -> writer.write(dataBuffer.asByteBuffer().asReadOnlyBuffer())).doFinally(signal -> {
-                if (!writer.isEmpty()) {
+            return super.getBody().doOnNext(capture::capture).doFinally(signal -> {
+                if (!log.isInfoEnabled()) {
+                    capture.release();
+                    return;
+                }
+                String body = capture.decode();
+                if (Objects.nonNull(body)) {
                     logInfo.append("[Request Body Start]").append(System.lineSeparator());
-                    logInfo.append(writer.output()).append(System.lineSeparator());
+                    logInfo.append(body).append(System.lineSeparator());
                     logInfo.append("[Request Body End]").append(System.lineSeparator());
-                } else {
-                    // close writer when output.
-                    writer.output();
                 }
             });
         }
@@ -158,10 +216,13 @@ public class LoggingPlugin extends AbstractShenyuPlugin {
 
         private final ServerHttpResponse serverHttpResponse;
 
-        LoggingServerHttpResponse(final ServerHttpResponse delegate, final StringBuilder logInfo) {
+        private final BodyCapture capture;
+
+        LoggingServerHttpResponse(final ServerHttpResponse delegate, final StringBuilder logInfo, final BodyCapture capture) {
             super(delegate);
             this.logInfo = logInfo;
             this.serverHttpResponse = delegate;
+            this.capture = capture;
             this.logInfo.append(System.lineSeparator());
         }
 
@@ -176,10 +237,14 @@ public class LoggingPlugin extends AbstractShenyuPlugin {
             logInfo.append(System.lineSeparator());
             logInfo.append("Response Code: ").append(this.serverHttpResponse.getStatusCode()).append(System.lineSeparator());
             logInfo.append(getResponseHeaders()).append(System.lineSeparator());
-            BodyWriter writer = new BodyWriter();
-            return Flux.from(body).doOnNext(buffer -> writer.write(buffer.asByteBuffer().asReadOnlyBuffer())).doFinally(signal -> {
+            return Flux.from(body).doOnNext(capture::capture).doFinally(signal -> {
+                if (!log.isInfoEnabled()) {
+                    capture.release();
+                    return;
+                }
+                String responseBody = capture.decode();
                 logInfo.append("[Response Body Start]").append(System.lineSeparator());
-                logInfo.append(writer.output()).append(System.lineSeparator());
+                logInfo.append(Objects.nonNull(responseBody) ? responseBody : "").append(System.lineSeparator());
                 logInfo.append("[Response Body End]").append(System.lineSeparator());
                 // when response, print all request info.
                 print(logInfo.toString());
@@ -193,48 +258,35 @@ public class LoggingPlugin extends AbstractShenyuPlugin {
         }
     }
 
-    static class BodyWriter {
+    static class CaptureServerHttpRequest extends ServerHttpRequestDecorator {
 
-        private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        private final BodyCapture capture;
 
-        private final WritableByteChannel channel = Channels.newChannel(stream);
-
-        private final AtomicBoolean isClosed = new AtomicBoolean(false);
+        CaptureServerHttpRequest(final ServerHttpRequest delegate, final BodyCapture capture) {
+            super(delegate);
+            this.capture = capture;
+        }
 
-        void write(final ByteBuffer buffer) {
-            if (!isClosed.get()) {
-                try {
-                    channel.write(buffer);
-                } catch (IOException e) {
-                    isClosed.compareAndSet(false, true);
-                    log.error("Parse Failed.", e);
-                }
-            }
+        @Override
+        @NonNull
+        public Flux<DataBuffer> getBody() {
+            return super.getBody().doOnNext(capture::capture);
         }
+    }
+
+    static class CaptureServerHttpResponse extends ServerHttpResponseDecorator {
 
-        boolean isEmpty() {
-            return stream.size() == 0;
+        private final BodyCapture capture;
+
+        CaptureServerHttpResponse(final ServerHttpResponse delegate, final BodyCapture capture) {
+            super(delegate);
+            this.capture = capture;
         }
 
-        String output() {
-            try {
-                isClosed.compareAndSet(false, true);
-                return new String(stream.toByteArray(), StandardCharsets.UTF_8);
-            } catch (Exception e) {
-                log.error("Write failed: ", e);
-                return "Write failed: " + e.getMessage();
-            } finally {
-                try {
-                    stream.close();
-                } catch (IOException e) {
-                    log.error("Close stream error: ", e);
-                }
-                try {
-                    channel.close();
-                } catch (IOException e) {
-                    log.error("Close channel error: ", e);
-                }
-            }
+        @Override
+        @NonNull
+        public Mono<Void> writeWith(@NonNull final Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(capture::capture));
         }
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.body;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The bounded capture of a body.
+ *
+ * <p>Only the first bytes up to the limit are kept as retained slices of the body buffers, so the pooled
+ * buffers are shared instead of copied, the rest of the body is only counted. The slices are decoded when the
+ * body is actually logged, and must be released by {@link #decode()} or {@link #release()}.
+ */
+public final class BodyCapture {
+
+    private final int limit;
+
+    private final List<DataBuffer> slices = new ArrayList<>(2);
+
+    private int captured;
+
+    private long size;
+
+    private boolean released;
+
+    /**
+     * Instantiates a new Body capture.
+     *
+     * @param limit the max captured bytes
+     */
+    public BodyCapture(final int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Capture the readable bytes of the buffer, the read position of the buffer is not changed.
+     *
+     * @param buffer the data buffer
+     */
+    public void capture(final DataBuffer buffer) {
+        int readable = buffer.readableByteCount();
+        size += readable;
+        int length = Math.min(limit - captured, readable);
+        if (length <= 0 || released) {
+            return;
+        }
+        slices.add(buffer.retainedSlice(buffer.readPosition(), length));
+        captured += length;
+    }
+
+    /**
+     * Get the total size of the body.
+     *
+     * @return the body size
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Decode the captured bytes and release the slices.
+     *
+     * @return the captured body, or null if nothing is captured
+     */
+    public String decode() {
+        if (released || captured == 0) {
+            release();
+            return null;
+        }
+        try {
+            if (slices.size() == 1) {
+                DataBuffer slice = slices.get(0);
+                return slice.toString(slice.readPosition(), slice.readableByteCount(), StandardCharsets.UTF_8);
+            }
+            byte[] bytes = new byte[captured];
+            int offset = 0;
+            for (DataBuffer slice : slices) {
+                int length = slice.readableByteCount();
+                slice.read(bytes, offset, length);
+                offset += length;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Release the captured slices without decoding them.
+     */
+    public void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        slices.forEach(DataBufferUtils::release);
+        slices.clear();
+    }
+}
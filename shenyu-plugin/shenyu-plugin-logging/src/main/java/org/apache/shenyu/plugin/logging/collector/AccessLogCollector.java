@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.collector;
+
+import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.disruptor.DisruptorProviderManage;
+import org.apache.shenyu.disruptor.consumer.QueueBatchHandler;
+import org.apache.shenyu.disruptor.provider.DisruptorProvider;
+import org.apache.shenyu.plugin.logging.entity.AccessLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The access log collector, the records are handed off through a bounded ring buffer and drained in batches
+ * by one background thread, a record is dropped and counted when the ring buffer is full.
+ */
+public final class AccessLogCollector implements QueueBatchHandler<AccessLog> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AccessLogCollector.class);
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("shenyu.access");
+
+    private static final int RING_BUFFER_SIZE = Integer.getInteger("shenyu.logging.ringBufferSize", 16384);
+
+    private static final int MAX_BATCH_SIZE = Integer.getInteger("shenyu.logging.maxBatchSize", 256);
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final DisruptorProvider<AccessLog> provider;
+
+    private long reportedDrops;
+
+    private AccessLogCollector() {
+        DisruptorProviderManage<AccessLog> providerManage = new DisruptorProviderManage<>(this, RING_BUFFER_SIZE, MAX_BATCH_SIZE);
+        providerManage.startup();
+        this.provider = providerManage.getProvider();
+    }
+
+    /**
+     * Get the collector, it is started on first use.
+     *
+     * @return the access log collector
+     */
+    public static AccessLogCollector getInstance() {
+        return CollectorHolder.INSTANCE;
+    }
+
+    /**
+     * Hand off the access log without blocking.
+     *
+     * @param accessLog the access log
+     * @return false if the ring buffer is full and the access log is dropped
+     */
+    public boolean collect(final AccessLog accessLog) {
+        if (provider.tryOnData(event -> event.setData(accessLog))) {
+            return true;
+        }
+        accessLog.releaseBodies();
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Get the count of the dropped access logs.
+     *
+     * @return the dropped count
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void handle(final List<AccessLog> batch) {
+        long drops = dropped.get();
+        if (drops > reportedDrops) {
+            LOG.warn("{} access logs are dropped because the ring buffer is full, {} in total", drops - reportedDrops, drops);
+            reportedDrops = drops;
+        }
+        if (!ACCESS_LOG.isInfoEnabled()) {
+            batch.forEach(AccessLog::releaseBodies);
+            return;
+        }
+        // one event per record, so the appenders, filters and log shippers still see one access log per event
+        for (AccessLog accessLog : batch) {
+            accessLog.decodeBodies();
+            ACCESS_LOG.info(GsonUtils.getInstance().toJson(accessLog));
+        }
+    }
+
+    @Override
+    public String fixName() {
+        return "access_log";
+    }
+
+    private static final class CollectorHolder {
+
+        private static final AccessLogCollector INSTANCE = new AccessLogCollector();
+    }
+}
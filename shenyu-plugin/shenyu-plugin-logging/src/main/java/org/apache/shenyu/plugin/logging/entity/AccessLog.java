@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.entity;
+
+import lombok.Data;
+import org.apache.shenyu.plugin.logging.body.BodyCapture;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The structured access log of one request.
+ */
+@Data
+public class AccessLog {
+
+    private long timestamp;
+
+    private String method;
+
+    private String path;
+
+    private String query;
+
+    private String clientIp;
+
+    private Integer status;
+
+    private long latencyMillis;
+
+    private Map<String, String> requestHeaders;
+
+    private Map<String, String> responseHeaders;
+
+    private String requestBody;
+
+    private String responseBody;
+
+    private long requestBodySize;
+
+    private long responseBodySize;
+
+    private transient BodyCapture requestCapture;
+
+    private transient BodyCapture responseCapture;
+
+    /**
+     * Decode the captured bodies, it is called only when the access log is written.
+     */
+    public void decodeBodies() {
+        if (Objects.nonNull(requestCapture)) {
+            requestBody = requestCapture.decode();
+            requestCapture = null;
+        }
+        if (Objects.nonNull(responseCapture)) {
+            responseBody = responseCapture.decode();
+            responseCapture = null;
+        }
+    }
+
+    /**
+     * Release the captured bodies when the access log is not written.
+     */
+    public void releaseBodies() {
+        if (Objects.nonNull(requestCapture)) {
+            requestCapture.release();
+            requestCapture = null;
+        }
+        if (Objects.nonNull(responseCapture)) {
+            responseCapture.release();
+            responseCapture = null;
+        }
+    }
+}
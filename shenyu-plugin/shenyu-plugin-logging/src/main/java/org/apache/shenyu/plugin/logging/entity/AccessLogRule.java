@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.entity;
+
+import com.google.common.base.Splitter;
+import org.apache.shenyu.common.dto.convert.LoggingHandle;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The access log settings of one rule, the header allow-list is parsed once when the rule is synced.
+ */
+public final class AccessLogRule {
+
+    private final boolean structured;
+
+    private final double sampleRate;
+
+    private final int maxBodyBytes;
+
+    private final Set<String> headers;
+
+    private AccessLogRule(final boolean structured, final double sampleRate, final int maxBodyBytes, final Set<String> headers) {
+        this.structured = structured;
+        this.sampleRate = sampleRate;
+        this.maxBodyBytes = maxBodyBytes;
+        this.headers = headers;
+    }
+
+    /**
+     * Build the access log rule of the logging handle.
+     *
+     * @param loggingHandle the logging handle
+     * @return the access log rule
+     */
+    public static AccessLogRule of(final LoggingHandle loggingHandle) {
+        Set<String> headers = new LinkedHashSet<>();
+        if (loggingHandle.getHeaders() != null) {
+            Splitter.on(",").omitEmptyStrings().trimResults().split(loggingHandle.getHeaders())
+                    .forEach(header -> headers.add(header.toLowerCase(Locale.ROOT)));
+        }
+        double sampleRate = Math.min(1.0D, Math.max(0.0D, loggingHandle.getSampleRate()));
+        return new AccessLogRule(loggingHandle.isStructured(), sampleRate, Math.max(0, loggingHandle.getMaxBodyBytes()),
+                Collections.unmodifiableSet(headers));
+    }
+
+    /**
+     * Whether the structured access log is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isStructured() {
+        return structured;
+    }
+
+    /**
+     * Whether the current request is sampled.
+     *
+     * @return true if the request is logged
+     */
+    public boolean sample() {
+        return sampleRate >= 1.0D || (sampleRate > 0.0D && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Get the max captured bytes of a body.
+     *
+     * @return the max body bytes
+     */
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * Get the logged headers in lower case.
+     *
+     * @return the header names
+     */
+    public Set<String> getHeaders() {
+        return headers;
+    }
+}
@@ -18,15 +18,20 @@
 package org.apache.shenyu.plugin.logging;
 
 import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.logging.collector.AccessLogCollector;
+import org.apache.shenyu.plugin.logging.handler.LoggingPluginDataHandler;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
@@ -83,6 +88,24 @@ public final class LoggingPluginTest {
         StepVerifier.create(result).expectSubscription().verifyComplete();
     }
 
+    @Test
+    public void testDoExecuteStructured() {
+        RuleData structuredRule = RuleData.builder().selectorId("1").name("structured")
+                .handle("{\"structured\":true,\"maxBodyBytes\":4,\"headers\":\"X-source\"}").build();
+        new LoggingPluginDataHandler().handlerRule(structuredRule);
+        ServerWebExchange structuredExchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
+                .remoteAddress(new InetSocketAddress(8090)).header("X-source", "mock test").build());
+        when(chain.execute(any())).thenAnswer(invocation -> {
+            ServerWebExchange mutated = invocation.getArgument(0);
+            mutated.getResponse().setStatusCode(HttpStatus.OK);
+            return mutated.getResponse().writeWith(Mono.just(new DefaultDataBufferFactory().wrap("response body".getBytes(StandardCharsets.UTF_8))));
+        });
+        long dropped = AccessLogCollector.getInstance().getDropped();
+        StepVerifier.create(loggingPlugin.doExecute(structuredExchange, chain, selectorData, structuredRule)).expectSubscription().verifyComplete();
+        Assert.assertEquals(dropped, AccessLogCollector.getInstance().getDropped());
+        new LoggingPluginDataHandler().removeRule(structuredRule);
+    }
+
     @Test
     public void testGetOrder() {
         Assert.assertEquals(loggingPlugin.getOrder(), PluginEnum.LOGGING.getCode());
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.logging.body;
+
+import org.junit.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Test cases for BodyCapture.
+ */
+public final class BodyCaptureTest {
+
+    @Test
+    public void testCaptureIsBounded() {
+        BodyCapture capture = new BodyCapture(6);
+        DataBuffer first = wrap("shen");
+        DataBuffer second = wrap("yu gateway");
+        capture.capture(first);
+        capture.capture(second);
+        assertEquals(14, capture.size());
+        assertEquals("shenyu", capture.decode());
+        assertNull(capture.decode());
+        assertEquals(4, first.readableByteCount());
+        assertEquals(10, second.readableByteCount());
+    }
+
+    @Test
+    public void testNothingCaptured() {
+        BodyCapture capture = new BodyCapture(0);
+        capture.capture(wrap("shenyu"));
+        assertNull(capture.decode());
+        assertEquals(6, capture.size());
+    }
+
+    @Test
+    public void testSingleSliceIsShared() {
+        byte[] bytes = "shenyu".getBytes(StandardCharsets.UTF_8);
+        BodyCapture capture = new BodyCapture(1024);
+        capture.capture(new DefaultDataBufferFactory().wrap(bytes));
+        bytes[0] = 'S';
+        assertEquals("Shenyu", capture.decode());
+    }
+
+    @Test
+    public void testRelease() {
+        BodyCapture capture = new BodyCapture(1024);
+        capture.capture(wrap("shenyu"));
+        capture.release();
+        capture.capture(wrap("gateway"));
+        assertNull(capture.decode());
+        assertEquals(13, capture.size());
+    }
+
+    private static DataBuffer wrap(final String text) {
+        return new DefaultDataBufferFactory().wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -21,18 +21,22 @@ import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.RuleData;
 import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
-import org.apache.shenyu.common.utils.DateUtils;
 import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.handle.CounterHandle;
+import org.apache.shenyu.metrics.handle.HistogramHandle;
 import org.apache.shenyu.metrics.reporter.MetricsReporter;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.monitor.metrics.RouteMetrics;
+import org.apache.shenyu.plugin.monitor.metrics.RouteMetrics.RouteMeters;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * the monitor plugin.
@@ -41,18 +45,22 @@ public class MonitorPlugin extends AbstractShenyuPlugin {
     
     static {
         MetricsReporter.registerCounter(LabelNames.REQUEST_TOTAL, "shenyu request total count");
-        MetricsReporter.registerCounter(LabelNames.HTTP_REQUEST_TOTAL, new String[]{"path", "type"}, "shenyu http request type total count");
         MetricsReporter.registerHistogram(LabelNames.EXECUTE_LATENCY_NAME, "the shenyu executor latency millis");
     }
     
+    private static final CounterHandle REQUEST_TOTAL = MetricsReporter.bindCounter(LabelNames.REQUEST_TOTAL, null);
+    
+    private static final HistogramHandle EXECUTE_LATENCY = MetricsReporter.bindHistogram(LabelNames.EXECUTE_LATENCY_NAME, null);
+    
     @Override
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
-        MetricsReporter.counterIncrement(LabelNames.REQUEST_TOTAL);
-        MetricsReporter.counterIncrement(LabelNames.HTTP_REQUEST_TOTAL, new String[]{exchange.getRequest().getURI().getPath(), exchange.getRequest().getMethodValue()});
+        REQUEST_TOTAL.increment();
+        RouteMeters route = RouteMetrics.route(selector, rule);
+        route.requestCounter(exchange.getRequest().getMethod()).increment();
         ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
-        LocalDateTime startDateTime = Optional.ofNullable(shenyuContext).map(ShenyuContext::getStartDateTime).orElse(LocalDateTime.now());
-        return chain.execute(exchange).doOnSuccess(e -> responseCommitted(exchange, startDateTime))
-                .doOnError(throwable -> responseCommitted(exchange, startDateTime));
+        long startNanoTime = Objects.nonNull(shenyuContext) && shenyuContext.getStartNanoTime() != 0 ? shenyuContext.getStartNanoTime() : System.nanoTime();
+        return chain.execute(exchange).doOnSuccess(e -> responseCommitted(exchange, startNanoTime, route))
+                .doOnError(throwable -> responseCommitted(exchange, startNanoTime, route));
     }
     
     @Override
@@ -65,20 +73,26 @@ public class MonitorPlugin extends AbstractShenyuPlugin {
         return PluginEnum.MONITOR.getName();
     }
     
-    private void responseCommitted(final ServerWebExchange exchange, final LocalDateTime startDateTime) {
+    private void responseCommitted(final ServerWebExchange exchange, final long startNanoTime, final RouteMeters route) {
         ServerHttpResponse response = exchange.getResponse();
         if (response.isCommitted()) {
-            recordTime(startDateTime);
+            record(exchange, startNanoTime, route);
         } else {
             response.beforeCommit(() -> {
-                recordTime(startDateTime);
+                record(exchange, startNanoTime, route);
                 return Mono.empty();
             });
         }
     }
     
-    private void recordTime(final LocalDateTime startDateTime) {
-        long millisBetween = DateUtils.acquireMillisBetween(startDateTime, LocalDateTime.now());
-        MetricsReporter.recordTime(LabelNames.EXECUTE_LATENCY_NAME, millisBetween);
+    private void record(final ServerWebExchange exchange, final long startNanoTime, final RouteMeters route) {
+        long millisBetween = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanoTime);
+        EXECUTE_LATENCY.record(millisBetween);
+        route.latency().record(millisBetween);
+        String url = exchange.getAttribute(Constants.HTTP_URL);
+        HttpStatus status = exchange.getResponse().getStatusCode();
+        if (Objects.nonNull(url) && Objects.nonNull(status)) {
+            RouteMetrics.upstream(route, url).statusCounter(status.value()).increment();
+        }
     }
 }
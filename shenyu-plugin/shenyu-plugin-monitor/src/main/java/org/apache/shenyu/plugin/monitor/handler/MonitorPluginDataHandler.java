@@ -17,21 +17,31 @@
 
 package org.apache.shenyu.plugin.monitor.handler;
 
+import com.google.common.base.Splitter;
 import java.util.Objects;
+import java.util.Properties;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.metrics.config.MetricsConfig;
 import org.apache.shenyu.metrics.facade.MetricsTrackerFacade;
 import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.base.utils.Singleton;
+import org.apache.shenyu.plugin.monitor.metrics.RouteMetrics;
 
 /**
  * The type Monitor plugin data handler.
  */
 public class MonitorPluginDataHandler implements PluginDataHandler {
     
+    private static final String MAX_ROUTE_LABELS = "maxRouteLabels";
+    
+    private static final String LATENCY_BUCKETS = "latencyBuckets";
+    
     @Override
     public void handlerPlugin(final PluginData pluginData) {
         if (Objects.nonNull(pluginData) && pluginData.getEnabled()) {
@@ -39,6 +49,7 @@ public class MonitorPluginDataHandler implements PluginDataHandler {
             if (!checkConfig(monitorConfig)) {
                 return;
             }
+            configureRouteMetrics(monitorConfig.getProps());
             if (!MetricsTrackerFacade.getInstance().isStarted()) {
                 start(monitorConfig);
             } else if (!monitorConfig.equals(Singleton.INST.get(MetricsConfig.class))) {
@@ -49,6 +60,16 @@ public class MonitorPluginDataHandler implements PluginDataHandler {
         }
     }
     
+    @Override
+    public void removeSelector(final SelectorData selectorData) {
+        RouteMetrics.removeSelector(selectorData.getId());
+    }
+    
+    @Override
+    public void removeRule(final RuleData ruleData) {
+        RouteMetrics.removeRule(ruleData.getId());
+    }
+    
     @Override
     public String pluginNamed() {
         return PluginEnum.MONITOR.getName();
@@ -61,6 +82,21 @@ public class MonitorPluginDataHandler implements PluginDataHandler {
                 && Objects.nonNull(monitorConfig.getAsync());
     }
     
+    private void configureRouteMetrics(final Properties props) {
+        int maxLabels = RouteMetrics.DEFAULT_MAX_LABELS;
+        double[] buckets = RouteMetrics.DEFAULT_BUCKETS;
+        if (Objects.nonNull(props)) {
+            // the numbers of a json config are parsed as double
+            maxLabels = (int) NumberUtils.toDouble(Objects.toString(props.get(MAX_ROUTE_LABELS), null), RouteMetrics.DEFAULT_MAX_LABELS);
+            String latencyBuckets = Objects.toString(props.get(LATENCY_BUCKETS), null);
+            if (StringUtils.isNotBlank(latencyBuckets)) {
+                buckets = Splitter.on(",").omitEmptyStrings().trimResults().splitToList(latencyBuckets).stream()
+                        .mapToDouble(bucket -> NumberUtils.toDouble(bucket, -1)).filter(bucket -> bucket > 0).sorted().distinct().toArray();
+            }
+        }
+        RouteMetrics.configure(maxLabels, buckets.length > 0 ? buckets : RouteMetrics.DEFAULT_BUCKETS);
+    }
+    
     private void restart(final MetricsConfig monitorConfig) {
         stop();
         start(monitorConfig);
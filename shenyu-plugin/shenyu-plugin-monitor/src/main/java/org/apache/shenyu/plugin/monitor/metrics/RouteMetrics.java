@@ -0,0 +1,323 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.monitor.metrics;
+
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.handle.CounterHandle;
+import org.apache.shenyu.metrics.handle.HistogramHandle;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
+import org.springframework.http.HttpMethod;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * The bounded label values of the route metrics.
+ *
+ * <p>The metrics are labeled by plugin, selector and rule id and by upstream instead of the request path,
+ * the metric handles are bound once per route and reused by every request. When the number of routes or
+ * upstreams reaches the limit, the new ones are all recorded under the {@link #OVERFLOW} label. A removed
+ * rule or selector removes its routes, and the upstreams no other route records to, with their metrics.
+ */
+public final class RouteMetrics {
+
+    /**
+     * The label value of the routes and upstreams over the limit.
+     */
+    public static final String OVERFLOW = "other";
+
+    /**
+     * The default max number of the labeled routes and upstreams.
+     */
+    public static final int DEFAULT_MAX_LABELS = 1000;
+
+    /**
+     * The default latency buckets in millis.
+     */
+    public static final double[] DEFAULT_BUCKETS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private static final String[] ROUTE_LABEL_NAMES = {"plugin", "selector", "rule"};
+
+    private static final HttpMethod[] METHODS = HttpMethod.values();
+
+    private static final int MIN_STATUS = 100;
+
+    private static final int MAX_STATUS = 599;
+
+    private static final ConcurrentMap<String, RouteMeters> ROUTES = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, UpstreamMeters> UPSTREAMS = new ConcurrentHashMap<>();
+
+    private static final RouteMeters OVERFLOW_ROUTE = new RouteMeters(OVERFLOW, OVERFLOW, OVERFLOW);
+
+    private static final UpstreamMeters OVERFLOW_UPSTREAM = new UpstreamMeters(OVERFLOW);
+
+    private static volatile int maxLabels = DEFAULT_MAX_LABELS;
+
+    private static volatile boolean latencyRegistered;
+
+    static {
+        MetricsReporter.registerCounter(LabelNames.HTTP_REQUEST_TOTAL, new String[]{"plugin", "selector", "rule", "type"}, "shenyu http request type total count");
+        MetricsReporter.registerCounter(LabelNames.UPSTREAM_STATUS_TOTAL, new String[]{"upstream", "status"}, "shenyu upstream response status total count");
+    }
+
+    private RouteMetrics() {
+    }
+
+    /**
+     * Set the label limit and register the route latency histogram, the buckets take effect when the histogram
+     * is first registered.
+     *
+     * @param limit   the max number of the labeled routes and upstreams
+     * @param buckets the latency buckets in millis
+     */
+    public static void configure(final int limit, final double[] buckets) {
+        maxLabels = limit;
+        MetricsReporter.registerHistogram(LabelNames.ROUTE_LATENCY_NAME, ROUTE_LABEL_NAMES, "the shenyu route latency millis", buckets);
+        latencyRegistered = true;
+    }
+
+    /**
+     * Whether the route latency histogram is registered.
+     *
+     * @return true if registered
+     */
+    public static boolean isLatencyRegistered() {
+        return latencyRegistered;
+    }
+
+    /**
+     * Obtain the metrics of the matched route.
+     *
+     * @param selector the selector
+     * @param rule     the rule
+     * @return the route metrics
+     */
+    public static RouteMeters route(final SelectorData selector, final RuleData rule) {
+        if (Objects.isNull(selector) || Objects.isNull(rule) || Objects.isNull(rule.getId())) {
+            return OVERFLOW_ROUTE;
+        }
+        return obtain(ROUTES, rule.getId(), id -> new RouteMeters(Objects.toString(selector.getPluginName(), OVERFLOW),
+                Objects.toString(selector.getId(), OVERFLOW), id), OVERFLOW_ROUTE);
+    }
+
+    /**
+     * Obtain the metrics of the upstream of the url, recorded by the route.
+     *
+     * @param route the route metrics
+     * @param url   the upstream url
+     * @return the upstream metrics
+     */
+    public static UpstreamMeters upstream(final RouteMeters route, final String url) {
+        int start = url.indexOf("://");
+        start = start < 0 ? 0 : start + 3;
+        int end = url.indexOf('/', start);
+        String upstream = end < 0 ? url.substring(start) : url.substring(start, end);
+        UpstreamMeters upstreamMeters = obtain(UPSTREAMS, upstream, UpstreamMeters::new, OVERFLOW_UPSTREAM);
+        if (!route.upstreams.contains(upstreamMeters)) {
+            route.upstreams.add(upstreamMeters);
+        }
+        return upstreamMeters;
+    }
+
+    /**
+     * Remove the route of the rule.
+     *
+     * @param ruleId the rule id
+     */
+    public static void removeRule(final String ruleId) {
+        if (Objects.isNull(ruleId)) {
+            return;
+        }
+        RouteMeters route = ROUTES.remove(ruleId);
+        if (Objects.nonNull(route)) {
+            remove(route);
+        }
+    }
+
+    /**
+     * Remove the routes of the selector.
+     *
+     * @param selectorId the selector id
+     */
+    public static void removeSelector(final String selectorId) {
+        if (Objects.isNull(selectorId)) {
+            return;
+        }
+        ROUTES.forEach((ruleId, route) -> {
+            if (selectorId.equals(route.labels[1]) && ROUTES.remove(ruleId, route)) {
+                remove(route);
+            }
+        });
+    }
+
+    private static void remove(final RouteMeters route) {
+        route.remove();
+        for (UpstreamMeters upstream : route.upstreams) {
+            if (!isRecorded(upstream) && UPSTREAMS.remove(upstream.getUpstream(), upstream)) {
+                upstream.remove();
+            }
+        }
+    }
+
+    private static boolean isRecorded(final UpstreamMeters upstream) {
+        if (OVERFLOW_ROUTE.upstreams.contains(upstream)) {
+            return true;
+        }
+        for (RouteMeters route : ROUTES.values()) {
+            if (route.upstreams.contains(upstream)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <V> V obtain(final ConcurrentMap<String, V> labels, final String key, final Function<String, V> factory, final V overflow) {
+        V value = labels.get(key);
+        if (Objects.nonNull(value)) {
+            return value;
+        }
+        if (labels.size() >= maxLabels) {
+            return overflow;
+        }
+        return labels.computeIfAbsent(key, factory);
+    }
+
+    /**
+     * The metrics of one route, the handles are bound on first use and reused by every request.
+     */
+    public static final class RouteMeters {
+
+        private final String[] labels;
+
+        private final AtomicReferenceArray<CounterHandle> requestCounters = new AtomicReferenceArray<>(METHODS.length + 1);
+
+        private final HistogramHandle latency;
+
+        private final Set<UpstreamMeters> upstreams = ConcurrentHashMap.newKeySet();
+
+        private RouteMeters(final String plugin, final String selector, final String rule) {
+            this.labels = new String[]{plugin, selector, rule};
+            this.latency = MetricsReporter.bindHistogram(LabelNames.ROUTE_LATENCY_NAME, labels);
+        }
+
+        /**
+         * Get the plugin, selector and rule label values.
+         *
+         * @return the label values
+         */
+        public String[] getLabels() {
+            return labels;
+        }
+
+        /**
+         * Get the request counter of the method.
+         *
+         * @param method the request method, null for an unknown method
+         * @return the counter handle
+         */
+        public CounterHandle requestCounter(final HttpMethod method) {
+            int index = Objects.isNull(method) ? METHODS.length : method.ordinal();
+            CounterHandle counter = requestCounters.get(index);
+            if (Objects.isNull(counter)) {
+                counter = MetricsReporter.bindCounter(LabelNames.HTTP_REQUEST_TOTAL, requestLabels(index));
+                requestCounters.set(index, counter);
+            }
+            return counter;
+        }
+
+        /**
+         * Get the latency histogram.
+         *
+         * @return the histogram handle
+         */
+        public HistogramHandle latency() {
+            return latency;
+        }
+
+        private String[] requestLabels(final int index) {
+            return new String[]{labels[0], labels[1], labels[2], index == METHODS.length ? OVERFLOW : METHODS[index].name()};
+        }
+
+        private void remove() {
+            MetricsReporter.remove(LabelNames.ROUTE_LATENCY_NAME, labels);
+            for (int i = 0; i < requestCounters.length(); i++) {
+                if (Objects.nonNull(requestCounters.get(i))) {
+                    MetricsReporter.remove(LabelNames.HTTP_REQUEST_TOTAL, requestLabels(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * The metrics of one upstream.
+     */
+    public static final class UpstreamMeters {
+
+        private final String upstream;
+
+        private final AtomicReferenceArray<CounterHandle> statusCounters = new AtomicReferenceArray<>(MAX_STATUS + 1);
+
+        private UpstreamMeters(final String upstream) {
+            this.upstream = upstream;
+        }
+
+        /**
+         * Get the upstream label value.
+         *
+         * @return the upstream
+         */
+        public String getUpstream() {
+            return upstream;
+        }
+
+        /**
+         * Get the counter of the response status.
+         *
+         * @param status the response status
+         * @return the counter handle
+         */
+        public CounterHandle statusCounter(final int status) {
+            int index = status >= MIN_STATUS && status <= MAX_STATUS ? status : 0;
+            CounterHandle counter = statusCounters.get(index);
+            if (Objects.isNull(counter)) {
+                counter = MetricsReporter.bindCounter(LabelNames.UPSTREAM_STATUS_TOTAL, statusLabels(index));
+                statusCounters.set(index, counter);
+            }
+            return counter;
+        }
+
+        private String[] statusLabels(final int index) {
+            return new String[]{upstream, index == 0 ? OVERFLOW : String.valueOf(index)};
+        }
+
+        private void remove() {
+            for (int i = 0; i < statusCounters.length(); i++) {
+                if (Objects.nonNull(statusCounters.get(i))) {
+                    MetricsReporter.remove(LabelNames.UPSTREAM_STATUS_TOTAL, statusLabels(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.monitor.metrics;
+
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
+import org.apache.shenyu.metrics.spi.MetricsRegister;
+import org.apache.shenyu.plugin.monitor.metrics.RouteMetrics.RouteMeters;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test case for RouteMetrics.
+ */
+public final class RouteMetricsTest {
+
+    @After
+    public void reset() {
+        RouteMetrics.configure(RouteMetrics.DEFAULT_MAX_LABELS, RouteMetrics.DEFAULT_BUCKETS);
+        MetricsReporter.register(null);
+    }
+
+    @Test
+    public void testRouteMetersAreReused() {
+        SelectorData selector = SelectorData.builder().id("selector-reused").pluginName("monitor").build();
+        RuleData rule = RuleData.builder().id("rule-reused").build();
+        RouteMeters route = RouteMetrics.route(selector, rule);
+        assertSame(route, RouteMetrics.route(selector, rule));
+        assertArrayEquals(new String[]{"monitor", "selector-reused", "rule-reused"}, route.getLabels());
+        assertSame(route.requestCounter(HttpMethod.GET), route.requestCounter(HttpMethod.GET));
+        assertSame(route.latency(), route.latency());
+    }
+
+    @Test
+    public void testRouteMetersRecordLabels() {
+        MetricsRegister register = mock(MetricsRegister.class, CALLS_REAL_METHODS);
+        MetricsReporter.register(register);
+        SelectorData selector = SelectorData.builder().id("selector-recorded").pluginName("monitor").build();
+        RouteMeters route = RouteMetrics.route(selector, RuleData.builder().id("rule-recorded").build());
+        route.requestCounter(HttpMethod.GET).increment();
+        route.requestCounter(null).increment();
+        route.latency().record(5L);
+        verify(register).counterIncrement(LabelNames.HTTP_REQUEST_TOTAL, new String[]{"monitor", "selector-recorded", "rule-recorded", "GET"}, 1L);
+        verify(register).counterIncrement(LabelNames.HTTP_REQUEST_TOTAL, new String[]{"monitor", "selector-recorded", "rule-recorded", RouteMetrics.OVERFLOW}, 1L);
+        verify(register).recordTime(LabelNames.ROUTE_LATENCY_NAME, new String[]{"monitor", "selector-recorded", "rule-recorded"}, 5L);
+        RouteMetrics.upstream(route, "http://10.0.0.3:8080/order/1").statusCounter(200).increment();
+        RouteMetrics.upstream(route, "10.0.0.3:8080").statusCounter(42).increment();
+        verify(register).counterIncrement(LabelNames.UPSTREAM_STATUS_TOTAL, new String[]{"10.0.0.3:8080", "200"}, 1L);
+        verify(register).counterIncrement(LabelNames.UPSTREAM_STATUS_TOTAL, new String[]{"10.0.0.3:8080", RouteMetrics.OVERFLOW}, 1L);
+    }
+
+    @Test
+    public void testRouteMetersAreBounded() {
+        RouteMetrics.configure(0, RouteMetrics.DEFAULT_BUCKETS);
+        SelectorData selector = SelectorData.builder().id("selector-bounded").pluginName("monitor").build();
+        RouteMeters route = RouteMetrics.route(selector, RuleData.builder().id("rule-bounded").build());
+        assertArrayEquals(new String[]{RouteMetrics.OVERFLOW, RouteMetrics.OVERFLOW, RouteMetrics.OVERFLOW}, route.getLabels());
+        assertEquals(RouteMetrics.OVERFLOW, RouteMetrics.upstream(route, "http://10.0.0.9:8080/order/1").getUpstream());
+        assertTrue(RouteMetrics.isLatencyRegistered());
+    }
+
+    @Test
+    public void testUpstreamMeters() {
+        RouteMeters route = RouteMetrics.route(SelectorData.builder().id("selector-upstream").build(), RuleData.builder().id("rule-upstream").build());
+        assertEquals("10.0.0.1:8080", RouteMetrics.upstream(route, "http://10.0.0.1:8080/order/1").getUpstream());
+        assertSame(RouteMetrics.upstream(route, "http://10.0.0.1:8080/a"), RouteMetrics.upstream(route, "http://10.0.0.1:8080/b"));
+        assertSame(RouteMetrics.upstream(route, "http://10.0.0.1:8080/a").statusCounter(503), RouteMetrics.upstream(route, "http://10.0.0.1:8080/b").statusCounter(503));
+        assertEquals("10.0.0.2", RouteMetrics.upstream(route, "10.0.0.2").getUpstream());
+    }
+
+    @Test
+    public void testRemoveRule() {
+        MetricsRegister register = mock(MetricsRegister.class, CALLS_REAL_METHODS);
+        MetricsReporter.register(register);
+        SelectorData selector = SelectorData.builder().id("selector-removed").pluginName("monitor").build();
+        RouteMeters removed = RouteMetrics.route(selector, RuleData.builder().id("rule-removed").build());
+        RouteMeters kept = RouteMetrics.route(selector, RuleData.builder().id("rule-kept").build());
+        removed.requestCounter(HttpMethod.GET).increment();
+        RouteMetrics.upstream(removed, "http://10.0.0.5:8080/order").statusCounter(200).increment();
+        RouteMetrics.upstream(removed, "http://10.0.0.6:8080/order").statusCounter(200).increment();
+        RouteMetrics.upstream(kept, "http://10.0.0.6:8080/order").statusCounter(200).increment();
+        RouteMetrics.removeRule("rule-removed");
+        verify(register).remove(LabelNames.ROUTE_LATENCY_NAME, new String[]{"monitor", "selector-removed", "rule-removed"});
+        verify(register).remove(LabelNames.HTTP_REQUEST_TOTAL, new String[]{"monitor", "selector-removed", "rule-removed", "GET"});
+        verify(register).remove(LabelNames.UPSTREAM_STATUS_TOTAL, new String[]{"10.0.0.5:8080", "200"});
+        verify(register, never()).remove(LabelNames.UPSTREAM_STATUS_TOTAL, new String[]{"10.0.0.6:8080", "200"});
+        assertNotSame(removed, RouteMetrics.route(selector, RuleData.builder().id("rule-removed").build()));
+        assertSame(kept, RouteMetrics.route(selector, RuleData.builder().id("rule-kept").build()));
+        RouteMetrics.removeSelector("selector-removed");
+        verify(register).remove(LabelNames.ROUTE_LATENCY_NAME, new String[]{"monitor", "selector-removed", "rule-kept"});
+        verify(register).remove(LabelNames.UPSTREAM_STATUS_TOTAL, new String[]{"10.0.0.6:8080", "200"});
+        assertNotSame(kept, RouteMetrics.route(selector, RuleData.builder().id("rule-kept").build()));
+    }
+}
@@ -17,9 +17,6 @@
 
 package org.apache.shenyu.plugin.motan.cache;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.weibo.api.motan.config.ProtocolConfig;
 import com.weibo.api.motan.config.RefererConfig;
 import com.weibo.api.motan.config.RegistryConfig;
@@ -30,16 +27,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.concurrent.AsyncBuildExecutor;
 import org.apache.shenyu.common.config.MotanRegisterConfig;
 import org.apache.shenyu.common.dto.MetaData;
+import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.base.cache.RpcClientCache;
 import org.apache.shenyu.plugin.motan.util.PrxInfoUtil;
 
-import java.lang.reflect.Field;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
 
 /**
  * The cache info.
@@ -53,31 +53,9 @@ public final class ApplicationConfigCache {
 
     private ProtocolConfig protocolConfig;
 
-    private final int maxCount = 1000;
-
-    private final LoadingCache<String, RefererConfig<CommonHandler>> cache = CacheBuilder.newBuilder()
-            .maximumSize(maxCount)
-            .removalListener(notification -> {
-                RefererConfig<CommonHandler> config = (RefererConfig<CommonHandler>) notification.getValue();
-                if (config != null) {
-                    try {
-                        Class<?> cz = config.getClass();
-                        Field field = cz.getDeclaredField("ref");
-                        field.setAccessible(true);
-                        field.set(config, null);
-                        // After the configuration change, motan destroys the instance, but does not empty it. If it is not handled,
-                        // it will get NULL when reinitializing and cause a NULL pointer problem.
-                    } catch (NoSuchFieldException | IllegalAccessException e) {
-                        log.error("modify ref have exception", e);
-                    }
-                }
-            })
-            .build(new CacheLoader<String, RefererConfig<CommonHandler>>() {
-                @Override
-                public RefererConfig<CommonHandler> load(final String key) {
-                    return new RefererConfig<>();
-                }
-            });
+    private final AsyncBuildExecutor<RefererConfig<CommonHandler>> buildExecutor = new AsyncBuildExecutor<>("shenyu-motan-referer");
+
+    private final RpcClientCache<RefererConfig<CommonHandler>> cache = new RpcClientCache<>(PluginEnum.MOTAN.getName(), key -> new RefererConfig<>(), RefererConfig::destroy);
 
     private ApplicationConfigCache() {
     }
@@ -119,11 +97,7 @@ public final class ApplicationConfigCache {
      * @return the reference config
      */
     public <T> RefererConfig<T> get(final String path) {
-        try {
-            return (RefererConfig<T>) cache.get(path);
-        } catch (ExecutionException e) {
-            throw new ShenyuException(e.getCause());
-        }
+        return (RefererConfig<T>) cache.get(path);
     }
 
     /**
@@ -133,18 +107,38 @@ public final class ApplicationConfigCache {
      * @return the reference config
      */
     public RefererConfig<CommonHandler> initRef(final MetaData metaData) {
-        try {
-            RefererConfig<CommonHandler> referenceConfig = cache.get(metaData.getPath());
-            if (StringUtils.isNoneBlank(referenceConfig.getServiceInterface())) {
-                return referenceConfig;
-            }
-        } catch (ExecutionException e) {
-            log.error("init motan ref ex:{}", e.getMessage());
+        RefererConfig<CommonHandler> referenceConfig = cache.get(metaData.getPath());
+        if (StringUtils.isNoneBlank(referenceConfig.getServiceInterface())) {
+            return referenceConfig;
         }
         return build(metaData);
 
     }
 
+    /**
+     * Init ref reference config on the build executor, the build of the path in flight is shared, a failed build completes the future exceptionally.
+     *
+     * @param metaData the meta data
+     * @return the future of the reference config
+     */
+    public CompletableFuture<RefererConfig<CommonHandler>> initRefAsync(final MetaData metaData) {
+        RefererConfig<CommonHandler> referenceConfig = cache.getIfUsable(metaData.getPath(), config -> StringUtils.isNoneBlank(config.getServiceInterface()));
+        if (Objects.nonNull(referenceConfig)) {
+            return CompletableFuture.completedFuture(referenceConfig);
+        }
+        return buildExecutor.submit(metaData.getPath(), () -> buildOrThrow(metaData));
+    }
+
+    /**
+     * Build reference config on the build executor, the requests of the path wait for this build.
+     *
+     * @param metaData the meta data
+     * @return the future of the reference config
+     */
+    public CompletableFuture<RefererConfig<CommonHandler>> buildAsync(final MetaData metaData) {
+        return buildExecutor.resubmit(metaData.getPath(), () -> buildOrThrow(metaData));
+    }
+
     /**
      * Build reference config.
      *
@@ -179,14 +173,29 @@ public final class ApplicationConfigCache {
         reference.setRequestTimeout(1000);
         reference.setRegistry(registryConfig);
         reference.setProtocol(protocolConfig);
+        final long start = System.nanoTime();
         CommonHandler obj = reference.getRef();
-        if (obj != null) {
-            log.info("init motan reference success there meteData is :{}", metaData);
-            cache.put(metaData.getPath(), reference);
+        if (Objects.isNull(obj)) {
+            throw new ShenyuException("init motan reference failed, the path is " + metaData.getPath());
+        }
+        log.info("init motan reference success there meteData is :{}", metaData);
+        // a build superseded by a later build of the path is not published
+        if (!buildExecutor.publish(metaData.getPath(), () -> cache.put(metaData.getPath(), reference))) {
+            cache.discard(reference);
         }
+        cache.recordBuild(start);
         return reference;
     }
 
+    private RefererConfig<CommonHandler> buildOrThrow(final MetaData metaData) {
+        try {
+            return build(metaData);
+        } catch (RuntimeException e) {
+            log.error("init motan reference ex:{}", e.getMessage());
+            throw e;
+        }
+    }
+
     /**
      * Invalidate.
      *
@@ -21,15 +21,15 @@ import com.weibo.api.motan.config.RefererConfig;
 import com.weibo.api.motan.proxy.CommonHandler;
 import com.weibo.api.motan.rpc.ResponseFuture;
 import lombok.SneakyThrows;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.ResultEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
-import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.api.utils.JsonParamBinder;
 import org.apache.shenyu.plugin.motan.cache.ApplicationConfigCache;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.Map;
 import java.util.Objects;
@@ -49,13 +49,25 @@ public class MotanProxyService {
      * @return the object
      * @throws ShenyuException the shenyu exception
      */
-    @SneakyThrows
     public Mono<Object> genericInvoker(final String body, final MetaData metaData, final ServerWebExchange exchange) throws ShenyuException {
-        RefererConfig<CommonHandler> reference = ApplicationConfigCache.getInstance().get(metaData.getPath());
-        if (Objects.isNull(reference) || StringUtils.isEmpty(reference.getServiceInterface())) {
-            ApplicationConfigCache.getInstance().invalidate(metaData.getPath());
-            reference = ApplicationConfigCache.getInstance().initRef(metaData);
+        // the referer is built off the event loop, the requests of one path share the build in flight
+        CompletableFuture<RefererConfig<CommonHandler>> future = ApplicationConfigCache.getInstance().initRefAsync(metaData);
+        return awaitReference(future)
+                .onErrorMap(ShenyuException::new)
+                .flatMap(reference -> invoke(reference, body, metaData, exchange));
+    }
+
+    private Mono<RefererConfig<CommonHandler>> awaitReference(final CompletableFuture<RefererConfig<CommonHandler>> future) {
+        Mono<RefererConfig<CommonHandler>> reference = Mono.fromFuture(future);
+        if (future.isDone()) {
+            return reference;
         }
+        // a build in flight completes on the build thread, the invoke runs on the parallel threads instead
+        return reference.publishOn(Schedulers.parallel());
+    }
+
+    @SneakyThrows
+    private Mono<Object> invoke(final RefererConfig<CommonHandler> reference, final String body, final MetaData metaData, final ServerWebExchange exchange) {
         CommonHandler commonHandler = reference.getRef();
         ApplicationConfigCache.MotanParamInfo motanParamInfo = ApplicationConfigCache.PARAM_MAP.get(metaData.getMethodName());
         Object[] params;
@@ -64,8 +76,8 @@ public class MotanProxyService {
         } else {
             int num = motanParamInfo.getParamTypes().length;
             params = new Object[num];
+            Map<String, Object> bodyMap = JsonParamBinder.convertToMap(body);
             for (int i = 0; i < num; i++) {
-                Map<String, Object> bodyMap = GsonUtils.getInstance().convertToMap(body);
                 params[i] = bodyMap.get(motanParamInfo.getParamNames()[i]).toString();
             }
         }
@@ -27,6 +27,7 @@ import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
 import org.apache.shenyu.plugin.api.utils.WebFluxResultUtils;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.base.utils.CacheKeyUtils;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
 import org.apache.shenyu.plugin.ratelimiter.executor.RedisRateLimiter;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
 import org.apache.shenyu.plugin.ratelimiter.resolver.RateLimiterKeyResolverFactory;
@@ -69,13 +70,18 @@ public class RateLimiterPlugin extends AbstractShenyuPlugin {
         String resolverKey = Optional.ofNullable(limiterHandle.getKeyResolverName())
                 .flatMap(name -> Optional.of("-" + RateLimiterKeyResolverFactory.newInstance(name).resolve(exchange)))
                 .orElse("");
-        return redisRateLimiter.isAllowed(rule.getId() + resolverKey, limiterHandle)
+        String id = rule.getId() + resolverKey;
+        return redisRateLimiter.isAllowed(id, limiterHandle)
                 .flatMap(response -> {
                     if (!response.isAllowed()) {
                         exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
                         Object error = ShenyuResultWrap.error(ShenyuResultEnum.TOO_MANY_REQUESTS.getCode(), ShenyuResultEnum.TOO_MANY_REQUESTS.getMsg(), null);
                         return WebFluxResultUtils.result(exchange, error);
                     }
+                    if (response.isLocal()) {
+                        return chain.execute(exchange)
+                                .doFinally(signalType -> RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName()).localCallback(id));
+                    }
                     return chain.execute(exchange);
                 });
     }
@@ -17,23 +17,35 @@
 
 package org.apache.shenyu.plugin.ratelimiter.algorithm;
 
+import com.google.common.cache.CacheBuilder;
+import org.apache.shenyu.common.utils.UUIDUtils;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.scripting.support.ResourceScriptSource;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The type Abstract rate limiter algorithm.
  */
 public abstract class AbstractRateLimiterAlgorithm implements RateLimiterAlgorithm<List<Long>> {
+
+    private static final String MEMBER_PREFIX = UUIDUtils.getInstance().generateShortUuid() + "-";
+
+    private static final AtomicLong MEMBER_SEQUENCE = new AtomicLong();
     
     private final AtomicBoolean initialized = new AtomicBoolean(false);
     
     private RedisScript<List<Long>> script;
+
+    private final ConcurrentMap<String, List<String>> cachedKeys = newLocalStates();
     
     /**
      * Gets script name.
@@ -66,9 +78,41 @@ public abstract class AbstractRateLimiterAlgorithm implements RateLimiterAlgorit
     
     @Override
     public List<String> getKeys(final String id) {
+        return cachedKeys.computeIfAbsent(id, this::buildKeys);
+    }
+
+    /**
+     * Build the keys of the id, they are cached per id.
+     *
+     * @param id the id
+     * @return the keys
+     */
+    protected List<String> buildKeys(final String id) {
         String prefix = getKeyName() + ".{" + id;
         String tokenKey = prefix + "}.tokens";
         String timestampKey = prefix + "}.timestamp";
-        return Arrays.asList(tokenKey, timestampKey);
+        return Collections.unmodifiableList(Arrays.asList(tokenKey, timestampKey));
+    }
+
+    /**
+     * Generate a member of a sorted set which is unique in the cluster, it is cheaper than a new uuid.
+     *
+     * @return the member
+     */
+    protected static String nextMember() {
+        return MEMBER_PREFIX + Long.toString(MEMBER_SEQUENCE.incrementAndGet(), Character.MAX_RADIX);
+    }
+
+    /**
+     * Create the local states of the rate limiter keys, the map is sharded by the cache segments and idle keys are evicted.
+     *
+     * @param <V> the state type
+     * @return the local states
+     */
+    protected static <V> ConcurrentMap<String, V> newLocalStates() {
+        return CacheBuilder.newBuilder()
+                .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .<String, V>build().asMap();
     }
 }
@@ -18,14 +18,18 @@
 package org.apache.shenyu.plugin.ratelimiter.algorithm;
 
 import org.apache.shenyu.common.enums.RateLimitEnum;
-import org.apache.shenyu.common.utils.UUIDUtils;
 import org.apache.shenyu.plugin.base.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.apache.shenyu.spi.Join;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.script.RedisScript;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The type Concurrent rate limiter algorithm.
@@ -36,6 +40,8 @@ import java.util.List;
 @Join
 public class ConcurrentRateLimiterAlgorithm extends AbstractRateLimiterAlgorithm {
 
+    private final ConcurrentMap<String, AtomicLong> localRequests = newLocalStates();
+
     @Override
     protected String getScriptName() {
         return RateLimitEnum.CONCURRENT.getScriptName();
@@ -48,9 +54,12 @@ public class ConcurrentRateLimiterAlgorithm extends AbstractRateLimiterAlgorithm
 
     @Override
     public List<String> getKeys(final String id) {
-        String tokenKey = getKeyName() + ".{" + id + "}.tokens";
-        String requestKey = UUIDUtils.getInstance().generateShortUuid();
-        return Arrays.asList(tokenKey, requestKey);
+        return Arrays.asList(super.getKeys(id).get(0), nextMember());
+    }
+
+    @Override
+    protected List<String> buildKeys(final String id) {
+        return Collections.singletonList(getKeyName() + ".{" + id + "}.tokens");
     }
 
     @Override
@@ -58,4 +67,25 @@ public class ConcurrentRateLimiterAlgorithm extends AbstractRateLimiterAlgorithm
     public void callback(final RedisScript<?> script, final List<String> keys, final List<String> scriptArgs) {
         Singleton.INST.get(ReactiveRedisTemplate.class).opsForZSet().remove(keys.get(0), keys.get(1)).subscribe();
     }
+
+    @Override
+    public RateLimiterResponse isLocalAllowed(final String id, final double replenishRate, final double burstCapacity, final double requestCount) {
+        AtomicLong requests = localRequests.computeIfAbsent(id, key -> new AtomicLong());
+        long current = requests.get();
+        while (current < burstCapacity) {
+            if (requests.compareAndSet(current, current + 1)) {
+                return new RateLimiterResponse(true, current + 1, true);
+            }
+            current = requests.get();
+        }
+        return new RateLimiterResponse(false, current, true);
+    }
+
+    @Override
+    public void localCallback(final String id) {
+        AtomicLong requests = localRequests.get(id);
+        if (Objects.nonNull(requests) && requests.decrementAndGet() < 0) {
+            requests.set(0L);
+        }
+    }
 }
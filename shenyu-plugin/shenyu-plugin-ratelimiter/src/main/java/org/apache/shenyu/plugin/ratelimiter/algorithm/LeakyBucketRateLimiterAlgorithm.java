@@ -18,14 +18,19 @@
 package org.apache.shenyu.plugin.ratelimiter.algorithm;
 
 import org.apache.shenyu.common.enums.RateLimitEnum;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.apache.shenyu.spi.Join;
 
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * The type Leaky bucket rate limiter algorithm.
  */
 @Join
 public class LeakyBucketRateLimiterAlgorithm extends AbstractRateLimiterAlgorithm {
 
+    private final ConcurrentMap<String, LocalBucket> localBuckets = newLocalStates();
+
     @Override
     protected String getScriptName() {
         return RateLimitEnum.LEAKY_BUCKET.getScriptName();
@@ -35,4 +40,14 @@ public class LeakyBucketRateLimiterAlgorithm extends AbstractRateLimiterAlgorith
     protected String getKeyName() {
         return RateLimitEnum.LEAKY_BUCKET.getKeyName();
     }
+
+    @Override
+    public RateLimiterResponse isLocalAllowed(final String id, final double replenishRate, final double burstCapacity, final double requestCount) {
+        LocalBucket bucket = localBuckets.computeIfAbsent(id, key -> new LocalBucket());
+        double level = bucket.tryAcquire(replenishRate, burstCapacity, requestCount);
+        if (level < 0) {
+            return new RateLimiterResponse(false, (long) (bucket.level(replenishRate) + requestCount), true);
+        }
+        return new RateLimiterResponse(true, (long) level, true);
+    }
 }
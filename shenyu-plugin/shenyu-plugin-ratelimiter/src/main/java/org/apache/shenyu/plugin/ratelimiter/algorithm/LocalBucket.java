@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The local bucket of one key, it is filled by the requests and drained at the replenish rate.
+ *
+ * <p>Only the theoretical time when the bucket is empty again is kept, so a request is judged by one compare-and-set.
+ */
+final class LocalBucket {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong emptyAt = new AtomicLong(System.nanoTime());
+
+    /**
+     * Try to put the requested permits into the bucket.
+     *
+     * @param rate the replenish rate per second
+     * @param capacity the capacity of the bucket
+     * @param requested the requested permits
+     * @return the level of the bucket after the request, or a negative value when the request is rejected
+     */
+    double tryAcquire(final double rate, final double capacity, final double requested) {
+        if (rate <= 0) {
+            return -1D;
+        }
+        long increment = (long) (requested / rate * NANOS_PER_SECOND);
+        long tolerance = (long) (capacity / rate * NANOS_PER_SECOND);
+        while (true) {
+            long now = System.nanoTime();
+            long current = emptyAt.get();
+            long next = (current - now > 0 ? current : now) + increment;
+            if (next - now > tolerance) {
+                return -1D;
+            }
+            if (emptyAt.compareAndSet(current, next)) {
+                return (next - now) / NANOS_PER_SECOND * rate;
+            }
+        }
+    }
+
+    /**
+     * Get the current level of the bucket.
+     *
+     * @param rate the replenish rate per second
+     * @return the level
+     */
+    double level(final double rate) {
+        return Math.max(0L, emptyAt.get() - System.nanoTime()) / NANOS_PER_SECOND * rate;
+    }
+}
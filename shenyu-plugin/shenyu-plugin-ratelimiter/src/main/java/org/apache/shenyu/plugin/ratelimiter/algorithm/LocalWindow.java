@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.algorithm;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The local sliding window of one key, the window is split into slots which are reused when the window moves.
+ *
+ * <p>Each slot keeps the low 32 bits of its slot number and its count in one long, so moving a slot to a new
+ * slot number and counting in it is one compare and set.
+ */
+final class LocalWindow {
+
+    private static final int SLOTS = 10;
+
+    private static final int COUNT_BITS = 32;
+
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray states = new AtomicLongArray(SLOTS);
+
+    /**
+     * Try to count one request in the window.
+     *
+     * @param windowSeconds the window size in seconds
+     * @param capacity the max requests in the window
+     * @return the remaining requests before this one, the request is admitted if it is positive
+     */
+    long tryAcquire(final double windowSeconds, final long capacity) {
+        long slotNanos = Math.max(1L, (long) (windowSeconds * TimeUnit.SECONDS.toNanos(1)) / SLOTS);
+        long slot = Math.floorDiv(System.nanoTime(), slotNanos);
+        int position = (int) Math.floorMod(slot, (long) SLOTS);
+        long epoch = slot & COUNT_MASK;
+        long limit = Math.min(capacity, COUNT_MASK);
+        while (true) {
+            long total = 0L;
+            for (int i = 0; i < SLOTS; i++) {
+                long state = states.get(i);
+                if (age(epoch, state) < SLOTS) {
+                    total += state & COUNT_MASK;
+                }
+            }
+            long remaining = limit - total;
+            if (remaining <= 0) {
+                return remaining;
+            }
+            long state = states.get(position);
+            long count = state & COUNT_MASK;
+            // an older slot is reset, a slot already moved on by a later call keeps its slot number and count
+            long next = age(epoch, state) > 0 || count == 0 ? epoch << COUNT_BITS | 1L : state + 1;
+            if (states.compareAndSet(position, state, next)) {
+                return remaining;
+            }
+        }
+    }
+
+    private static int age(final long epoch, final long state) {
+        return (int) (epoch - (state >>> COUNT_BITS));
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.shenyu.plugin.ratelimiter.algorithm;
 
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.apache.shenyu.spi.SPI;
 import org.springframework.data.redis.core.script.RedisScript;
 
@@ -54,4 +55,25 @@ public interface RateLimiterAlgorithm<T> {
      */
     default void callback(final RedisScript<?> script, final List<String> keys, final List<String> scriptArgs) {
     }
+
+    /**
+     * Judge the request in this jvm, it is used by the local mode and when redis is unavailable.
+     *
+     * @param id the id
+     * @param replenishRate the replenish rate
+     * @param burstCapacity the burst capacity
+     * @param requestCount the request count
+     * @return the local response
+     */
+    default RateLimiterResponse isLocalAllowed(final String id, final double replenishRate, final double burstCapacity, final double requestCount) {
+        return new RateLimiterResponse(true, -1L, true);
+    }
+
+    /**
+     * Release the local state after the admitted request is completed.
+     *
+     * @param id the id
+     */
+    default void localCallback(final String id) {
+    }
 }
@@ -18,11 +18,13 @@
 package org.apache.shenyu.plugin.ratelimiter.algorithm;
 
 import org.apache.shenyu.common.enums.RateLimitEnum;
-import org.apache.shenyu.common.utils.UUIDUtils;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.apache.shenyu.spi.Join;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The type Sliding window rate limiter algorithm.
@@ -30,6 +32,8 @@ import java.util.List;
 @Join
 public class SlidingWindowRateLimiterAlgorithm extends AbstractRateLimiterAlgorithm {
 
+    private final ConcurrentMap<String, LocalWindow> localWindows = newLocalStates();
+
     @Override
     protected String getScriptName() {
         return RateLimitEnum.SLIDING_WINDOW.getScriptName();
@@ -42,9 +46,20 @@ public class SlidingWindowRateLimiterAlgorithm extends AbstractRateLimiterAlgori
 
     @Override
     public List<String> getKeys(final String id) {
-        String prefix = getKeyName() + ".{" + id;
-        String tokenKey = prefix + "}.tokens";
-        String timestampKey = UUIDUtils.getInstance().generateShortUuid();
-        return Arrays.asList(tokenKey, timestampKey);
+        return Arrays.asList(super.getKeys(id).get(0), nextMember());
+    }
+
+    @Override
+    protected List<String> buildKeys(final String id) {
+        return Collections.singletonList(getKeyName() + ".{" + id + "}.tokens");
+    }
+
+    @Override
+    public RateLimiterResponse isLocalAllowed(final String id, final double replenishRate, final double burstCapacity, final double requestCount) {
+        if (replenishRate <= 0) {
+            return new RateLimiterResponse(false, 0L, true);
+        }
+        long remaining = localWindows.computeIfAbsent(id, key -> new LocalWindow()).tryAcquire(burstCapacity / replenishRate, (long) burstCapacity);
+        return new RateLimiterResponse(remaining > 0, remaining, true);
     }
 }
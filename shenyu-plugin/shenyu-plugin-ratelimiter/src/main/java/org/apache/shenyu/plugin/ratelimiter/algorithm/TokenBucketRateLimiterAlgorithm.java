@@ -18,8 +18,11 @@
 package org.apache.shenyu.plugin.ratelimiter.algorithm;
 
 import org.apache.shenyu.common.enums.RateLimitEnum;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.apache.shenyu.spi.Join;
 
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * The type Token bucket rate limiter algorithm.
  *
@@ -29,6 +32,8 @@ import org.apache.shenyu.spi.Join;
 @Join
 public class TokenBucketRateLimiterAlgorithm extends AbstractRateLimiterAlgorithm {
 
+    private final ConcurrentMap<String, LocalBucket> localBuckets = newLocalStates();
+
     @Override
     protected String getScriptName() {
         return RateLimitEnum.TOKEN_BUCKET.getScriptName();
@@ -38,4 +43,14 @@ public class TokenBucketRateLimiterAlgorithm extends AbstractRateLimiterAlgorith
     protected String getKeyName() {
         return RateLimitEnum.TOKEN_BUCKET.getKeyName();
     }
+
+    @Override
+    public RateLimiterResponse isLocalAllowed(final String id, final double replenishRate, final double burstCapacity, final double requestCount) {
+        LocalBucket bucket = localBuckets.computeIfAbsent(id, key -> new LocalBucket());
+        double level = bucket.tryAcquire(replenishRate, burstCapacity, requestCount);
+        if (level < 0) {
+            return new RateLimiterResponse(false, (long) (burstCapacity - bucket.level(replenishRate)), true);
+        }
+        return new RateLimiterResponse(true, (long) (burstCapacity - level), true);
+    }
 }
@@ -73,4 +73,15 @@ public class RateLimiterConfig implements Serializable {
      * indefinitely.
      */
     private Duration maxWait = Duration.ofMillis(-1);
+
+    /**
+     * Judge every request in this jvm, redis is not used.
+     */
+    private boolean local;
+
+    /**
+     * The share of the rule quota which this node enforces in this jvm when redis is unavailable,
+     * usually 1 / the node count. A non-positive value admits the requests while redis is unavailable.
+     */
+    private double fallbackRatio;
 }
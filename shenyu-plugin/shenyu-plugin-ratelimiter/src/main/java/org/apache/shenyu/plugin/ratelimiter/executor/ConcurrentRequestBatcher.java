@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import org.apache.shenyu.plugin.base.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The batcher of the concurrent rate limiter calls of one redis key.
+ *
+ * <p>The requests which arrive before the scheduled flush runs are judged by one script call, the releases
+ * are collected the same way and removed by one ZREM. A request cancelled before its result is delivered
+ * is released by the batcher when the result arrives, the delivered admissions are released by the caller.
+ */
+final class ConcurrentRequestBatcher {
+
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private static final int PENDING = 0;
+
+    private static final int RESOLVED = 1;
+
+    private static final int CANCELLED = 2;
+
+    private final String key;
+
+    private final RedisScript<List<Long>> script;
+
+    private final Queue<PendingRequest> requests = new ConcurrentLinkedQueue<>();
+
+    private final Queue<String> releases = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean requestScheduled = new AtomicBoolean();
+
+    private final AtomicBoolean releaseScheduled = new AtomicBoolean();
+
+    ConcurrentRequestBatcher(final String key, final RedisScript<List<Long>> script) {
+        this.key = key;
+        this.script = script;
+    }
+
+    /**
+     * Judge the request in the next batch.
+     *
+     * @param member the unique member of the request
+     * @param scriptArgs the script args without the members
+     * @return the response
+     */
+    Mono<RateLimiterResponse> acquire(final String member, final List<String> scriptArgs) {
+        return Mono.create(sink -> {
+            PendingRequest pending = new PendingRequest(member, scriptArgs, sink);
+            sink.onCancel(() -> cancel(pending));
+            requests.offer(pending);
+            if (requestScheduled.compareAndSet(false, true)) {
+                Schedulers.parallel().schedule(this::flushRequests);
+            }
+        });
+    }
+
+    /**
+     * Release the admitted request in the next batch.
+     *
+     * @param member the unique member of the request
+     */
+    void release(final String member) {
+        releases.offer(member);
+        if (releaseScheduled.compareAndSet(false, true)) {
+            Schedulers.parallel().schedule(this::flushReleases);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void flushRequests() {
+        requestScheduled.set(false);
+        List<PendingRequest> batch = new ArrayList<>();
+        PendingRequest pending = requests.poll();
+        while (Objects.nonNull(pending)) {
+            // the requests cancelled while queued are not sent at all
+            if (pending.state.get() == PENDING) {
+                batch.add(pending);
+            }
+            pending = batch.size() < MAX_BATCH_SIZE ? requests.poll() : null;
+        }
+        if (!requests.isEmpty() && requestScheduled.compareAndSet(false, true)) {
+            Schedulers.parallel().schedule(this::flushRequests);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> scriptArgs = new ArrayList<>(batch.get(0).scriptArgs.size() + batch.size());
+        scriptArgs.addAll(batch.get(0).scriptArgs);
+        batch.forEach(request -> scriptArgs.add(request.member));
+        Flux<List<Long>> resultFlux = Flux.defer(() -> Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, Collections.singletonList(key), scriptArgs));
+        resultFlux.reduce(new ArrayList<Long>(), (longs, l) -> {
+            longs.addAll(l);
+            return longs;
+        }).subscribe(results -> {
+            long allowed = results.get(0);
+            long count = results.get(1);
+            for (int i = 0; i < batch.size(); i++) {
+                resolve(batch.get(i), new RateLimiterResponse(i < allowed, count));
+            }
+        }, throwable -> batch.forEach(request -> {
+            if (request.state.compareAndSet(PENDING, RESOLVED)) {
+                request.sink.error(throwable);
+            }
+        }));
+    }
+
+    private void resolve(final PendingRequest request, final RateLimiterResponse response) {
+        request.admitted = response.isAllowed();
+        if (request.state.compareAndSet(PENDING, RESOLVED)) {
+            request.sink.success(response);
+        } else if (request.admitted) {
+            // cancelled after the batch was sent, nobody else knows the member was admitted
+            release(request.member);
+        }
+    }
+
+    private void cancel(final PendingRequest request) {
+        // losing to the result means the sink may have dropped the admitted response, a second ZREM of the member is harmless
+        if (!request.state.compareAndSet(PENDING, CANCELLED) && request.admitted) {
+            release(request.member);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void flushReleases() {
+        releaseScheduled.set(false);
+        List<Object> members = new ArrayList<>();
+        String member = releases.poll();
+        while (Objects.nonNull(member)) {
+            members.add(member);
+            member = releases.poll();
+        }
+        if (!members.isEmpty()) {
+            Singleton.INST.get(ReactiveRedisTemplate.class).opsForZSet().remove(key, members.toArray()).subscribe();
+        }
+    }
+
+    private static final class PendingRequest {
+
+        private final String member;
+
+        private final List<String> scriptArgs;
+
+        private final MonoSink<RateLimiterResponse> sink;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private volatile boolean admitted;
+
+        PendingRequest(final String member, final List<String> scriptArgs, final MonoSink<RateLimiterResponse> sink) {
+            this.member = member;
+            this.scriptArgs = scriptArgs;
+            this.sink = sink;
+        }
+    }
+}
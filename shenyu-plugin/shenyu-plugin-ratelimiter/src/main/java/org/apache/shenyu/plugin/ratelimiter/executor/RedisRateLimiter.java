@@ -17,27 +17,71 @@
 
 package org.apache.shenyu.plugin.ratelimiter.executor;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
 import org.apache.shenyu.plugin.base.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.ConcurrentRateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
+import org.apache.shenyu.plugin.ratelimiter.algorithm.TokenBucketRateLimiterAlgorithm;
+import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
 import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * RedisRateLimiter.
  */
 @Slf4j
 public class RedisRateLimiter {
+
+    private static final RedisScript<List<Long>> LEASE_SCRIPT = script("request_rate_limiter_lease.lua");
+
+    private static final RedisScript<List<Long>> CONCURRENT_BATCH_SCRIPT = script("concurrent_request_rate_limiter_batch.lua");
+
+    /**
+     * The formatted rate, capacity and request count of every cached handle.
+     */
+    private static final Cache<RateLimiterHandle, String[]> HANDLE_ARGS = CacheBuilder.newBuilder().weakKeys().build();
+
+    private static final LoadingCache<String, ConcurrentRequestBatcher> BATCHERS = CacheBuilder.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build(new CacheLoader<String, ConcurrentRequestBatcher>() {
+                @Override
+                public ConcurrentRequestBatcher load(final String key) {
+                    return new ConcurrentRequestBatcher(key, CONCURRENT_BATCH_SCRIPT);
+                }
+            });
+
+    private static volatile Map.Entry<Long, String> epochSecondArg = new AbstractMap.SimpleImmutableEntry<>(0L, "0.0");
+
+    private static final LoadingCache<String, TokenLease> LEASES = CacheBuilder.newBuilder()
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build(new CacheLoader<String, TokenLease>() {
+                @Override
+                public TokenLease load(final String key) {
+                    return new TokenLease();
+                }
+            });
     
     /**
      * Verify using different current limiting algorithm scripts. 
@@ -48,15 +92,22 @@ public class RedisRateLimiter {
      */
     @SuppressWarnings("unchecked")
     public Mono<RateLimiterResponse> isAllowed(final String id, final RateLimiterHandle limiterHandle) {
-        double replenishRate = limiterHandle.getReplenishRate();
-        double burstCapacity = limiterHandle.getBurstCapacity();
-        double requestCount = limiterHandle.getRequestCount();
         RateLimiterAlgorithm<?> rateLimiterAlgorithm = RateLimiterAlgorithmFactory.newInstance(limiterHandle.getAlgorithmName());
-        RedisScript<?> script = rateLimiterAlgorithm.getScript();
+        RateLimiterConfig rateLimiterConfig = Singleton.INST.get(RateLimiterConfig.class);
+        if (Objects.nonNull(rateLimiterConfig) && rateLimiterConfig.isLocal()) {
+            return Mono.just(rateLimiterAlgorithm.isLocalAllowed(id, limiterHandle.getReplenishRate(), limiterHandle.getBurstCapacity(), limiterHandle.getRequestCount()));
+        }
+        if (limiterHandle.getLeaseSize() > 0 && rateLimiterAlgorithm instanceof TokenBucketRateLimiterAlgorithm) {
+            return isLeaseAllowed(id, limiterHandle, rateLimiterAlgorithm);
+        }
         List<String> keys = rateLimiterAlgorithm.getKeys(id);
-        List<String> scriptArgs = Arrays.asList(doubleToString(replenishRate), doubleToString(burstCapacity), doubleToString(Instant.now().getEpochSecond()), doubleToString(requestCount));
+        List<String> scriptArgs = scriptArgs(limiterHandle, Instant.now().getEpochSecond());
+        if (rateLimiterAlgorithm instanceof ConcurrentRateLimiterAlgorithm) {
+            return isConcurrentAllowed(id, limiterHandle, rateLimiterAlgorithm, keys, scriptArgs);
+        }
+        RedisScript<?> script = rateLimiterAlgorithm.getScript();
         Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(script, keys, scriptArgs);
-        return resultFlux.onErrorResume(throwable -> Flux.just(Arrays.asList(1L, -1L)))
+        return resultFlux
                 .reduce(new ArrayList<Long>(), (longs, l) -> {
                     longs.addAll(l);
                     return longs;
@@ -65,10 +116,132 @@ public class RedisRateLimiter {
                     Long tokensLeft = results.get(1);
                     return new RateLimiterResponse(allowed, tokensLeft);
                 })
+                .onErrorResume(throwable -> Mono.just(fallback(id, limiterHandle, rateLimiterAlgorithm, rateLimiterConfig)))
                 .doOnError(throwable -> log.error("Error occurred while judging if user is allowed by RedisRateLimiter:{}", throwable.getMessage()))
                 .doFinally(signalType -> rateLimiterAlgorithm.callback(script, keys, scriptArgs));
     }
     
+    /**
+     * Judge the concurrent request in a batch with the other requests of the key, the admitted member is released in a batch too.
+     *
+     * @param id the rule id
+     * @param limiterHandle the limiter handle
+     * @param rateLimiterAlgorithm the concurrent algorithm
+     * @param keys the sorted set key and the member of the request
+     * @param scriptArgs the script args
+     * @return {@code Mono<RateLimiterResponse>} to indicate when request processing is complete
+     */
+    private Mono<RateLimiterResponse> isConcurrentAllowed(final String id, final RateLimiterHandle limiterHandle, final RateLimiterAlgorithm<?> rateLimiterAlgorithm,
+                                                          final List<String> keys, final List<String> scriptArgs) {
+        ConcurrentRequestBatcher batcher = BATCHERS.getUnchecked(keys.get(0));
+        String member = keys.get(1);
+        return Mono.defer(() -> {
+            AtomicBoolean admitted = new AtomicBoolean();
+            return batcher.acquire(member, scriptArgs)
+                    .doOnNext(response -> admitted.set(response.isAllowed()))
+                    .doFinally(signalType -> {
+                        if (admitted.get()) {
+                            batcher.release(member);
+                        }
+                    });
+        }).onErrorResume(throwable -> {
+            log.error("Error occurred while judging if user is allowed by RedisRateLimiter:{}", throwable.getMessage());
+            return Mono.just(fallback(id, limiterHandle, rateLimiterAlgorithm, Singleton.INST.get(RateLimiterConfig.class)));
+        });
+    }
+
+    /**
+     * Admit the request by the permits leased from the token bucket, redis is called once per lease instead of once per request.
+     *
+     * @param id the rule id
+     * @param limiterHandle the limiter handle
+     * @param rateLimiterAlgorithm the token bucket algorithm
+     * @return {@code Mono<RateLimiterResponse>} to indicate when request processing is complete
+     */
+    private Mono<RateLimiterResponse> isLeaseAllowed(final String id, final RateLimiterHandle limiterHandle, final RateLimiterAlgorithm<?> rateLimiterAlgorithm) {
+        List<String> keys = rateLimiterAlgorithm.getKeys(id);
+        TokenLease lease = LEASES.getUnchecked(id);
+        long leaseSize = leaseSize(limiterHandle);
+        long epochSecond = Instant.now().getEpochSecond();
+        if (lease.tryAcquire()) {
+            if (lease.remaining() <= leaseSize / 2 && !lease.isExhausted(epochSecond)) {
+                lease.refill(epochSecond, () -> lease(limiterHandle, keys, leaseSize, epochSecond))
+                        .subscribe(granted -> { }, throwable -> log.error("Error occurred while leasing permits by RedisRateLimiter:{}", throwable.getMessage()));
+            }
+            return Mono.just(new RateLimiterResponse(true, lease.remaining()));
+        }
+        if (lease.isExhausted(epochSecond)) {
+            return Mono.just(new RateLimiterResponse(false, 0L));
+        }
+        return lease.refill(epochSecond, () -> lease(limiterHandle, keys, leaseSize, epochSecond))
+                .map(granted -> new RateLimiterResponse(lease.tryAcquire(), lease.remaining()))
+                .onErrorResume(throwable -> {
+                    log.error("Error occurred while judging if user is allowed by RedisRateLimiter:{}", throwable.getMessage());
+                    return Mono.just(fallback(id, limiterHandle, rateLimiterAlgorithm, Singleton.INST.get(RateLimiterConfig.class)));
+                });
+    }
+
+    /**
+     * Judge the request in this jvm with the degraded quota of this node when redis is unavailable.
+     *
+     * @param id the rule id
+     * @param limiterHandle the limiter handle
+     * @param rateLimiterAlgorithm the algorithm
+     * @param rateLimiterConfig the plugin config
+     * @return the response
+     */
+    private RateLimiterResponse fallback(final String id, final RateLimiterHandle limiterHandle, final RateLimiterAlgorithm<?> rateLimiterAlgorithm,
+                                         final RateLimiterConfig rateLimiterConfig) {
+        if (Objects.isNull(rateLimiterConfig) || rateLimiterConfig.getFallbackRatio() <= 0) {
+            return new RateLimiterResponse(true, -1L);
+        }
+        double ratio = Math.min(1D, rateLimiterConfig.getFallbackRatio());
+        double burstCapacity = Math.max(limiterHandle.getBurstCapacity() * ratio, limiterHandle.getRequestCount());
+        return rateLimiterAlgorithm.isLocalAllowed(id, limiterHandle.getReplenishRate() * ratio, burstCapacity, limiterHandle.getRequestCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Long> lease(final RateLimiterHandle limiterHandle, final List<String> keys, final long leaseSize, final long epochSecond) {
+        List<String> scriptArgs = Arrays.asList(doubleToString(limiterHandle.getReplenishRate()), doubleToString(limiterHandle.getBurstCapacity()),
+                doubleToString(epochSecond), String.valueOf(leaseSize), doubleToString(limiterHandle.getRequestCount()));
+        Flux<List<Long>> resultFlux = Singleton.INST.get(ReactiveRedisTemplate.class).execute(LEASE_SCRIPT, keys, scriptArgs);
+        return resultFlux.reduce(new ArrayList<Long>(), (longs, l) -> {
+            longs.addAll(l);
+            return longs;
+        }).map(results -> results.get(0));
+    }
+
+    private long leaseSize(final RateLimiterHandle limiterHandle) {
+        double requestCount = limiterHandle.getRequestCount() > 0 ? limiterHandle.getRequestCount() : 1.0;
+        return Math.max(1L, (long) Math.min(limiterHandle.getLeaseSize(), limiterHandle.getBurstCapacity() / requestCount));
+    }
+
+    /**
+     * Build the script args: rate, capacity, epoch second and request count.
+     *
+     * @param limiterHandle the limiter handle
+     * @param epochSecond the current epoch second
+     * @return the script args
+     */
+    List<String> scriptArgs(final RateLimiterHandle limiterHandle, final long epochSecond) {
+        String[] handleArgs = HANDLE_ARGS.asMap().computeIfAbsent(limiterHandle, handle -> new String[]{doubleToString(handle.getReplenishRate()),
+            doubleToString(handle.getBurstCapacity()), doubleToString(handle.getRequestCount())});
+        Map.Entry<Long, String> current = epochSecondArg;
+        if (current.getKey() != epochSecond) {
+            current = new AbstractMap.SimpleImmutableEntry<>(epochSecond, doubleToString(epochSecond));
+            epochSecondArg = current;
+        }
+        return Arrays.asList(handleArgs[0], handleArgs[1], current.getValue(), handleArgs[2]);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RedisScript<List<Long>> script(final String scriptName) {
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("/META-INF/scripts/" + scriptName)));
+        redisScript.setResultType(List.class);
+        return redisScript;
+    }
+    
     private String doubleToString(final double param) {
         return String.valueOf(param);
     }
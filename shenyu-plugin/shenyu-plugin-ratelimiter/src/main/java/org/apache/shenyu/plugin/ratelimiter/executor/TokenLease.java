@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.ratelimiter.executor;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * The permits of one rate limiter key leased from the redis token bucket.
+ *
+ * <p>Requests are admitted by a lock-free decrement of the local permits, a lease only lives for one second
+ * so that the permits which are not used in time are not spent later. Concurrent refills share one redis call.
+ */
+final class TokenLease {
+
+    private static final long LEASE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong permits = new AtomicLong();
+
+    private final AtomicReference<Mono<Long>> leasing = new AtomicReference<>();
+
+    private volatile long expireAt = System.nanoTime();
+
+    private volatile long exhaustedSecond = -1L;
+
+    /**
+     * Try to take one local permit.
+     *
+     * @return true if the request is admitted
+     */
+    boolean tryAcquire() {
+        if (System.nanoTime() - expireAt >= 0) {
+            return false;
+        }
+        long current = permits.get();
+        while (current > 0) {
+            if (permits.compareAndSet(current, current - 1)) {
+                return true;
+            }
+            current = permits.get();
+        }
+        return false;
+    }
+
+    /**
+     * Get the local permits.
+     *
+     * @return the remaining permits
+     */
+    long remaining() {
+        return Math.max(0L, permits.get());
+    }
+
+    /**
+     * Whether the redis bucket was found empty in this second, the bucket is refilled per second.
+     *
+     * @param epochSecond the current epoch second
+     * @return true if the redis bucket is empty
+     */
+    boolean isExhausted(final long epochSecond) {
+        return exhaustedSecond == epochSecond;
+    }
+
+    /**
+     * Lease permits from redis, the running lease is shared by all callers.
+     *
+     * @param epochSecond the current epoch second
+     * @param loader      the redis call which returns the granted permits
+     * @return the granted permits
+     */
+    Mono<Long> refill(final long epochSecond, final Supplier<Mono<Long>> loader) {
+        Mono<Long> current = leasing.get();
+        if (Objects.nonNull(current)) {
+            return current;
+        }
+        Mono<Long> lease = Mono.defer(loader)
+                .doOnSuccess(granted -> {
+                    grant(epochSecond, Objects.isNull(granted) ? 0L : granted);
+                    leasing.set(null);
+                })
+                .doOnError(throwable -> leasing.set(null))
+                .cache();
+        if (leasing.compareAndSet(null, lease)) {
+            return lease;
+        }
+        current = leasing.get();
+        return Objects.nonNull(current) ? current : Mono.just(0L);
+    }
+
+    private void grant(final long epochSecond, final long granted) {
+        if (granted <= 0) {
+            exhaustedSecond = epochSecond;
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - expireAt >= 0) {
+            permits.set(granted);
+        } else {
+            permits.addAndGet(granted);
+        }
+        expireAt = now + LEASE_NANOS;
+    }
+}
@@ -65,6 +65,10 @@ public class RateLimiterPluginDataHandler implements PluginDataHandler {
         if (Objects.nonNull(pluginData) && pluginData.getEnabled()) {
             //init redis
             RateLimiterConfig rateLimiterConfig = GsonUtils.getInstance().fromJson(pluginData.getConfig(), RateLimiterConfig.class);
+            if (rateLimiterConfig.isLocal()) {
+                Singleton.INST.single(RateLimiterConfig.class, rateLimiterConfig);
+                return;
+            }
             //spring data redisTemplate
             if (Objects.isNull(Singleton.INST.get(ReactiveRedisTemplate.class))
                     || Objects.isNull(Singleton.INST.get(RateLimiterConfig.class))
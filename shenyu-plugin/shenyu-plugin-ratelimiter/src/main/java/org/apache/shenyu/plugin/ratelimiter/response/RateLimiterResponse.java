@@ -36,8 +36,23 @@ public class RateLimiterResponse implements Serializable {
 
     private final long tokensRemaining;
 
+    /**
+     * whether the request is judged in this jvm instead of redis.
+     */
+    private final boolean local;
+
+    /**
+     * Instantiates a new response judged by redis.
+     *
+     * @param allowed the allowed
+     * @param tokensRemaining the tokens remaining
+     */
+    public RateLimiterResponse(final boolean allowed, final long tokensRemaining) {
+        this(allowed, tokensRemaining, false);
+    }
+
     @Override
     public String toString() {
-        return "Response{" + "allowed=" + allowed + ", tokensRemaining=" + tokensRemaining + '}';
+        return "Response{" + "allowed=" + allowed + ", tokensRemaining=" + tokensRemaining + ", local=" + local + '}';
     }
 }
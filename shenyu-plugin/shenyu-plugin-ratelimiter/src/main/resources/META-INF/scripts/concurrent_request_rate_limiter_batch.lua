@@ -0,0 +1,34 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one or more
+-- contributor license agreements.  See the NOTICE file distributed with
+-- this work for additional information regarding copyright ownership.
+-- The ASF licenses this file to You under the Apache License, Version 2.0
+-- (the "License"); you may not use this file except in compliance with
+-- the License.  You may obtain a copy of the License at
+--
+--    http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+
+local key = KEYS[1]
+
+local capacity = tonumber(ARGV[2])
+local timestamp = tonumber(ARGV[3])
+
+local count = redis.call("zcard", key)
+local allowed = 0
+
+-- ARGV: rate, capacity, timestamp, request count, then the members of the batch
+for i = 5, #ARGV do
+  if count < capacity then
+    redis.call("zadd", key, timestamp, ARGV[i])
+    allowed = allowed + 1
+    count = count + 1
+  end
+end
+return { allowed, count }
@@ -23,7 +23,9 @@ import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 /**
  * test for ConcurrentRateLimiterAlgorithm.
@@ -47,4 +49,13 @@ public final class ConcurrentRateLimiterAlgorithmTest {
     public void getKeyNameTest() {
         assertThat("concurrent_request_rate_limiter", is(concurrentRateLimiterAlgorithm.getKeyName()));
     }
+
+    @Test
+    public void isLocalAllowedTest() {
+        assertTrue(concurrentRateLimiterAlgorithm.isLocalAllowed("local", 1, 2, 1).isAllowed());
+        assertTrue(concurrentRateLimiterAlgorithm.isLocalAllowed("local", 1, 2, 1).isAllowed());
+        assertFalse(concurrentRateLimiterAlgorithm.isLocalAllowed("local", 1, 2, 1).isAllowed());
+        concurrentRateLimiterAlgorithm.localCallback("local");
+        assertTrue(concurrentRateLimiterAlgorithm.isLocalAllowed("local", 1, 2, 1).isAllowed());
+    }
 }
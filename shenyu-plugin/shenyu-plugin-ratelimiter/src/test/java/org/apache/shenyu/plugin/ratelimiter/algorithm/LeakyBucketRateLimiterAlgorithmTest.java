@@ -23,7 +23,9 @@ import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 /**
  * test for LeakyBucketRateLimiterAlgorithm.
@@ -47,4 +49,11 @@ public final class LeakyBucketRateLimiterAlgorithmTest {
     public void getKeyNameTest() {
         assertThat("request_leaky_rate_limiter", is(leakyBucketRateLimiterAlgorithm.getKeyName()));
     }
+
+    @Test
+    public void isLocalAllowedTest() {
+        assertThat(leakyBucketRateLimiterAlgorithm.isLocalAllowed("local", 0.5, 3, 2).getTokensRemaining(), is(2L));
+        assertTrue(leakyBucketRateLimiterAlgorithm.isLocalAllowed("local", 0.5, 3, 1).isAllowed());
+        assertFalse(leakyBucketRateLimiterAlgorithm.isLocalAllowed("local", 0.5, 3, 1).isAllowed());
+    }
 }
@@ -21,7 +21,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 /**
  * test for SlidingWindowRateLimiterAlgorithm.
@@ -53,4 +55,12 @@ public final class SlidingWindowRateLimiterAlgorithmTest {
         String tokenKey = prefix + "}.tokens";
         assertThat(tokenKey, is(slidingWindowRateLimiterAlgorithm.getKeys(ID).get(0)));
     }
+
+    @Test
+    public void isLocalAllowedTest() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(slidingWindowRateLimiterAlgorithm.isLocalAllowed(ID, 0.5, 3, 1).isAllowed());
+        }
+        assertFalse(slidingWindowRateLimiterAlgorithm.isLocalAllowed(ID, 0.5, 3, 1).isAllowed());
+    }
 }
@@ -23,7 +23,9 @@ import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 /**
  * test for TokenBucketRateLimiterAlgorithm.
@@ -47,4 +49,13 @@ public final class TokenBucketRateLimiterAlgorithmTest {
     public void getKeyNameTest() {
         assertThat("request_rate_limiter", is(tokenBucketRateLimiterAlgorithm.getKeyName()));
     }
+
+    @Test
+    public void isLocalAllowedTest() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(tokenBucketRateLimiterAlgorithm.isLocalAllowed("local", 0.5, 3, 1).isAllowed());
+        }
+        assertThat(tokenBucketRateLimiterAlgorithm.isLocalAllowed("other", 0.5, 3, 1).getTokensRemaining(), is(2L));
+        assertFalse(tokenBucketRateLimiterAlgorithm.isLocalAllowed("local", 0.5, 3, 1).isAllowed());
+    }
 }
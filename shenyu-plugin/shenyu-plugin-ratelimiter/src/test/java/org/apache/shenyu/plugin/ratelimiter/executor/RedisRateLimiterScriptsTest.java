@@ -19,29 +19,43 @@ package org.apache.shenyu.plugin.ratelimiter.executor;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
 import org.apache.shenyu.common.utils.GsonUtils;
 import org.apache.shenyu.plugin.base.utils.Singleton;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithm;
 import org.apache.shenyu.plugin.ratelimiter.algorithm.RateLimiterAlgorithmFactory;
 import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
 import org.apache.shenyu.plugin.ratelimiter.handler.RateLimiterPluginDataHandler;
+import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 import redis.embedded.RedisServer;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
 /**
  * Test of rate limiter Lua scripts.
  */
@@ -101,6 +115,58 @@ public class RedisRateLimiterScriptsTest {
                 .verify();
     }
 
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void concurrentBatchLuaTest() throws InterruptedException {
+        DefaultRedisScript script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource("/META-INF/scripts/concurrent_request_rate_limiter_batch.lua")));
+        script.setResultType(List.class);
+        String key = "test-concurrent-batch";
+        RateLimiterHandle limiterHandle = new RateLimiterHandle();
+        limiterHandle.setReplenishRate(10);
+        limiterHandle.setBurstCapacity(2);
+        List<String> scriptArgs = new RedisRateLimiter().scriptArgs(limiterHandle, Instant.now().getEpochSecond());
+        ConcurrentRequestBatcher batcher = new ConcurrentRequestBatcher(key, script);
+        StepVerifier
+                .create(Flux.just("a", "b", "c").concatMap(member -> batcher.acquire(member, scriptArgs)).map(RateLimiterResponse::isAllowed))
+                .expectNext(true, true, false)
+                .expectComplete()
+                .verify();
+        ReactiveRedisTemplate<String, String> template = Singleton.INST.get(ReactiveRedisTemplate.class);
+        StepVerifier
+                .create(template.opsForZSet().range(key, Range.unbounded()).collectList())
+                .expectNext(Arrays.asList("a", "b"))
+                .expectComplete()
+                .verify();
+        batcher.release("a");
+        batcher.release("b");
+        assertEquals(0L, awaitSize(template, key, 0L));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void concurrentCancelAfterDispatchTest() throws InterruptedException {
+        ReactiveRedisTemplate<String, String> template = Singleton.INST.get(ReactiveRedisTemplate.class);
+        ReactiveRedisTemplate delayedTemplate = spy(template);
+        // the script admits the member at once, its result arrives after the request is cancelled
+        doAnswer(invocation -> ((Flux<?>) invocation.callRealMethod()).delayElements(Duration.ofMillis(500)))
+                .when(delayedTemplate).execute(any(RedisScript.class), anyList(), anyList());
+        Singleton.INST.single(ReactiveRedisTemplate.class, delayedTemplate);
+        try {
+            RateLimiterHandle limiterHandle = new RateLimiterHandle();
+            limiterHandle.setAlgorithmName("concurrent");
+            limiterHandle.setReplenishRate(10);
+            limiterHandle.setBurstCapacity(2);
+            String key = RateLimiterAlgorithmFactory.newInstance("concurrent").getKeys("cancelTestId").get(0);
+            Disposable request = new RedisRateLimiter().isAllowed("cancelTestId", limiterHandle).subscribe();
+            assertEquals(1L, awaitSize(template, key, 1L));
+            request.dispose();
+            assertEquals(0L, awaitSize(template, key, 0L));
+        } finally {
+            Singleton.INST.single(ReactiveRedisTemplate.class, template);
+        }
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void tokenBucketLuaTest() {
@@ -133,6 +199,15 @@ public class RedisRateLimiterScriptsTest {
                 .verify();
     }
 
+    private long awaitSize(final ReactiveRedisTemplate<String, String> template, final String key, final long expected) throws InterruptedException {
+        long size = template.opsForZSet().size(key).block();
+        for (int i = 0; i < 50 && size != expected; i++) {
+            Thread.sleep(100);
+            size = template.opsForZSet().size(key).block();
+        }
+        return size;
+    }
+
     @AfterClass
     public static void end() {
         redisServer.stop();
@@ -21,6 +21,7 @@ import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.shenyu.common.dto.convert.RateLimiterHandle;
 import org.apache.shenyu.plugin.base.utils.Singleton;
+import org.apache.shenyu.plugin.ratelimiter.config.RateLimiterConfig;
 import org.apache.shenyu.plugin.ratelimiter.response.RateLimiterResponse;
 import org.junit.Assert;
 import org.junit.Before;
@@ -28,6 +29,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
 import org.springframework.data.redis.core.script.RedisScript;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -38,8 +40,12 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -165,6 +171,69 @@ public final class RedisRateLimiterTest {
         }).verifyComplete();
     }
 
+    /**
+     * redisRateLimiter.isAllowed falls back to the local algorithm when redis is unavailable.
+     */
+    @Test
+    public void fallbackTest() {
+        RateLimiterConfig rateLimiterConfig = new RateLimiterConfig();
+        rateLimiterConfig.setFallbackRatio(0.5);
+        Singleton.INST.single(RateLimiterConfig.class, rateLimiterConfig);
+        try {
+            isAllowedPreInit(0, 0, true);
+            rateLimiterHandle.setAlgorithmName("tokenBucket");
+            StepVerifier.create(redisRateLimiter.isAllowed("fallbackTestId", rateLimiterHandle)).assertNext(r -> {
+                assertTrue(r.isAllowed());
+                assertTrue(r.isLocal());
+                Assert.assertEquals((long) DEFAULT_TEST_BURST_CAPACITY / 2 - 1, r.getTokensRemaining());
+            }).verifyComplete();
+        } finally {
+            Singleton.INST.single(RateLimiterConfig.class, new RateLimiterConfig());
+        }
+    }
+
+    /**
+     * redisRateLimiter.isAllowed batches the concurrentAlgorithm calls and releases the admitted member.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void concurrentBatchTest() {
+        ReactiveRedisTemplate reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        ReactiveZSetOperations zSetOperations = mock(ReactiveZSetOperations.class);
+        Singleton.INST.single(ReactiveRedisTemplate.class, reactiveRedisTemplate);
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(
+                Flux.just(Lists.newArrayList(1L, 1L)), Flux.just(Lists.newArrayList(0L, 1L)));
+        when(reactiveRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.remove(anyString(), any())).thenReturn(Mono.just(1L));
+        rateLimiterHandle.setAlgorithmName("concurrent");
+        StepVerifier.create(redisRateLimiter.isAllowed("concurrentTestId", rateLimiterHandle))
+                .assertNext(r -> assertTrue(r.isAllowed())).verifyComplete();
+        StepVerifier.create(redisRateLimiter.isAllowed("concurrentTestId", rateLimiterHandle))
+                .assertNext(r -> assertFalse(r.isAllowed())).verifyComplete();
+        verify(zSetOperations, timeout(1000)).remove(anyString(), any());
+    }
+
+    /**
+     * redisRateLimiter.isAllowed leases permits for tokenBucketAlgorithm.
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void leaseAllowedTest() {
+        ReactiveRedisTemplate reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        Singleton.INST.single(ReactiveRedisTemplate.class, reactiveRedisTemplate);
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(
+                Flux.just(Lists.newArrayList(10L, 290L)), Flux.just(Lists.newArrayList(0L, 0L)));
+        rateLimiterHandle.setAlgorithmName("tokenBucket");
+        rateLimiterHandle.setLeaseSize(10);
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(redisRateLimiter.isAllowed("leaseTestId", rateLimiterHandle))
+                    .assertNext(r -> assertTrue(r.isAllowed())).verifyComplete();
+        }
+        StepVerifier.create(redisRateLimiter.isAllowed("leaseTestId", rateLimiterHandle))
+                .assertNext(r -> assertFalse(r.isAllowed())).verifyComplete();
+        verify(reactiveRedisTemplate, atMost(3)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
     /**
      * redisRateLimiter.isAllowed test pre init.
      *
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.sign.cache;
+
+import com.google.common.base.Splitter;
+import org.apache.shenyu.common.dto.AuthPathData;
+import org.apache.shenyu.common.utils.PathPatternTrie;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The compiled sign paths of one app, all enabled patterns are merged into one {@link PathPatternTrie}.
+ */
+public final class AuthPathMatcher {
+
+    private final PathPatternTrie<String> patterns;
+
+    private AuthPathMatcher(final PathPatternTrie<String> patterns) {
+        this.patterns = patterns;
+    }
+
+    /**
+     * Compile the enabled paths, one path may hold several patterns separated by comma.
+     *
+     * @param pathDataList the path data list
+     * @return the path matcher
+     */
+    public static AuthPathMatcher of(final List<AuthPathData> pathDataList) {
+        PathPatternTrie<String> patterns = new PathPatternTrie<>();
+        if (Objects.nonNull(pathDataList)) {
+            for (AuthPathData pathData : pathDataList) {
+                if (Objects.isNull(pathData) || !Boolean.TRUE.equals(pathData.getEnabled()) || Objects.isNull(pathData.getPath())) {
+                    continue;
+                }
+                for (String pattern : Splitter.on(",").omitEmptyStrings().trimResults().split(pathData.getPath())) {
+                    patterns.add(pattern, pattern);
+                }
+            }
+        }
+        return new AuthPathMatcher(patterns);
+    }
+
+    /**
+     * Whether no path is configured.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+
+    /**
+     * Whether the path matches one of the patterns.
+     *
+     * @param path the request path
+     * @return true if matched
+     */
+    public boolean match(final String path) {
+        return patterns.match(path);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.sign.cache;
+
+import org.apache.shenyu.common.dto.AppAuthData;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * The app auth data with the sign paths and the secret compiled once per sync.
+ */
+public final class SignAuthData {
+
+    /**
+     * The hmac sha256 algorithm.
+     */
+    public static final String HMAC_SHA256 = "HmacSHA256";
+
+    private final AppAuthData appAuthData;
+
+    private final AuthPathMatcher pathMatcher;
+
+    private final byte[] secret;
+
+    private final SecretKeySpec secretKey;
+
+    /**
+     * Instantiates a new Sign auth data.
+     *
+     * @param appAuthData the app auth data
+     */
+    public SignAuthData(final AppAuthData appAuthData) {
+        this.appAuthData = appAuthData;
+        this.pathMatcher = AuthPathMatcher.of(appAuthData.getPathDataList());
+        this.secret = Objects.isNull(appAuthData.getAppSecret()) ? null : appAuthData.getAppSecret().getBytes(StandardCharsets.UTF_8);
+        this.secretKey = Objects.isNull(secret) || secret.length == 0 ? null : new SecretKeySpec(secret, HMAC_SHA256);
+    }
+
+    /**
+     * Get the app auth data.
+     *
+     * @return the app auth data
+     */
+    public AppAuthData getAppAuthData() {
+        return appAuthData;
+    }
+
+    /**
+     * Get the compiled sign paths.
+     *
+     * @return the path matcher
+     */
+    public AuthPathMatcher getPathMatcher() {
+        return pathMatcher;
+    }
+
+    /**
+     * Get the utf-8 bytes of the app secret.
+     *
+     * @return the secret bytes, null if the app has no secret
+     */
+    public byte[] getSecret() {
+        return secret;
+    }
+
+    /**
+     * Get the hmac key of the app secret.
+     *
+     * @return the secret key, null if the app has no secret
+     */
+    public SecretKeySpec getSecretKey() {
+        return secretKey;
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.shenyu.plugin.sign.cache;
 import com.google.common.collect.Maps;
 import org.apache.shenyu.common.dto.AppAuthData;
 
+import java.util.Objects;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -30,9 +31,9 @@ public final class SignAuthDataCache {
     private static final SignAuthDataCache INSTANCE = new SignAuthDataCache();
     
     /**
-     * appKey -> AppAuthData.
+     * appKey -> SignAuthData.
      */
-    private static final ConcurrentMap<String, AppAuthData> AUTH_MAP = Maps.newConcurrentMap();
+    private static final ConcurrentMap<String, SignAuthData> AUTH_MAP = Maps.newConcurrentMap();
     
     private SignAuthDataCache() {
     }
@@ -47,12 +48,12 @@ public final class SignAuthDataCache {
     }
     
     /**
-     * Cache auth data.
+     * Cache auth data, the sign paths and the secret are compiled again.
      *
      * @param data the data
      */
     public void cacheAuthData(final AppAuthData data) {
-        AUTH_MAP.put(data.getAppKey(), data);
+        AUTH_MAP.put(data.getAppKey(), new SignAuthData(data));
     }
     
     /**
@@ -71,6 +72,17 @@ public final class SignAuthDataCache {
      * @return the app auth data
      */
     public AppAuthData obtainAuthData(final String appKey) {
+        SignAuthData signAuthData = AUTH_MAP.get(appKey);
+        return Objects.isNull(signAuthData) ? null : signAuthData.getAppAuthData();
+    }
+    
+    /**
+     * Obtain the compiled auth data.
+     *
+     * @param appKey the app key
+     * @return the sign auth data
+     */
+    public SignAuthData obtainSignAuthData(final String appKey) {
         return AUTH_MAP.get(appKey);
     }
 }
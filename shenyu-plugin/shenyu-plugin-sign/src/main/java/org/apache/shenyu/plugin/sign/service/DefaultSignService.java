@@ -17,10 +17,8 @@
 
 package org.apache.shenyu.plugin.sign.service;
 
-import com.google.common.collect.Maps;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -29,16 +27,15 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.shenyu.common.constant.Constants;
 import org.apache.shenyu.common.dto.AppAuthData;
 import org.apache.shenyu.common.dto.AuthParamData;
-import org.apache.shenyu.common.dto.AuthPathData;
 import org.apache.shenyu.common.dto.PluginData;
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.utils.DateUtils;
-import org.apache.shenyu.common.utils.PathMatchUtils;
-import org.apache.shenyu.common.utils.SignUtils;
 import org.apache.shenyu.plugin.api.SignService;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.sign.cache.AuthPathMatcher;
+import org.apache.shenyu.plugin.sign.cache.SignAuthData;
 import org.apache.shenyu.plugin.sign.cache.SignAuthDataCache;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.server.ServerWebExchange;
@@ -52,6 +49,9 @@ public class DefaultSignService implements SignService {
     @Value("${shenyu.sign.delay:5}")
     private int delay;
 
+    @Value("${shenyu.sign.algorithm:md5}")
+    private String algorithm = SignDigester.MD5;
+
     @Override
     public Pair<Boolean, String> signVerify(final ServerWebExchange exchange) {
         PluginData signData = BaseDataCache.getInstance().obtainPluginData(PluginEnum.SIGN.getName());
@@ -86,29 +86,27 @@ public class DefaultSignService implements SignService {
      * @return result : True is pass, False is not pass.
      */
     private Pair<Boolean, String> sign(final ShenyuContext shenyuContext, final ServerWebExchange exchange) {
-        final AppAuthData appAuthData = SignAuthDataCache.getInstance().obtainAuthData(shenyuContext.getAppKey());
-        if (Objects.isNull(appAuthData) || !appAuthData.getEnabled()) {
+        final SignAuthData signAuthData = SignAuthDataCache.getInstance().obtainSignAuthData(shenyuContext.getAppKey());
+        if (Objects.isNull(signAuthData) || !signAuthData.getAppAuthData().getEnabled()) {
             log.error("sign APP_kEY does not exist or has been disabled,{}", shenyuContext.getAppKey());
             return Pair.of(Boolean.FALSE, Constants.SIGN_APP_KEY_IS_NOT_EXIST);
         }
+        final AppAuthData appAuthData = signAuthData.getAppAuthData();
         if (appAuthData.getOpen()) {
-            List<AuthPathData> pathDataList = appAuthData.getPathDataList();
-            if (CollectionUtils.isEmpty(pathDataList)) {
+            AuthPathMatcher pathMatcher = signAuthData.getPathMatcher();
+            if (pathMatcher.isEmpty()) {
                 log.error("You have not configured the sign path:{}", shenyuContext.getAppKey());
                 return Pair.of(Boolean.FALSE, Constants.SIGN_PATH_NOT_EXIST);
             }
-
-            boolean match = pathDataList.stream().filter(AuthPathData::getEnabled)
-                    .anyMatch(e -> PathMatchUtils.match(e.getPath(), shenyuContext.getPath()));
-            if (!match) {
+            if (!pathMatcher.match(shenyuContext.getPath())) {
                 log.error("You have not configured the sign path:{},{}", shenyuContext.getAppKey(), shenyuContext.getRealUrl());
                 return Pair.of(Boolean.FALSE, Constants.SIGN_PATH_NOT_EXIST);
             }
         }
-        String sigKey = SignUtils.generateSign(appAuthData.getAppSecret(), buildParamsMap(shenyuContext));
-        boolean result = Objects.equals(sigKey, shenyuContext.getSign());
+        boolean hmacSha256 = SignDigester.HMAC_SHA256.equalsIgnoreCase(algorithm);
+        boolean result = SignDigester.verify(signAuthData, hmacSha256, shenyuContext.getPath(), shenyuContext.getTimestamp(), shenyuContext.getSign());
         if (!result) {
-            log.error("the SignUtils generated signature value is:{},the accepted value is:{}", sigKey, shenyuContext.getSign());
+            log.error("the {} signature does not match, the accepted value is:{}", hmacSha256 ? SignDigester.HMAC_SHA256 : SignDigester.MD5, shenyuContext.getSign());
             return Pair.of(Boolean.FALSE, Constants.SIGN_VALUE_IS_ERROR);
         } else {
             List<AuthParamData> paramDataList = appAuthData.getParamDataList();
@@ -124,12 +122,4 @@ public class DefaultSignService implements SignService {
         }
         return Pair.of(Boolean.TRUE, "");
     }
-
-    private Map<String, String> buildParamsMap(final ShenyuContext dto) {
-        Map<String, String> map = Maps.newHashMapWithExpectedSize(3);
-        map.put(Constants.TIMESTAMP, dto.getTimestamp());
-        map.put(Constants.PATH, dto.getPath());
-        map.put(Constants.VERSION, "1.0.0");
-        return map;
-    }
 }
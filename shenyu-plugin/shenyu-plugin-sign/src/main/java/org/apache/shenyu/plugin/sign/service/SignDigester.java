@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.sign.service;
+
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.plugin.sign.cache.SignAuthData;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Objects;
+
+/**
+ * The sign digester of one thread.
+ *
+ * <p>The sign content is the sorted {@code path}, {@code timestamp} and {@code version} entries. It is written
+ * into a reused buffer and digested by the {@link MessageDigest} or {@link Mac} of the thread, the result is
+ * compared with the accepted upper case hex sign in constant time.
+ */
+final class SignDigester {
+
+    /**
+     * The md5 sign algorithm, the app secret is appended to the sign content.
+     */
+    static final String MD5 = "md5";
+
+    /**
+     * The hmac sha256 sign algorithm, the sign content is keyed by the app secret.
+     */
+    static final String HMAC_SHA256 = "hmac-sha256";
+
+    private static final byte[] PATH_KEY = Constants.PATH.getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] TIMESTAMP_KEY = Constants.TIMESTAMP.getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] VERSION_ENTRY = (Constants.VERSION + "1.0.0").getBytes(StandardCharsets.UTF_8);
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private static final ThreadLocal<SignDigester> DIGESTERS = ThreadLocal.withInitial(SignDigester::new);
+
+    private final MessageDigest md5;
+
+    private Mac hmac;
+
+    private SecretKeySpec hmacKey;
+
+    private byte[] buffer = new byte[256];
+
+    private SignDigester() {
+        try {
+            md5 = MessageDigest.getInstance("MD5");
+        } catch (GeneralSecurityException e) {
+            throw new ShenyuException(e);
+        }
+    }
+
+    /**
+     * Verify the accepted sign.
+     *
+     * @param signAuthData the sign auth data of the app
+     * @param hmacSha256   whether the sign is a hmac sha256 sign
+     * @param path         the request path
+     * @param timestamp    the request timestamp
+     * @param sign         the accepted sign
+     * @return true if the sign is valid
+     */
+    static boolean verify(final SignAuthData signAuthData, final boolean hmacSha256, final String path, final String timestamp, final String sign) {
+        if (Objects.isNull(sign)) {
+            return false;
+        }
+        SignDigester digester = DIGESTERS.get();
+        byte[] digest = hmacSha256 ? digester.hmacSha256(signAuthData, path, timestamp) : digester.md5(signAuthData, path, timestamp);
+        return Objects.nonNull(digest) && isEqual(digest, sign);
+    }
+
+    private byte[] md5(final SignAuthData signAuthData, final String path, final String timestamp) {
+        byte[] secret = signAuthData.getSecret();
+        if (Objects.isNull(secret)) {
+            return null;
+        }
+        int length = append(writeContent(path, timestamp), secret);
+        md5.update(buffer, 0, length);
+        return md5.digest();
+    }
+
+    private byte[] hmacSha256(final SignAuthData signAuthData, final String path, final String timestamp) {
+        SecretKeySpec secretKey = signAuthData.getSecretKey();
+        if (Objects.isNull(secretKey)) {
+            return null;
+        }
+        try {
+            if (Objects.isNull(hmac)) {
+                hmac = Mac.getInstance(SignAuthData.HMAC_SHA256);
+            }
+            // the mac keeps its key after doFinal, it is only initialized when the app changes
+            if (hmacKey != secretKey) {
+                hmac.init(secretKey);
+                hmacKey = secretKey;
+            }
+        } catch (GeneralSecurityException e) {
+            throw new ShenyuException(e);
+        }
+        int length = writeContent(path, timestamp);
+        hmac.update(buffer, 0, length);
+        return hmac.doFinal();
+    }
+
+    private int writeContent(final String path, final String timestamp) {
+        int offset = append(0, PATH_KEY);
+        offset = append(offset, String.valueOf(path));
+        offset = append(offset, TIMESTAMP_KEY);
+        offset = append(offset, timestamp);
+        return append(offset, VERSION_ENTRY);
+    }
+
+    private int append(final int offset, final byte[] bytes) {
+        ensureCapacity(offset + bytes.length);
+        System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+        return offset + bytes.length;
+    }
+
+    private int append(final int offset, final String value) {
+        int length = value.length();
+        ensureCapacity(offset + length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return append(offset, value.getBytes(StandardCharsets.UTF_8));
+            }
+            buffer[offset + i] = (byte) c;
+        }
+        return offset + length;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (buffer.length < capacity) {
+            byte[] expanded = new byte[Math.max(capacity, buffer.length << 1)];
+            System.arraycopy(buffer, 0, expanded, 0, buffer.length);
+            buffer = expanded;
+        }
+    }
+
+    private static boolean isEqual(final byte[] digest, final String sign) {
+        if (sign.length() != digest.length << 1) {
+            return false;
+        }
+        int result = 0;
+        for (int i = 0; i < digest.length; i++) {
+            result |= HEX[(digest[i] >> 4) & 0x0F] ^ sign.charAt(i << 1);
+            result |= HEX[digest[i] & 0x0F] ^ sign.charAt((i << 1) + 1);
+        }
+        return result == 0;
+    }
+}
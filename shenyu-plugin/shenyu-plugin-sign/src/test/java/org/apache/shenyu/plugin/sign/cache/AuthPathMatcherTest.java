@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.plugin.sign.cache;
+
+import org.apache.shenyu.common.dto.AuthPathData;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test cases for AuthPathMatcher.
+ */
+public final class AuthPathMatcherTest {
+
+    @Test
+    public void testMatch() {
+        AuthPathMatcher matcher = AuthPathMatcher.of(Arrays.asList(
+                pathData("/http/order/findById, /http/user/**", true),
+                pathData("/dubbo/*/find?", true),
+                pathData("/disabled/**", false)));
+        assertFalse(matcher.isEmpty());
+        assertTrue(matcher.match("/http/order/findById"));
+        assertFalse(matcher.match("/http/order/findAll"));
+        assertTrue(matcher.match("/http/user"));
+        assertTrue(matcher.match("/http/user/save/1"));
+        assertFalse(matcher.match("/http/users"));
+        assertTrue(matcher.match("/dubbo/user/findA"));
+        assertFalse(matcher.match("/dubbo/user/findAll"));
+        assertFalse(matcher.match("/disabled/path"));
+        assertTrue(matcher.match("/http//order/findById"));
+        assertFalse(matcher.match(null));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertTrue(AuthPathMatcher.of(null).isEmpty());
+        assertTrue(AuthPathMatcher.of(Collections.singletonList(pathData("/disabled/**", false))).isEmpty());
+    }
+
+    private static AuthPathData pathData(final String path, final boolean enabled) {
+        AuthPathData pathData = new AuthPathData();
+        pathData.setAppName("test");
+        pathData.setPath(path);
+        pathData.setEnabled(enabled);
+        return pathData;
+    }
+}
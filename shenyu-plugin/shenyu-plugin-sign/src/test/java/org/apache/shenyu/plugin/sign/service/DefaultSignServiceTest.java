@@ -41,8 +41,12 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ServerWebExchange;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
 
@@ -190,6 +194,33 @@ public final class DefaultSignServiceTest {
         Assert.assertEquals(ret, Pair.of(false, Constants.SIGN_VALUE_IS_ERROR));
     }
 
+    @Test
+    public void hmacSha256Sign() throws Exception {
+        ReflectionTestUtils.setField(this.signService, "algorithm", "hmac-sha256");
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String content = Constants.PATH + this.passed.getPath() + Constants.TIMESTAMP + this.passed.getTimestamp() + Constants.VERSION + "1.0.0";
+        StringBuilder sign = new StringBuilder();
+        for (byte b : mac.doFinal(content.getBytes(StandardCharsets.UTF_8))) {
+            sign.append(String.format("%02X", b));
+        }
+        this.passed.setSign(sign.toString());
+        this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+        Assert.assertEquals(this.signService.signVerify(this.exchange), Pair.of(true, ""));
+
+        this.passed.setSign(buildSign(secretKey, this.passed.getTimestamp(), this.passed.getPath()));
+        Assert.assertEquals(this.signService.signVerify(this.exchange), Pair.of(false, Constants.SIGN_VALUE_IS_ERROR));
+    }
+
+    @Test
+    public void lowerCaseSign() {
+        this.passed.setSign(this.passed.getSign().toLowerCase());
+        this.exchange.getAttributes().put(Constants.CONTEXT, this.passed);
+
+        Pair<Boolean, String> ret = this.signService.signVerify(this.exchange);
+        Assert.assertEquals(ret, Pair.of(false, Constants.SIGN_VALUE_IS_ERROR));
+    }
+
     private String buildSign(final String signKey, final String timeStamp, final String path) {
         Map<String, String> map = Maps.newHashMapWithExpectedSize(3);
         map.put(Constants.TIMESTAMP, timeStamp);
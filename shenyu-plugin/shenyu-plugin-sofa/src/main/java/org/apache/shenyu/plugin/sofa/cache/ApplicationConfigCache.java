@@ -22,22 +22,21 @@ import com.alipay.sofa.rpc.common.RpcConstants;
 import com.alipay.sofa.rpc.config.ApplicationConfig;
 import com.alipay.sofa.rpc.config.ConsumerConfig;
 import com.alipay.sofa.rpc.config.RegistryConfig;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.shenyu.common.concurrent.AsyncBuildExecutor;
 import org.apache.shenyu.common.config.SofaRegisterConfig;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.LoadBalanceEnum;
+import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.common.utils.GsonUtils;
+import org.apache.shenyu.plugin.base.cache.RpcClientCache;
 
-import java.lang.reflect.Field;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The type Application config cache.
@@ -49,31 +48,9 @@ public final class ApplicationConfigCache {
 
     private RegistryConfig registryConfig;
 
-    private final int maxCount = 1000;
-
-    private final LoadingCache<String, ConsumerConfig<GenericService>> cache = CacheBuilder.newBuilder()
-            .maximumSize(maxCount)
-            .removalListener(notification -> {
-                ConsumerConfig<GenericService> config = (ConsumerConfig<GenericService>) notification.getValue();
-                if (config != null) {
-                    try {
-                        Class<?> cz = config.getClass();
-                        Field field = cz.getDeclaredField("consumerBootstrap");
-                        field.setAccessible(true);
-                        field.set(config, null);
-                        // After the configuration change, sofa destroys the instance, but does not empty it. If it is not handled,
-                        // it will get NULL when reinitializing and cause a NULL pointer problem.
-                    } catch (NoSuchFieldException | IllegalAccessException e) {
-                        log.error("modify ref have exception", e);
-                    }
-                }
-            })
-            .build(new CacheLoader<String, ConsumerConfig<GenericService>>() {
-                @Override
-                public ConsumerConfig<GenericService> load(final String key) {
-                    return new ConsumerConfig<>();
-                }
-            });
+    private final AsyncBuildExecutor<ConsumerConfig<GenericService>> buildExecutor = new AsyncBuildExecutor<>("shenyu-sofa-reference");
+
+    private final RpcClientCache<ConsumerConfig<GenericService>> cache = new RpcClientCache<>(PluginEnum.SOFA.getName(), key -> new ConsumerConfig<>(), ConsumerConfig::unRefer);
 
     private ApplicationConfigCache() {
     }
@@ -114,18 +91,38 @@ public final class ApplicationConfigCache {
      * @return the reference config
      */
     public ConsumerConfig<GenericService> initRef(final MetaData metaData) {
-        try {
-            ConsumerConfig<GenericService> referenceConfig = cache.get(metaData.getPath());
-            if (StringUtils.isNoneBlank(referenceConfig.getInterfaceId())) {
-                return referenceConfig;
-            }
-        } catch (ExecutionException e) {
-            log.error("init sofa ref ex:{}", e.getMessage());
+        ConsumerConfig<GenericService> referenceConfig = cache.get(metaData.getPath());
+        if (StringUtils.isNoneBlank(referenceConfig.getInterfaceId())) {
+            return referenceConfig;
         }
         return build(metaData);
 
     }
 
+    /**
+     * Init ref reference config on the build executor, the build of the path in flight is shared, a failed build completes the future exceptionally.
+     *
+     * @param metaData the meta data
+     * @return the future of the reference config
+     */
+    public CompletableFuture<ConsumerConfig<GenericService>> initRefAsync(final MetaData metaData) {
+        ConsumerConfig<GenericService> referenceConfig = cache.getIfUsable(metaData.getPath(), config -> StringUtils.isNoneBlank(config.getInterfaceId()));
+        if (Objects.nonNull(referenceConfig)) {
+            return CompletableFuture.completedFuture(referenceConfig);
+        }
+        return buildExecutor.submit(metaData.getPath(), () -> buildOrThrow(metaData));
+    }
+
+    /**
+     * Build reference config on the build executor, the requests of the path wait for this build.
+     *
+     * @param metaData the meta data
+     * @return the future of the reference config
+     */
+    public CompletableFuture<ConsumerConfig<GenericService>> buildAsync(final MetaData metaData) {
+        return buildExecutor.resubmit(metaData.getPath(), () -> buildOrThrow(metaData));
+    }
+
     /**
      * Build reference config.
      *
@@ -151,14 +148,29 @@ public final class ApplicationConfigCache {
             Optional.ofNullable(sofaParamExtInfo.getTimeout()).ifPresent(reference::setTimeout);
             Optional.ofNullable(sofaParamExtInfo.getRetries()).ifPresent(reference::setRetries);
         }
+        final long start = System.nanoTime();
         Object obj = reference.refer();
-        if (obj != null) {
-            log.info("init sofa reference success there meteData is :{}", metaData);
-            cache.put(metaData.getPath(), reference);
+        if (Objects.isNull(obj)) {
+            throw new ShenyuException("init sofa reference failed, the path is " + metaData.getPath());
+        }
+        log.info("init sofa reference success there meteData is :{}", metaData);
+        // a build superseded by a later build of the path is not published
+        if (!buildExecutor.publish(metaData.getPath(), () -> cache.put(metaData.getPath(), reference))) {
+            cache.discard(reference);
         }
+        cache.recordBuild(start);
         return reference;
     }
 
+    private ConsumerConfig<GenericService> buildOrThrow(final MetaData metaData) {
+        try {
+            return build(metaData);
+        } catch (RuntimeException e) {
+            log.error("init sofa reference ex:{}", e.getMessage());
+            throw e;
+        }
+    }
+
     private String buildLoadBalanceName(final String loadBalance) {
         if (LoadBalanceEnum.HASH.getName().equals(loadBalance) || StringUtils.equalsIgnoreCase("consistenthash", loadBalance)) {
             return "consistentHash";
@@ -177,11 +189,7 @@ public final class ApplicationConfigCache {
      * @return the reference config
      */
     public <T> ConsumerConfig<T> get(final String path) {
-        try {
-            return (ConsumerConfig<T>) cache.get(path);
-        } catch (ExecutionException e) {
-            throw new ShenyuException(e.getCause());
-        }
+        return (ConsumerConfig<T>) cache.get(path);
     }
 
     /**
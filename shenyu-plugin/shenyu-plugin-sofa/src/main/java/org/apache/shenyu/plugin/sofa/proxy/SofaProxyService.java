@@ -36,6 +36,7 @@ import org.apache.shenyu.plugin.api.param.BodyParamResolveService;
 import org.apache.shenyu.plugin.sofa.cache.ApplicationConfigCache;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -67,11 +68,23 @@ public class SofaProxyService {
      * @throws ShenyuException the shenyu exception
      */
     public Mono<Object> genericInvoker(final String body, final MetaData metaData, final ServerWebExchange exchange) throws ShenyuException {
-        ConsumerConfig<GenericService> reference = ApplicationConfigCache.getInstance().get(metaData.getPath());
-        if (Objects.isNull(reference) || StringUtils.isEmpty(reference.getInterfaceId())) {
-            ApplicationConfigCache.getInstance().invalidate(metaData.getPath());
-            reference = ApplicationConfigCache.getInstance().initRef(metaData);
+        // the reference is built off the event loop, the requests of one path share the build in flight
+        CompletableFuture<ConsumerConfig<GenericService>> future = ApplicationConfigCache.getInstance().initRefAsync(metaData);
+        return awaitReference(future)
+                .onErrorMap(ShenyuException::new)
+                .flatMap(reference -> invoke(reference, body, metaData, exchange));
+    }
+
+    private Mono<ConsumerConfig<GenericService>> awaitReference(final CompletableFuture<ConsumerConfig<GenericService>> future) {
+        Mono<ConsumerConfig<GenericService>> reference = Mono.fromFuture(future);
+        if (future.isDone()) {
+            return reference;
         }
+        // a build in flight completes on the build thread, the invoke runs on the parallel threads instead
+        return reference.publishOn(Schedulers.parallel());
+    }
+
+    private Mono<Object> invoke(final ConsumerConfig<GenericService> reference, final String body, final MetaData metaData, final ServerWebExchange exchange) {
         GenericService genericService = reference.refer();
         Pair<String[], Object[]> pair;
         if (StringUtils.isBlank(metaData.getParameterTypes()) || null == body || "".equals(body) || "{}".equals(body) || "null".equals(body)) {
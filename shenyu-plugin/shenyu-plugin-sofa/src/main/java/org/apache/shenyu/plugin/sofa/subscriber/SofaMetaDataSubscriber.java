@@ -39,11 +39,11 @@ public class SofaMetaDataSubscriber implements MetaDataSubscriber {
             MetaData exist = META_DATA.get(metaData.getPath());
             if (Objects.isNull(exist) || Objects.isNull(ApplicationConfigCache.getInstance().get(exist.getPath()).refer())) {
                 // The first initialization
-                ApplicationConfigCache.getInstance().initRef(metaData);
+                ApplicationConfigCache.getInstance().initRefAsync(metaData);
             } else {
                 if (!exist.getServiceName().equals(metaData.getServiceName()) || !exist.getRpcExt().equals(metaData.getRpcExt())) {
                     // update
-                    ApplicationConfigCache.getInstance().build(metaData);
+                    ApplicationConfigCache.getInstance().buildAsync(metaData);
                 }
             }
             META_DATA.put(metaData.getPath(), metaData);
@@ -17,15 +17,16 @@
 
 package org.apache.shenyu.plugin.sofa.proxy;
 
+import com.alipay.hessian.generic.model.GenericObject;
 import com.alipay.sofa.rpc.api.GenericService;
 import com.alipay.sofa.rpc.config.ConsumerConfig;
 import com.alipay.sofa.rpc.context.RpcInvokeContext;
-import com.google.common.cache.LoadingCache;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.plugin.api.param.BodyParamResolveService;
+import org.apache.shenyu.plugin.base.cache.RpcClientCache;
 import org.apache.shenyu.plugin.sofa.cache.ApplicationConfigCache;
 import org.junit.After;
 import org.junit.Before;
@@ -35,6 +36,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.test.StepVerifier;
 
 import java.lang.reflect.Field;
 
@@ -86,10 +88,13 @@ public final class SofaProxyServiceTest {
         ApplicationConfigCache applicationConfigCache = ApplicationConfigCache.getInstance();
         Field field = ApplicationConfigCache.class.getDeclaredField("cache");
         field.setAccessible(true);
-        ((LoadingCache) field.get(applicationConfigCache)).put(PATH, consumerConfig);
+        ((RpcClientCache) field.get(applicationConfigCache)).put(PATH, consumerConfig);
         SofaProxyService sofaProxyService = new SofaProxyService(new SofaParamResolveServiceImpl());
-        sofaProxyService.genericInvoker("", metaData, exchange);
-        RpcInvokeContext.getContext().getResponseCallback().onAppResponse("success", null, null);
+        GenericObject genericObject = new GenericObject(PATH);
+        StepVerifier.create(sofaProxyService.genericInvoker("", metaData, exchange))
+                .then(() -> RpcInvokeContext.getContext().getResponseCallback().onAppResponse(genericObject, null, null))
+                .expectNext(genericObject)
+                .verifyComplete();
     }
 
     static class SofaParamResolveServiceImpl implements BodyParamResolveService {
@@ -20,12 +20,17 @@ package org.apache.shenyu.plugin.sofa.subscriber;
 import com.alipay.sofa.rpc.core.exception.SofaRpcRuntimeException;
 import org.apache.shenyu.common.dto.MetaData;
 import org.apache.shenyu.common.enums.RpcTypeEnum;
-
+import org.apache.shenyu.plugin.sofa.cache.ApplicationConfigCache;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
 /**
  * SofaMetaDataSubscriberTest.
  */
@@ -47,8 +52,14 @@ public final class SofaMetaDataSubscriberTest {
         metaData.setRpcType(RpcTypeEnum.SOFA.getName());
     }
 
-    @Test(expected = SofaRpcRuntimeException.class)
+    @Test
     public void testOnSubscribe() {
         sofaPluginDataHandler.onSubscribe(metaData);
+        try {
+            ApplicationConfigCache.getInstance().initRefAsync(metaData).join();
+            fail();
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof SofaRpcRuntimeException);
+        }
     }
 }
@@ -29,6 +29,7 @@ import org.apache.shenyu.common.enums.RpcTypeEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.api.param.BodyBuffer;
 import org.apache.shenyu.plugin.api.result.ShenyuResultEnum;
 import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
 import org.apache.shenyu.plugin.api.result.ShenyuResultWrap;
@@ -54,9 +55,8 @@ public class TarsPlugin extends AbstractShenyuPlugin {
     private static final Random RANDOM = new Random();
 
     @Override
-    @SuppressWarnings({"unchecked", "rawtypes"})
     protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
-        String body = exchange.getAttribute(Constants.PARAM_TRANSFORM);
+        String body = BodyBuffer.asString(exchange.getAttribute(Constants.PARAM_TRANSFORM));
         ShenyuContext shenyuContext = exchange.getAttribute(Constants.CONTEXT);
         assert shenyuContext != null;
         MetaData metaData = exchange.getAttribute(Constants.META_DATA);
@@ -72,7 +72,24 @@ public class TarsPlugin extends AbstractShenyuPlugin {
             Object error = ShenyuResultWrap.error(ShenyuResultEnum.TARS_HAVE_BODY_PARAM.getCode(), ShenyuResultEnum.TARS_HAVE_BODY_PARAM.getMsg(), null);
             return WebFluxResultUtils.result(exchange, error);
         }
+        if (ApplicationConfigCache.getInstance().get(metaData.getPath()).getTarsInvokePrxList().isEmpty()) {
+            // the prx of a path synced just now is still initializing on the build executor
+            CompletableFuture<Void> initializing = ApplicationConfigCache.getInstance().initializing(metaData.getPath());
+            if (Objects.nonNull(initializing)) {
+                return Mono.fromFuture(initializing).then(Mono.defer(() -> invoke(exchange, chain, metaData, body)));
+            }
+        }
+        return invoke(exchange, chain, metaData, body);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Mono<Void> invoke(final ServerWebExchange exchange, final ShenyuPluginChain chain, final MetaData metaData, final String body) {
         TarsInvokePrxList tarsInvokePrxList = ApplicationConfigCache.getInstance().get(metaData.getPath());
+        if (tarsInvokePrxList.getTarsInvokePrxList().isEmpty()) {
+            log.error("tars prx of the path is not ready: {}", metaData.getPath());
+            Object error = ShenyuResultWrap.error(ShenyuResultEnum.CANNOT_FIND_URL.getCode(), ShenyuResultEnum.CANNOT_FIND_URL.getMsg(), null);
+            return WebFluxResultUtils.result(exchange, error);
+        }
         int index = RANDOM.nextInt(tarsInvokePrxList.getTarsInvokePrxList().size());
         Object prx = tarsInvokePrxList.getTarsInvokePrxList().get(index).getInvokePrx();
         Method method = tarsInvokePrxList.getMethod();
@@ -17,9 +17,6 @@
 
 package org.apache.shenyu.plugin.tars.cache;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.qq.tars.client.Communicator;
 import com.qq.tars.client.CommunicatorConfig;
 import com.qq.tars.client.CommunicatorFactory;
@@ -30,7 +27,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.shenyu.common.concurrent.AsyncBuildExecutor;
+import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.common.exception.ShenyuException;
+import org.apache.shenyu.plugin.base.cache.RpcClientCache;
 import org.apache.shenyu.plugin.tars.proxy.TarsInvokePrx;
 import org.apache.shenyu.plugin.tars.proxy.TarsInvokePrxList;
 import org.apache.shenyu.plugin.tars.util.PrxInfoUtil;
@@ -49,9 +49,9 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
@@ -63,16 +63,13 @@ public final class ApplicationConfigCache {
 
     private static final ReentrantLock LOCK = new ReentrantLock();
 
-    private final int maxCount = 1000;
+    private final AsyncBuildExecutor<Void> buildExecutor = new AsyncBuildExecutor<>("shenyu-tars-prx");
 
-    private final LoadingCache<String, TarsInvokePrxList> cache = CacheBuilder.newBuilder()
-            .maximumSize(maxCount)
-            .build(new CacheLoader<String, TarsInvokePrxList>() {
-                @Override
-                public TarsInvokePrxList load(final String key) {
-                    return new TarsInvokePrxList(new CopyOnWriteArrayList<>(), null, null, null);
-                }
-            });
+    /**
+     * The prx lists are only refreshed by the selector sync, so they never expire.
+     */
+    private final RpcClientCache<TarsInvokePrxList> cache = new RpcClientCache<>(PluginEnum.TARS.getName(), key -> newPrxList(), null,
+            RpcClientCache.MAX_SIZE, 0, RpcClientCache.DESTROY_DELAY_SECONDS);
 
     private final ConcurrentHashMap<String, List<MetaData>> ctxPathCache = new ConcurrentHashMap<>();
 
@@ -95,11 +92,7 @@ public final class ApplicationConfigCache {
      * @return the reference config
      */
     public TarsInvokePrxList get(final String path) {
-        try {
-            return cache.get(path);
-        } catch (ExecutionException e) {
-            throw new ShenyuException(e.getCause());
-        }
+        return cache.get(path);
     }
 
     /**
@@ -170,6 +163,33 @@ public final class ApplicationConfigCache {
         }
     }
 
+    /**
+     * Init prx on the build executor, the init of the path in flight is shared.
+     *
+     * @param metaData metaData
+     * @return the future of the init
+     */
+    public CompletableFuture<Void> initPrxAsync(final MetaData metaData) {
+        return buildExecutor.submit(metaData.getPath(), () -> {
+            initPrx(metaData);
+            return null;
+        });
+    }
+
+    /**
+     * Get the init of the path in flight, the requests which arrive before the prx list is ready wait for it.
+     *
+     * @param path the path
+     * @return the future of the init, or null if no init of the path is in flight
+     */
+    public CompletableFuture<Void> initializing(final String path) {
+        return buildExecutor.building(path);
+    }
+
+    private static TarsInvokePrxList newPrxList() {
+        return new TarsInvokePrxList(new CopyOnWriteArrayList<>(), null, null, null);
+    }
+
     /**
      * Get param info key.
      *
@@ -208,7 +228,7 @@ public final class ApplicationConfigCache {
             for (MetaData metaData : metaDataList) {
                 refreshTarsInvokePrxList(metaData, upstreamList);
             }
-        } catch (ExecutionException | NoSuchMethodException e) {
+        } catch (NoSuchMethodException e) {
             throw new ShenyuException(e.getCause());
         }
     }
@@ -219,7 +239,7 @@ public final class ApplicationConfigCache {
      * @param metaData     metaData
      * @param upstreamList upstream list
      */
-    private void refreshTarsInvokePrxList(final MetaData metaData, final List<DivideUpstream> upstreamList) throws NoSuchMethodException, ExecutionException {
+    private void refreshTarsInvokePrxList(final MetaData metaData, final List<DivideUpstream> upstreamList) throws NoSuchMethodException {
         Class<?> prxClass = prxClassCache.get(metaData.getPath());
         if (Objects.isNull(prxClass)) {
             return;
@@ -46,7 +46,7 @@ public class TarsMetaDataSubscriber implements MetaDataSubscriber {
                     .get(metaData.getPath()).getTarsInvokePrxList();
             boolean exist = prxList.stream().anyMatch(tarsInvokePrx -> tarsInvokePrx.getHost().equals(metaData.getAppName()));
             if (!exist) {
-                ApplicationConfigCache.getInstance().initPrx(metaData);
+                ApplicationConfigCache.getInstance().initPrxAsync(metaData);
             }
             if (Objects.isNull(metaExist)) {
                 META_DATA.put(metaData.getPath(), metaData);
@@ -18,7 +18,9 @@
 package org.apache.shenyu.springboot.starter.plugin.logging;
 
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.apache.shenyu.plugin.logging.LoggingPlugin;
+import org.apache.shenyu.plugin.logging.handler.LoggingPluginDataHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -38,4 +40,14 @@ public class LoggingPluginConfiguration {
         return new LoggingPlugin();
     }
 
+    /**
+     * Logging plugin data handler.
+     *
+     * @return the plugin data handler
+     */
+    @Bean
+    public PluginDataHandler loggingPluginDataHandler() {
+        return new LoggingPluginDataHandler();
+    }
+
 }
@@ -19,6 +19,7 @@ package org.apache.shenyu.springboot.starter.plugin.logging;
 
 import org.apache.shenyu.common.enums.PluginEnum;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.base.handler.PluginDataHandler;
 import org.junit.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
@@ -44,6 +45,7 @@ public class LoggingPluginConfigurationTest {
                 context -> {
                     ShenyuPlugin plugin = context.getBean("loggingPlugin", ShenyuPlugin.class);
                     assertThat(plugin.named()).isEqualTo(PluginEnum.LOGGING.getName());
+                    assertThat(context).hasSingleBean(PluginDataHandler.class);
                 }
             );
     }
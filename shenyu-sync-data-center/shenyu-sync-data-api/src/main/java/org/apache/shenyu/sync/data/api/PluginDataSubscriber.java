@@ -57,6 +57,25 @@ public interface PluginDataSubscriber {
     default void refreshPluginDataSelf(List<PluginData> pluginDataList) {
     }
     
+    /**
+     * On subscribe a batch of plugin data, the subscriber may apply them at once.
+     *
+     * @param pluginDataList the plugin data list
+     */
+    default void onSubscribeBatch(List<PluginData> pluginDataList) {
+        pluginDataList.forEach(this::onSubscribe);
+    }
+    
+    /**
+     * Refresh all plugin data with the given list, the subscriber may apply them at once.
+     *
+     * @param pluginDataList the plugin data list
+     */
+    default void refreshPluginDataBatch(List<PluginData> pluginDataList) {
+        refreshPluginDataAll();
+        pluginDataList.forEach(this::onSubscribe);
+    }
+    
     /**
      * On selector subscribe.
      *
@@ -87,6 +106,25 @@ public interface PluginDataSubscriber {
     default void refreshSelectorDataSelf(List<SelectorData> selectorDataList) {
     }
     
+    /**
+     * On subscribe a batch of selector data, the subscriber may apply them at once.
+     *
+     * @param selectorDataList the selector data list
+     */
+    default void onSelectorSubscribeBatch(List<SelectorData> selectorDataList) {
+        selectorDataList.forEach(this::onSelectorSubscribe);
+    }
+    
+    /**
+     * Refresh all selector data with the given list, the subscriber may apply them at once.
+     *
+     * @param selectorDataList the selector data list
+     */
+    default void refreshSelectorDataBatch(List<SelectorData> selectorDataList) {
+        refreshSelectorDataAll();
+        selectorDataList.forEach(this::onSelectorSubscribe);
+    }
+    
     /**
      * On rule subscribe.
      *
@@ -116,4 +154,42 @@ public interface PluginDataSubscriber {
      */
     default void refreshRuleDataSelf(List<RuleData> ruleDataList) {
     }
+    
+    /**
+     * On subscribe a batch of rule data, the subscriber may apply them at once.
+     *
+     * @param ruleDataList the rule data list
+     */
+    default void onRuleSubscribeBatch(List<RuleData> ruleDataList) {
+        ruleDataList.forEach(this::onRuleSubscribe);
+    }
+    
+    /**
+     * Refresh all rule data with the given list, the subscriber may apply them at once.
+     *
+     * @param ruleDataList the rule data list
+     */
+    default void refreshRuleDataBatch(List<RuleData> ruleDataList) {
+        refreshRuleDataAll();
+        ruleDataList.forEach(this::onRuleSubscribe);
+    }
+
+    /**
+     * Refresh all plugin, selector and rule data with the given lists at once, a null list leaves that data as it is.
+     *
+     * @param pluginDataList   the plugin data list, or null
+     * @param selectorDataList the selector data list, or null
+     * @param ruleDataList     the rule data list, or null
+     */
+    default void refreshDataBatch(List<PluginData> pluginDataList, List<SelectorData> selectorDataList, List<RuleData> ruleDataList) {
+        if (pluginDataList != null) {
+            refreshPluginDataBatch(pluginDataList);
+        }
+        if (selectorDataList != null) {
+            refreshSelectorDataBatch(selectorDataList);
+        }
+        if (ruleDataList != null) {
+            refreshRuleDataBatch(ruleDataList);
+        }
+    }
 }
@@ -24,6 +24,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.shenyu.common.dto.ConfigData;
 import org.apache.shenyu.common.enums.ConfigGroupEnum;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -71,16 +72,29 @@ public abstract class AbstractDataRefresh<T> implements DataRefresh {
 
     @Override
     public Boolean refresh(final JsonObject data) {
-        boolean updated = false;
+        List<T> updated = update(data);
+        if (null == updated) {
+            return false;
+        }
+        refresh(updated);
+        return true;
+    }
+
+    /**
+     * Update the config cache without refreshing the subscribers.
+     *
+     * @param data the data
+     * @return the new data list, or null if the config is not changed
+     */
+    public List<T> update(final JsonObject data) {
         JsonObject jsonObject = convert(data);
         if (null != jsonObject) {
             ConfigData<T> result = fromJson(jsonObject);
             if (this.updateCacheIfNeed(result)) {
-                updated = true;
-                refresh(result.getData());
+                return null == result.getData() ? Collections.emptyList() : result.getData();
             }
         }
-        return updated;
+        return null;
     }
 
     /**
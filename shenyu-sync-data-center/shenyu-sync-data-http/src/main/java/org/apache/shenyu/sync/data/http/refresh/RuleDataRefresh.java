@@ -66,8 +66,7 @@ public class RuleDataRefresh extends AbstractDataRefresh<RuleData> {
             pluginDataSubscriber.refreshRuleDataAll();
         } else {
             // update cache for UpstreamCacheManager
-            pluginDataSubscriber.refreshRuleDataAll();
-            data.forEach(pluginDataSubscriber::onRuleSubscribe);
+            pluginDataSubscriber.refreshRuleDataBatch(data);
         }
     }
 }
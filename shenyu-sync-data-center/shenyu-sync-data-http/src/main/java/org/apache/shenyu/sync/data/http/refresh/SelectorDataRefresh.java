@@ -66,8 +66,7 @@ public class SelectorDataRefresh extends AbstractDataRefresh<SelectorData> {
             pluginDataSubscriber.refreshSelectorDataAll();
         } else {
             // update cache for UpstreamCacheManager
-            pluginDataSubscriber.refreshSelectorDataAll();
-            data.forEach(pluginDataSubscriber::onSelectorSubscribe);
+            pluginDataSubscriber.refreshSelectorDataBatch(data);
         }
     }
 }
@@ -38,13 +38,12 @@ public class PluginDataHandler extends AbstractDataHandler<PluginData> {
 
     @Override
     protected void doRefresh(final List<PluginData> dataList) {
-        pluginDataSubscriber.refreshPluginDataSelf(dataList);
-        dataList.forEach(pluginDataSubscriber::onSubscribe);
+        pluginDataSubscriber.onSubscribeBatch(dataList);
     }
 
     @Override
     protected void doUpdate(final List<PluginData> dataList) {
-        dataList.forEach(pluginDataSubscriber::onSubscribe);
+        pluginDataSubscriber.onSubscribeBatch(dataList);
     }
 
     @Override
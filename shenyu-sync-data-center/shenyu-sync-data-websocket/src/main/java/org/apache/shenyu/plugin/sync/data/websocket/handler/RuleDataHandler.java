@@ -38,13 +38,12 @@ public class RuleDataHandler extends AbstractDataHandler<RuleData> {
 
     @Override
     protected void doRefresh(final List<RuleData> dataList) {
-        pluginDataSubscriber.refreshRuleDataSelf(dataList);
-        dataList.forEach(pluginDataSubscriber::onRuleSubscribe);
+        pluginDataSubscriber.onRuleSubscribeBatch(dataList);
     }
 
     @Override
     protected void doUpdate(final List<RuleData> dataList) {
-        dataList.forEach(pluginDataSubscriber::onRuleSubscribe);
+        pluginDataSubscriber.onRuleSubscribeBatch(dataList);
     }
 
     @Override
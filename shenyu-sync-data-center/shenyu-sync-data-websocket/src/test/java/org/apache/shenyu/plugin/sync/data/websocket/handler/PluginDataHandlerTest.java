@@ -56,15 +56,14 @@ public final class PluginDataHandlerTest {
     public void testDoRefresh() {
         List<PluginData> pluginDataList = createFakePluginDataObjects(3);
         pluginDataHandler.doRefresh(pluginDataList);
-        verify(subscriber).refreshPluginDataSelf(pluginDataList);
-        pluginDataList.forEach(verify(subscriber)::onSubscribe);
+        verify(subscriber).onSubscribeBatch(pluginDataList);
     }
 
     @Test
     public void testDoUpdate() {
         List<PluginData> pluginDataList = createFakePluginDataObjects(4);
         pluginDataHandler.doUpdate(pluginDataList);
-        pluginDataList.forEach(verify(subscriber)::onSubscribe);
+        verify(subscriber).onSubscribeBatch(pluginDataList);
     }
 
     @Test
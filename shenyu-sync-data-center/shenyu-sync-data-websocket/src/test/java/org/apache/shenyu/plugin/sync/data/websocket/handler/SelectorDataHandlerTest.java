@@ -61,15 +61,14 @@ public final class SelectorDataHandlerTest {
     public void testDoRefresh() {
         List<SelectorData> selectorDataList = createFakeSelectorDataObjects(3);
         selectorDataHandler.doRefresh(selectorDataList);
-        verify(subscriber).refreshSelectorDataSelf(selectorDataList);
-        selectorDataList.forEach(verify(subscriber)::onSelectorSubscribe);
+        verify(subscriber).onSelectorSubscribeBatch(selectorDataList);
     }
 
     @Test
     public void testDoUpdate() {
         List<SelectorData> selectorDataList = createFakeSelectorDataObjects(4);
         selectorDataHandler.doUpdate(selectorDataList);
-        selectorDataList.forEach(verify(subscriber)::onSelectorSubscribe);
+        verify(subscriber).onSelectorSubscribeBatch(selectorDataList);
     }
 
     @Test
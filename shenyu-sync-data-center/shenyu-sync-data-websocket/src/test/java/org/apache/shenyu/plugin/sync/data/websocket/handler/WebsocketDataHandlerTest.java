@@ -53,7 +53,7 @@ public final class WebsocketDataHandlerTest {
         String json = getJson();
         websocketDataHandler.executor(ConfigGroupEnum.PLUGIN, json, DataEventTypeEnum.REFRESH.name());
         List<PluginData> pluginDataList = new PluginDataHandler(pluginDataSubscriber).convert(json);
-        Mockito.verify(pluginDataSubscriber).refreshPluginDataSelf(pluginDataList);
+        Mockito.verify(pluginDataSubscriber).onSubscribeBatch(pluginDataList);
     }
 
     @Test
@@ -61,7 +61,7 @@ public final class WebsocketDataHandlerTest {
         String json = getJson();
         websocketDataHandler.executor(ConfigGroupEnum.PLUGIN, json, DataEventTypeEnum.MYSELF.name());
         List<PluginData> pluginDataList = new PluginDataHandler(pluginDataSubscriber).convert(json);
-        Mockito.verify(pluginDataSubscriber).refreshPluginDataSelf(pluginDataList);
+        Mockito.verify(pluginDataSubscriber).onSubscribeBatch(pluginDataList);
     }
 
     @Test
@@ -69,7 +69,7 @@ public final class WebsocketDataHandlerTest {
         String json = getJson();
         websocketDataHandler.executor(ConfigGroupEnum.PLUGIN, json, DataEventTypeEnum.UPDATE.name());
         List<PluginData> pluginDataList = new PluginDataHandler(pluginDataSubscriber).convert(json);
-        pluginDataList.forEach(verify(pluginDataSubscriber)::onSubscribe);
+        verify(pluginDataSubscriber).onSubscribeBatch(pluginDataList);
     }
 
     @Test
@@ -77,7 +77,7 @@ public final class WebsocketDataHandlerTest {
         String json = getJson();
         websocketDataHandler.executor(ConfigGroupEnum.PLUGIN, json, DataEventTypeEnum.CREATE.name());
         List<PluginData> pluginDataList = new PluginDataHandler(pluginDataSubscriber).convert(json);
-        pluginDataList.forEach(verify(pluginDataSubscriber)::onSubscribe);
+        verify(pluginDataSubscriber).onSubscribeBatch(pluginDataList);
     }
 
     @Test
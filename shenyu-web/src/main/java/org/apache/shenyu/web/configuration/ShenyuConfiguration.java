@@ -87,11 +87,12 @@ public class ShenyuConfiguration {
     /**
      * Param transform plugin shenyu plugin.
      *
+     * @param shenyuConfig the shenyu config
      * @return the shenyu plugin
      */
     @Bean
-    public ShenyuPlugin paramTransformPlugin() {
-        return new ParamTransformPlugin();
+    public ShenyuPlugin paramTransformPlugin(final ShenyuConfig shenyuConfig) {
+        return new ParamTransformPlugin(shenyuConfig.getParamBodyBufferEnable(), shenyuConfig.getParamMaxBodySize());
     }
 
     /**
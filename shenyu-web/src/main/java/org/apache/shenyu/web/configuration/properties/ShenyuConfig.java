@@ -32,4 +32,8 @@ public class ShenyuConfig {
     private Integer upstreamScheduledTime = 30;
 
     private Integer fileMaxSize = 10;
+
+    private Boolean paramBodyBufferEnable = false;
+
+    private Integer paramMaxBodySize = 256 * 1024;
 }
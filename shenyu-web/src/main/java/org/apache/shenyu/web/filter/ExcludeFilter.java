@@ -17,29 +17,28 @@
 
 package org.apache.shenyu.web.filter;
 
+import org.apache.shenyu.common.utils.PathPatternTrie;
 import org.apache.shenyu.web.configuration.properties.ExcludePathProperties;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * exclude url filter.
  */
 public class ExcludeFilter implements WebFilter {
 
-    private static final AntPathMatcher MATCHER = new AntPathMatcher();
-
     private ExcludePathProperties excludePathProperties;
 
+    private volatile CompiledPaths compiledPaths;
+
     public ExcludeFilter(final ExcludePathProperties excludePathProperties) {
         this.excludePathProperties = excludePathProperties;
     }
@@ -48,9 +47,7 @@ public class ExcludeFilter implements WebFilter {
     public Mono<Void> filter(final ServerWebExchange exchange, final WebFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getURI().getPath();
-        Set<String> excludedPaths = Collections.unmodifiableSet(new HashSet<>(excludePathProperties.getPaths()));
-        boolean match = excludedPaths.stream().anyMatch(url -> reg(url, path));
-        if (match) {
+        if (obtainPatterns().match(path)) {
             ServerHttpResponse response = exchange.getResponse();
             response.setStatusCode(HttpStatus.OK);
             return Mono.empty();
@@ -58,7 +55,26 @@ public class ExcludeFilter implements WebFilter {
         return chain.filter(exchange);
     }
 
-    private static boolean reg(final String pattern, final String path) {
-        return MATCHER.match(pattern, path);
+    private PathPatternTrie<String> obtainPatterns() {
+        List<String> paths = excludePathProperties.getPaths();
+        CompiledPaths current = compiledPaths;
+        // the paths are bound once at startup, only another list is compiled again, so a request only compares the references
+        if (Objects.isNull(current) || current.source != paths) {
+            current = new CompiledPaths(paths);
+            compiledPaths = current;
+        }
+        return current.patterns;
+    }
+
+    private static final class CompiledPaths {
+
+        private final List<String> source;
+
+        private final PathPatternTrie<String> patterns;
+
+        CompiledPaths(final List<String> source) {
+            this.source = source;
+            this.patterns = PathPatternTrie.of(source);
+        }
     }
 }
@@ -17,28 +17,51 @@
 
 package org.apache.shenyu.web.handler;
 
+import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.metrics.constant.LabelNames;
+import org.apache.shenyu.metrics.handle.HistogramHandle;
+import org.apache.shenyu.metrics.reporter.MetricsReporter;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
 import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.apache.shenyu.plugin.base.cache.BaseDataSnapshot;
 import org.springframework.lang.NonNull;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebHandler;
+import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.DoubleStream;
 
 /**
  * This is web handler request starter.
  */
 public final class ShenyuWebHandler implements WebHandler {
 
-    private final List<ShenyuPlugin> plugins;
+    /**
+     * The log-scaled buckets of the plugin latency in micros, from 10 micros to about 20 seconds.
+     */
+    private static final double[] PLUGIN_LATENCY_BUCKETS = DoubleStream.iterate(10, bucket -> bucket * 2).limit(22).toArray();
+
+    private final ShenyuPlugin[] plugins;
     
     private final boolean scheduled;
 
+    private final boolean timed;
+
     private Scheduler scheduler;
+
+    private volatile PluginChainTemplate template;
     
     /**
      * Instantiates a new shenyu web handler.
@@ -46,7 +69,7 @@ public final class ShenyuWebHandler implements WebHandler {
      * @param plugins the plugins
      */
     public ShenyuWebHandler(final List<ShenyuPlugin> plugins) {
-        this.plugins = plugins;
+        this.plugins = plugins.toArray(new ShenyuPlugin[0]);
         String enabled = System.getProperty("shenyu.scheduler.enabled", "false");
         this.scheduled = Boolean.parseBoolean(enabled);
         if (scheduled) {
@@ -59,6 +82,11 @@ public final class ShenyuWebHandler implements WebHandler {
                 scheduler = Schedulers.elastic();
             }
         }
+        this.timed = Boolean.parseBoolean(System.getProperty("shenyu.plugin.timing.enabled", "false"));
+        if (timed) {
+            MetricsReporter.registerHistogram(LabelNames.PLUGIN_LATENCY_NAME, new String[]{"plugin"},
+                    "the time spent in each plugin of the shenyu chain in micros", PLUGIN_LATENCY_BUCKETS);
+        }
     }
 
     /**
@@ -69,25 +97,94 @@ public final class ShenyuWebHandler implements WebHandler {
      */
     @Override
     public Mono<Void> handle(@NonNull final ServerWebExchange exchange) {
-        Mono<Void> execute = new DefaultShenyuPluginChain(plugins).execute(exchange);
+        PluginChainTemplate current = obtainTemplate();
+        Mono<Void> execute;
+        if (timed) {
+            TimedShenyuPluginChain chain = new TimedShenyuPluginChain(current.plugins, current.names, current.latencies);
+            execute = chain.execute(exchange).doFinally(signal -> chain.finish());
+        } else {
+            execute = new DefaultShenyuPluginChain(current.plugins).execute(exchange);
+        }
         if (scheduled) {
             return execute.subscribeOn(scheduler);
         }
         return execute;
     }
 
-    private static class DefaultShenyuPluginChain implements ShenyuPluginChain {
+    /**
+     * Obtain the plugins of the chain, the selector plugins whose plugin data is absent or disabled
+     * only pass the request on, they are left out until the plugin data changes.
+     *
+     * @return the plugins in order
+     */
+    ShenyuPlugin[] obtainChainPlugins() {
+        return obtainTemplate().plugins;
+    }
+
+    private PluginChainTemplate obtainTemplate() {
+        BaseDataSnapshot snapshot = BaseDataCache.getInstance().obtainSnapshot();
+        PluginChainTemplate current = template;
+        if (Objects.isNull(current) || current.snapshot != snapshot) {
+            current = new PluginChainTemplate(snapshot, filterPlugins(snapshot));
+            template = current;
+        }
+        return current;
+    }
+
+    private ShenyuPlugin[] filterPlugins(final BaseDataSnapshot snapshot) {
+        List<ShenyuPlugin> enabledPlugins = new ArrayList<>(plugins.length);
+        for (ShenyuPlugin plugin : plugins) {
+            if (plugin instanceof AbstractShenyuPlugin) {
+                PluginData pluginData = snapshot.obtainPluginData(plugin.named());
+                if (Objects.isNull(pluginData) || !Boolean.TRUE.equals(pluginData.getEnabled())) {
+                    continue;
+                }
+            }
+            enabledPlugins.add(plugin);
+        }
+        return enabledPlugins.toArray(new ShenyuPlugin[0]);
+    }
+
+    private static final class PluginChainTemplate {
+
+        private final BaseDataSnapshot snapshot;
+
+        private final ShenyuPlugin[] plugins;
+
+        private final String[] names;
+
+        private final HistogramHandle[] latencies;
+
+        PluginChainTemplate(final BaseDataSnapshot snapshot, final ShenyuPlugin[] plugins) {
+            this.snapshot = snapshot;
+            this.plugins = plugins;
+            this.names = new String[plugins.length];
+            this.latencies = new HistogramHandle[plugins.length];
+            for (int i = 0; i < plugins.length; i++) {
+                names[i] = plugins[i].named();
+                latencies[i] = MetricsReporter.bindHistogram(LabelNames.PLUGIN_LATENCY_NAME, new String[]{names[i]});
+            }
+        }
+    }
+
+    /**
+     * The plugin chain of one request, it is also the lazy {@code Mono} of the next step,
+     * so one hop allocates nothing more than the plugin itself does.
+     */
+    private static class DefaultShenyuPluginChain extends Mono<Void> implements ShenyuPluginChain {
+
+        private final ShenyuPlugin[] plugins;
 
         private int index;
 
-        private final List<ShenyuPlugin> plugins;
+        private ServerWebExchange exchange;
 
         /**
          * Instantiates a new Default shenyu plugin chain.
          *
          * @param plugins the plugins
          */
-        DefaultShenyuPluginChain(final List<ShenyuPlugin> plugins) {
+        DefaultShenyuPluginChain(final ShenyuPlugin[] plugins) {
             this.plugins = plugins;
         }
 
@@ -99,17 +196,95 @@ public final class ShenyuWebHandler implements WebHandler {
          */
         @Override
         public Mono<Void> execute(final ServerWebExchange exchange) {
-            return Mono.defer(() -> {
-                if (this.index < plugins.size()) {
-                    ShenyuPlugin plugin = plugins.get(this.index++);
-                    Boolean skip = plugin.skip(exchange);
-                    if (skip) {
-                        return this.execute(exchange);
-                    }
-                    return plugin.execute(exchange, this);
+            this.exchange = exchange;
+            return this;
+        }
+
+        @Override
+        public void subscribe(@NonNull final CoreSubscriber<? super Void> actual) {
+            ServerWebExchange current = this.exchange;
+            Mono<Void> next;
+            try {
+                next = dispatch(current);
+            } catch (RuntimeException e) {
+                Operators.error(actual, Operators.onOperatorError(e, actual.currentContext()));
+                return;
+            }
+            next.subscribe(actual);
+        }
+
+        Mono<Void> dispatch(final ServerWebExchange current) {
+            while (index < plugins.length) {
+                ShenyuPlugin plugin = plugins[index++];
+                if (!plugin.skip(current)) {
+                    onExecute(index - 1);
+                    return plugin.execute(current, this);
                 }
-                return Mono.empty();
-            });
+            }
+            return Mono.empty();
+        }
+
+        /**
+         * Called before the plugin is executed.
+         *
+         * @param position the position of the plugin in the chain
+         */
+        void onExecute(final int position) {
+        }
+
+        ServerWebExchange getExchange() {
+            return exchange;
+        }
+    }
+
+    /**
+     * The plugin chain which measures the time spent in each plugin, the time of a plugin lasts from its dispatch
+     * until it passes the request on, or until the request is finished if it ends the chain.
+     */
+    private static final class TimedShenyuPluginChain extends DefaultShenyuPluginChain {
+
+        private final String[] names;
+
+        private final HistogramHandle[] latencies;
+
+        private int position = -1;
+
+        private long hopStart;
+
+        TimedShenyuPluginChain(final ShenyuPlugin[] plugins, final String[] names, final HistogramHandle[] latencies) {
+            super(plugins);
+            this.names = names;
+            this.latencies = latencies;
+        }
+
+        @Override
+        Mono<Void> dispatch(final ServerWebExchange current) {
+            long now = System.nanoTime();
+            stop(now);
+            hopStart = now;
+            return super.dispatch(current);
+        }
+
+        @Override
+        void onExecute(final int position) {
+            this.position = position;
+        }
+
+        void finish() {
+            stop(System.nanoTime());
+        }
+
+        private void stop(final long now) {
+            if (position < 0) {
+                return;
+            }
+            long elapsedNanos = now - hopStart;
+            ShenyuContext shenyuContext = getExchange().getAttribute(Constants.CONTEXT);
+            if (Objects.nonNull(shenyuContext)) {
+                shenyuContext.obtainPluginTimings().record(names[position], elapsedNanos);
+            }
+            latencies[position].record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+            position = -1;
         }
     }
 }
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.shenyu.web.benchmark;
+
+import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.web.handler.ShenyuWebHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the lazy plugin chain of {@link ShenyuWebHandler} with the former chain which deferred every hop,
+ * run by {@link #main(String[])} with the gc profiler to see the allocation per dispatch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShenyuWebHandlerBenchmark {
+
+    @Param({"8", "32"})
+    private int pluginCount;
+
+    private List<ShenyuPlugin> plugins;
+
+    private ShenyuWebHandler webHandler;
+
+    private ServerWebExchange exchange;
+
+    /**
+     * Build the chain, every fourth plugin is skipped and the others pass the request on.
+     */
+    @Setup
+    public void setup() {
+        plugins = new ArrayList<>(pluginCount);
+        for (int i = 0; i < pluginCount; i++) {
+            plugins.add(new PassPlugin(i, i % 4 == 3));
+        }
+        webHandler = new ShenyuWebHandler(plugins);
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/http/test").build());
+    }
+
+    /**
+     * Dispatch by the lazy chain.
+     *
+     * @return the subscription
+     */
+    @Benchmark
+    public Disposable lazyChain() {
+        return webHandler.handle(exchange).subscribe();
+    }
+
+    /**
+     * Dispatch by the former chain, every hop is a {@code Mono.defer}.
+     *
+     * @return the subscription
+     */
+    @Benchmark
+    public Disposable deferChain() {
+        return new DeferShenyuPluginChain(plugins).execute(exchange).subscribe();
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param args the args
+     * @throws RunnerException the runner exception
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ShenyuWebHandlerBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+
+    private static final class PassPlugin implements ShenyuPlugin {
+
+        private final int order;
+
+        private final Boolean skipped;
+
+        PassPlugin(final int order, final boolean skipped) {
+            this.order = order;
+            this.skipped = skipped;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+
+        @Override
+        public Boolean skip(final ServerWebExchange exchange) {
+            return skipped;
+        }
+    }
+
+    /**
+     * The plugin chain before the lazy chain, kept here as the baseline.
+     */
+    private static final class DeferShenyuPluginChain implements ShenyuPluginChain {
+
+        private final List<ShenyuPlugin> plugins;
+
+        private int index;
+
+        DeferShenyuPluginChain(final List<ShenyuPlugin> plugins) {
+            this.plugins = plugins;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange) {
+            return Mono.defer(() -> {
+                if (this.index < plugins.size()) {
+                    ShenyuPlugin plugin = plugins.get(this.index++);
+                    Boolean skip = plugin.skip(exchange);
+                    if (skip) {
+                        return this.execute(exchange);
+                    }
+                    return plugin.execute(exchange, this);
+                }
+                return Mono.empty();
+            });
+        }
+    }
+}
@@ -18,8 +18,16 @@
 package org.apache.shenyu.web.handler;
 
 import org.apache.shenyu.common.constant.Constants;
+import org.apache.shenyu.common.dto.PluginData;
+import org.apache.shenyu.common.dto.RuleData;
+import org.apache.shenyu.common.dto.SelectorData;
 import org.apache.shenyu.plugin.api.ShenyuPlugin;
+import org.apache.shenyu.plugin.api.ShenyuPluginChain;
+import org.apache.shenyu.plugin.api.context.PluginTimings;
 import org.apache.shenyu.plugin.api.context.ShenyuContext;
+import org.apache.shenyu.plugin.base.AbstractShenyuPlugin;
+import org.apache.shenyu.plugin.base.cache.BaseDataCache;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -27,12 +35,16 @@ import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * test for ShenyuWebHandler.
@@ -53,6 +65,11 @@ public class ShenyuWebHandlerTest {
         shenyuWebHandler = new ShenyuWebHandler(listPlugins);
     }
 
+    @After
+    public void tearDown() {
+        BaseDataCache.getInstance().cleanPluginData();
+    }
+
     @Test
     public void handle() {
         final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost")
@@ -63,4 +80,120 @@ public class ShenyuWebHandlerTest {
         Mono<Void> handle = shenyuWebHandler.handle(exchange);
         Assert.assertNotNull(handle);
     }
+
+    @Test
+    public void testChainExecutesInOrderAndSkips() {
+        List<String> trace = new ArrayList<>();
+        ShenyuWebHandler handler = new ShenyuWebHandler(Arrays.asList(
+                new TracePlugin("first", false, trace), new TracePlugin("skipped", true, trace), new TracePlugin("last", false, trace)));
+        Mono<Void> handle = handler.handle(MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build()));
+        Assert.assertTrue(trace.isEmpty());
+        StepVerifier.create(handle).expectSubscription().verifyComplete();
+        Assert.assertEquals(Arrays.asList("first", "last"), trace);
+    }
+
+    @Test
+    public void testChainRecordsPluginTimings() {
+        System.setProperty("shenyu.plugin.timing.enabled", "true");
+        try {
+            List<String> trace = new ArrayList<>();
+            ShenyuWebHandler handler = new ShenyuWebHandler(Arrays.asList(
+                    new TracePlugin("first", false, trace), new TracePlugin("skipped", true, trace), new TracePlugin("last", false, trace)));
+            ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build());
+            ShenyuContext shenyuContext = new ShenyuContext();
+            exchange.getAttributes().put(Constants.CONTEXT, shenyuContext);
+            Assert.assertNull(shenyuContext.getPluginTimings());
+            StepVerifier.create(handler.handle(exchange)).expectSubscription().verifyComplete();
+            PluginTimings pluginTimings = shenyuContext.getPluginTimings();
+            Assert.assertEquals(2, pluginTimings.size());
+            Assert.assertEquals("first", pluginTimings.getPlugin(0));
+            Assert.assertEquals("last", pluginTimings.getPlugin(1));
+            Assert.assertTrue(pluginTimings.getNanos("first") >= 0);
+            Assert.assertEquals(-1L, pluginTimings.getNanos("skipped"));
+        } finally {
+            System.clearProperty("shenyu.plugin.timing.enabled");
+        }
+    }
+
+    @Test
+    public void testChainLeavesOutDisabledPlugins() {
+        ShenyuPlugin global = new TracePlugin("global", false, new ArrayList<>());
+        ShenyuPlugin divide = new SelectorPlugin("divide");
+        ShenyuWebHandler handler = new ShenyuWebHandler(Arrays.asList(global, divide));
+        Assert.assertArrayEquals(new ShenyuPlugin[]{global}, handler.obtainChainPlugins());
+        BaseDataCache.getInstance().cachePluginData(PluginData.builder().name("divide").enabled(true).build());
+        Assert.assertArrayEquals(new ShenyuPlugin[]{global, divide}, handler.obtainChainPlugins());
+        BaseDataCache.getInstance().cachePluginData(PluginData.builder().name("divide").enabled(false).build());
+        Assert.assertArrayEquals(new ShenyuPlugin[]{global}, handler.obtainChainPlugins());
+    }
+
+    @Test
+    public void testChainPropagatesPluginException() {
+        ShenyuPlugin failing = mock(ShenyuPlugin.class);
+        when(failing.skip(any())).thenReturn(false);
+        when(failing.execute(any(), any())).thenThrow(new IllegalStateException("failed"));
+        ShenyuWebHandler handler = new ShenyuWebHandler(Arrays.asList(failing));
+        StepVerifier.create(handler.handle(MockServerWebExchange.from(MockServerHttpRequest.get("localhost").build())))
+                .expectError(IllegalStateException.class).verify();
+    }
+
+    private static final class TracePlugin implements ShenyuPlugin {
+
+        private final String name;
+
+        private final boolean skip;
+
+        private final List<String> trace;
+
+        TracePlugin(final String name, final boolean skip, final List<String> trace) {
+            this.name = name;
+            this.skip = skip;
+            this.trace = trace;
+        }
+
+        @Override
+        public Mono<Void> execute(final ServerWebExchange exchange, final ShenyuPluginChain chain) {
+            trace.add(name);
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return name;
+        }
+
+        @Override
+        public Boolean skip(final ServerWebExchange exchange) {
+            return skip;
+        }
+    }
+
+    private static final class SelectorPlugin extends AbstractShenyuPlugin {
+
+        private final String name;
+
+        SelectorPlugin(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        protected Mono<Void> doExecute(final ServerWebExchange exchange, final ShenyuPluginChain chain, final SelectorData selector, final RuleData rule) {
+            return chain.execute(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String named() {
+            return name;
+        }
+    }
 }